@@ -0,0 +1,106 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times {@link GraphAnalytics} on {@link SyntheticGraphs#clustered} graphs of growing size, with one
+ * worker thread and with the common pool, and checks the results against the planted teams:
+ * every isolated team must come out as its own component, and community purity reports how much
+ * of each detected community belongs to a single team.
+ *
+ * How to compile/run (from repo root):
+ *   javac slack-connections-demo/*.java
+ *   java -Xmx4g -cp slack-connections-demo AnalyticsBenchmark [10000,100000,1000000]
+ */
+public class AnalyticsBenchmark {
+    private static final int AVG_DEGREE = 10;
+    private static final int TEAM_SIZE = 20;
+    private static final double CROSS_TEAM = 0.1;
+
+    public static void main(String[] args) {
+        String sizes = args.length > 0 ? args[0] : "10000,100000,1000000";
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool common = ForkJoinPool.commonPool();
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors() + ", avg degree " + AVG_DEGREE
+                + ", team size " + TEAM_SIZE + ", cross-team " + CROSS_TEAM);
+        System.out.println("employees      edges  components  isolated-ok  cc 1t ms  cc pool ms"
+                + "  communities  sweeps  purity  lp 1t ms  lp pool ms");
+
+        // Warm-up so the first row is not dominated by JIT compilation
+        run(10_000, single, common, false);
+        for (String size : sizes.split(",")) {
+            run(Integer.parseInt(size.trim()), single, common, true);
+        }
+        single.shutdown();
+    }
+
+    private static void run(int employees, ForkJoinPool single, ForkJoinPool common, boolean print) {
+        ConnectionGraph graph = SyntheticGraphs.clustered(employees, AVG_DEGREE, TEAM_SIZE, CROSS_TEAM, 42);
+        PathEngine engine = graph.pathEngine();
+        GraphAnalytics sequential = new GraphAnalytics(engine, single);
+        GraphAnalytics parallel = new GraphAnalytics(engine, common);
+
+        long t0 = System.nanoTime();
+        GraphAnalytics.Partition cc1 = sequential.connectedComponents();
+        long t1 = System.nanoTime();
+        GraphAnalytics.Partition cc = parallel.connectedComponents();
+        long t2 = System.nanoTime();
+        GraphAnalytics.Partition lp1 = sequential.communities(20);
+        long t3 = System.nanoTime();
+        GraphAnalytics.Partition lp = parallel.communities(20);
+        long t4 = System.nanoTime();
+        if (cc.count() != cc1.count()) {
+            throw new IllegalStateException("Component count differs: " + cc1.count() + " vs " + cc.count());
+        }
+        if (!print) return;
+
+        System.out.printf("%9d  %9d  %10d  %11s  %8.1f  %10.1f  %11d  %6d  %6.3f  %8.1f  %10.1f%n",
+                employees, graph.edgeCount(), cc.count(), isolatedTeamsFound(cc, employees),
+                (t1 - t0) / 1e6, (t2 - t1) / 1e6, lp.count(), lp.iterations(), purity(lp, employees),
+                (t3 - t2) / 1e6, (t4 - t3) / 1e6);
+        if (employees == 10_000) {
+            Map<String, Map<Integer, Integer>> perDept = cc.byDepartment(graph.getEmployees());
+            System.out.println("  e.g. components per department: Team-0 " + perDept.get("Team-0")
+                    + ", Team-9 " + perDept.get("Team-9"));
+        }
+    }
+
+    /**
+     * Each isolated team must be split off from everyone else: the components its members fall into
+     * hold exactly the team (usually one component; a member who happened to get no interactions is
+     * a singleton).
+     */
+    private static boolean isolatedTeamsFound(GraphAnalytics.Partition cc, int employees) {
+        for (int first = 0; first + TEAM_SIZE <= employees; first += TEAM_SIZE) {
+            if (!SyntheticGraphs.isIsolatedTeam(SyntheticGraphs.teamOf(first, TEAM_SIZE))) continue;
+            Set<Integer> ids = new HashSet<>();
+            for (int i = first; i < first + TEAM_SIZE; i++) ids.add(cc.of(SyntheticGraphs.employeeId(i)));
+            int total = 0;
+            for (int id : ids) total += cc.size(id);
+            if (total != TEAM_SIZE) return false;
+        }
+        return true;
+    }
+
+    /** Fraction of employees whose community's most common team is their own team. */
+    private static double purity(GraphAnalytics.Partition lp, int employees) {
+        int[] majorityCount = new int[lp.count()];
+        int[] lastTeam = new int[lp.count()];
+        int[] runLength = new int[lp.count()];
+        Arrays.fill(lastTeam, -1);
+        // Teams are consecutive, so per community each team's members arrive in one run
+        for (int i = 0; i < employees; i++) {
+            int c = lp.of(SyntheticGraphs.employeeId(i)), team = SyntheticGraphs.teamOf(i, TEAM_SIZE);
+            runLength[c] = lastTeam[c] == team ? runLength[c] + 1 : 1;
+            lastTeam[c] = team;
+            if (runLength[c] > majorityCount[c]) {
+                majorityCount[c] = runLength[c];
+            }
+        }
+        long pure = 0;
+        for (int count : majorityCount) pure += count;
+        return (double) pure / employees;
+    }
+}
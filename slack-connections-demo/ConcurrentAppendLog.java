@@ -0,0 +1,122 @@
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Append-only list for many concurrent producers.
+ *
+ * Appends reserve an index with a compare-and-set loop and write into fixed-size chunks, so
+ * elements are never copied; only installing a new chunk (once per 16K appends) takes a lock.
+ * Readers may observe a reserved slot whose element is still being written; {@link #get(int)}
+ * spins briefly until it is published. Removal and replacement are not supported.
+ */
+final class ConcurrentAppendLog<E> extends AbstractList<E> implements RandomAccess {
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile AtomicReferenceArray<AtomicReferenceArray<E>> chunks = new AtomicReferenceArray<>(8);
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    @Override
+    public boolean add(E e) {
+        append(e);
+        return true;
+    }
+
+    /** Appends the whole collection as one contiguous block reserved in one compare-and-set. */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        if (c.isEmpty()) return false;
+        appendAll(c);
+        return true;
+    }
+
+    /** Like {@link #add}; returns the element's index. */
+    int append(E e) {
+        Objects.requireNonNull(e, "element");
+        int idx = reserve(1);
+        chunk(idx >>> CHUNK_BITS).set(idx & CHUNK_MASK, e);
+        return idx;
+    }
+
+    /** Like {@link #addAll}; returns the index of the first element (the current size if there are none). */
+    int appendAll(Collection<? extends E> c) {
+        Object[] items = c.toArray();
+        if (items.length == 0) return size();
+        for (Object item : items) Objects.requireNonNull(item, "element");
+        int first = reserve(items.length);
+        for (int i = 0; i < items.length; i++) {
+            int idx = first + i;
+            @SuppressWarnings("unchecked")
+            E e = (E) items[i];
+            chunk(idx >>> CHUNK_BITS).set(idx & CHUNK_MASK, e);
+        }
+        return first;
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size());
+        int chunkIndex = index >>> CHUNK_BITS;
+        AtomicReferenceArray<E> chunk;
+        while ((chunk = chunkOrNull(chunkIndex)) == null) {
+            Thread.onSpinWait();
+        }
+        E e;
+        while ((e = chunk.get(index & CHUNK_MASK)) == null) {
+            Thread.onSpinWait();
+        }
+        return e;
+    }
+
+    @Override
+    public int size() {
+        return reserved.get();
+    }
+
+    // Internal helpers
+
+    /**
+     * Reserves {@code count} consecutive slots and returns the first. Capacity is checked before the
+     * reservation is published, so a full log never leaves reserved slots that stay empty.
+     */
+    private int reserve(int count) {
+        while (true) {
+            int first = reserved.get();
+            if (first > Integer.MAX_VALUE - count) {
+                throw new IllegalStateException("Append log is full");
+            }
+            if (reserved.compareAndSet(first, first + count)) return first;
+        }
+    }
+
+    private AtomicReferenceArray<E> chunkOrNull(int chunkIndex) {
+        AtomicReferenceArray<AtomicReferenceArray<E>> dir = chunks;
+        return chunkIndex < dir.length() ? dir.get(chunkIndex) : null;
+    }
+
+    private AtomicReferenceArray<E> chunk(int chunkIndex) {
+        AtomicReferenceArray<E> chunk = chunkOrNull(chunkIndex);
+        return chunk != null ? chunk : installChunk(chunkIndex);
+    }
+
+    private synchronized AtomicReferenceArray<E> installChunk(int chunkIndex) {
+        AtomicReferenceArray<AtomicReferenceArray<E>> dir = chunks;
+        if (chunkIndex >= dir.length()) {
+            AtomicReferenceArray<AtomicReferenceArray<E>> grown =
+                    new AtomicReferenceArray<>(Math.max(chunkIndex + 1, dir.length() * 2));
+            for (int i = 0; i < dir.length(); i++) grown.set(i, dir.get(i));
+            chunks = dir = grown;
+        }
+        AtomicReferenceArray<E> chunk = dir.get(chunkIndex);
+        if (chunk == null) {
+            chunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+            dir.set(chunkIndex, chunk);
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,88 @@
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe edge store for concurrent ingestion.
+ *
+ * Each directed entry is a per-edge {@link AtomicInteger} inside a {@link ConcurrentHashMap} row,
+ * so producers touching different edges never contend and producers touching the same edge only
+ * race on one CAS. Readers take weakly consistent snapshots of a row and never block writers;
+ * the two directions of one undirected update become visible independently.
+ */
+final class ConcurrentEdgeStore implements EdgeStore {
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, AtomicInteger>> adjacency =
+            new ConcurrentHashMap<>();
+    private final LongAdder edgeCount = new LongAdder();
+
+    @Override
+    public void increment(String a, String b, int delta) {
+        if (a.equals(b)) return;
+        // The (lower, higher) direction decides whether this update created the edge
+        String lo = a.compareTo(b) < 0 ? a : b;
+        String hi = lo == a ? b : a;
+        boolean created = counter(lo, hi).getAndAdd(delta) == 0;
+        counter(hi, lo).addAndGet(delta);
+        if (created) edgeCount.increment();
+    }
+
+    @Override
+    public int weight(String a, String b) {
+        Map<String, AtomicInteger> row = adjacency.get(a);
+        if (row == null) return 0;
+        AtomicInteger c = row.get(b);
+        return c == null ? 0 : c.get();
+    }
+
+    @Override
+    public Map<String, Integer> neighbors(String id) {
+        Map<String, AtomicInteger> row = adjacency.get(id);
+        if (row == null) return Map.of();
+        Map<String, Integer> out = new HashMap<>();
+        row.forEach((v, c) -> {
+            int w = c.get();
+            if (w != 0) out.put(v, w);
+        });
+        return Collections.unmodifiableMap(out);
+    }
+
+    @Override
+    public void forEachEdge(EdgeConsumer action) {
+        adjacency.forEach((u, row) -> row.forEach((v, c) -> {
+            int w = c.get();
+            if (w != 0 && u.compareTo(v) < 0) action.accept(u, v, w);
+        }));
+    }
+
+    @Override
+    public long edgeCount() {
+        return edgeCount.sum();
+    }
+
+    @Override
+    public Map<String, Map<String, Integer>> asMap() {
+        Map<String, Map<String, Integer>> out = new HashMap<>();
+        for (String u : adjacency.keySet()) {
+            Map<String, Integer> row = neighbors(u);
+            if (!row.isEmpty()) out.put(u, row);
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    // Internal helpers
+
+    private AtomicInteger counter(String a, String b) {
+        ConcurrentHashMap<String, AtomicInteger> row = adjacency.get(a);
+        if (row == null) {
+            row = adjacency.computeIfAbsent(a, k -> new ConcurrentHashMap<>());
+        }
+        AtomicInteger c = row.get(b);
+        if (c == null) {
+            c = row.computeIfAbsent(b, k -> new AtomicInteger());
+        }
+        return c;
+    }
+}
@@ -0,0 +1,129 @@
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scaling check for {@link ConnectionGraph#concurrent()}: records interactions from 1..N producer
+ * threads at once, with a reader polling top collaborators the whole time, and prints throughput
+ * per producer count. Each run also verifies that no update was lost.
+ *
+ * How to compile/run (from repo root):
+ *   javac slack-connections-demo/*.java
+ *   java -cp slack-connections-demo ConcurrentIngestionDemo [employees] [interactionsPerRun]
+ */
+public class ConcurrentIngestionDemo {
+
+    private static final InteractionType[] TYPES = InteractionType.values();
+
+    public static void main(String[] args) throws InterruptedException {
+        int employeeCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int perRun = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        List<Integer> producerCounts = new ArrayList<>();
+        for (int p = 1; p < cores; p *= 2) producerCounts.add(p);
+        producerCounts.add(cores);
+
+        System.out.println("Employees: " + employeeCount + ", interactions per run: " + perRun + ", cores: " + cores);
+        System.out.println("producers  interactions/s  speedup  reader-queries");
+
+        // Warm-up run so the first row is not dominated by JIT compilation
+        run(employeeCount, perRun / 4, cores);
+
+        double baseline = 0;
+        for (int producers : producerCounts) {
+            Result r = run(employeeCount, perRun, producers);
+            if (baseline == 0) baseline = r.perSecond();
+            System.out.printf("%9d  %14.0f  %6.2fx  %14d%n",
+                    producers, r.perSecond(), r.perSecond() / baseline, r.readerQueries());
+        }
+
+        // One virtual thread per Slack channel, as in a live ingestion service
+        ConnectionGraph graph = newGraph(employeeCount);
+        int channels = 500;
+        long start = System.nanoTime();
+        try (ExecutorService perChannel = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < channels; c++) {
+                int channel = c;
+                perChannel.submit(() -> produce(graph, employeeCount, perRun / channels, "CH" + channel));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        verify(graph, (long) channels * (perRun / channels));
+        System.out.printf("%nVirtual threads (%d channels): %.0f interactions/s%n",
+                channels, graph.interactionCount() / seconds);
+    }
+
+    private record Result(double perSecond, long readerQueries) {}
+
+    private static Result run(int employeeCount, int total, int producers) throws InterruptedException {
+        ConnectionGraph graph = newGraph(employeeCount);
+        int perProducer = total / producers;
+
+        AtomicBoolean done = new AtomicBoolean();
+        LongAdder queries = new LongAdder();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            while (!done.get()) {
+                graph.getTopCollaborators(employeeId(rnd.nextInt(employeeCount)), 5);
+                queries.increment();
+            }
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        long start = System.nanoTime();
+        for (int p = 0; p < producers; p++) {
+            String prefix = "P" + p;
+            pool.submit(() -> produce(graph, employeeCount, perProducer, prefix));
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Producers did not finish");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        done.set(true);
+        reader.join();
+
+        verify(graph, (long) producers * perProducer);
+        return new Result(graph.interactionCount() / seconds, queries.sum());
+    }
+
+    private static ConnectionGraph newGraph(int employeeCount) {
+        ConnectionGraph graph = ConnectionGraph.concurrent();
+        for (int i = 0; i < employeeCount; i++) {
+            graph.addEmployee(new Employee(employeeId(i), "Emp" + i, "emp" + i + "@acme.com", "Dept" + (i % 20)));
+        }
+        return graph;
+    }
+
+    private static void produce(ConnectionGraph graph, int employeeCount, int count, String issuePrefix) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        Instant base = Instant.now();
+        for (int i = 0; i < count; i++) {
+            int a = rnd.nextInt(employeeCount);
+            int b = (a + 1 + rnd.nextInt(employeeCount - 1)) % employeeCount;
+            graph.recordInteractionByEmployee(issuePrefix + "-" + (i & 1023), employeeId(a), employeeId(b),
+                    TYPES[i & 3], base.minus(Duration.ofMinutes(i & 0xFFFF)));
+        }
+    }
+
+    private static void verify(ConnectionGraph graph, long expected) {
+        long[] weightSum = {0};
+        graph.forEachEdge((a, b, w) -> weightSum[0] += w);
+        if (graph.interactionCount() != expected || weightSum[0] != expected) {
+            throw new IllegalStateException("Lost updates: interactions=" + graph.interactionCount()
+                    + ", edge weight sum=" + weightSum[0] + ", expected=" + expected);
+        }
+    }
+
+    private static String employeeId(int i) {
+        return "E-" + i;
+    }
+}
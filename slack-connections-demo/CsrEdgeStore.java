@@ -0,0 +1,308 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Edge store over dense int employee indexes in compressed sparse row (CSR) form.
+ *
+ * Layout:
+ * - Compacted part: neighbors of u are targets[offsets[u] .. offsets[u + 1]), sorted ascending,
+ *   with parallel weights. Weight updates for edges already here are done in place.
+ * - Overflow buffer: edges first seen since the last compaction, chained per source node
+ *   (overflowHead/overflowNext) and indexed by packed edge key for O(1) updates.
+ *
+ * Once the overflow grows past a fraction of the compacted edges it is merged into fresh
+ * CSR arrays. Every edge is stored in both directions, so each undirected edge costs
+ * four ints in the compacted part and no objects at all.
+ */
+final class CsrEdgeStore implements EdgeStore {
+    private static final int MIN_COMPACT_THRESHOLD = 4096;
+    private static final int NONE = -1;
+
+    @FunctionalInterface
+    interface NeighborConsumer {
+        void accept(int neighbor, int weight);
+    }
+
+    private final IdInterner ids;
+
+    // Compacted part; rows >= compactedRows have no compacted neighbors
+    private int compactedRows;
+    private int[] offsets = new int[1];
+    private int[] targets = new int[0];
+    private int[] weights = new int[0];
+
+    // Overflow buffer (directed entries)
+    private int[] overflowHead = new int[0];
+    private int[] overflowTarget = new int[64];
+    private int[] overflowWeight = new int[64];
+    private int[] overflowNext = new int[64];
+    private int overflowSize;
+    private final LongIntHashMap overflowIndex = new LongIntHashMap();
+
+    private long edgeCount;
+
+    CsrEdgeStore() {
+        this(new IdInterner());
+    }
+
+    CsrEdgeStore(IdInterner ids) {
+        this.ids = ids;
+    }
+
+    IdInterner ids() {
+        return ids;
+    }
+
+    // EdgeStore
+
+    @Override
+    public void increment(String a, String b, int delta) {
+        if (a.equals(b)) return;
+        increment(ids.intern(a), ids.intern(b), delta);
+    }
+
+    @Override
+    public void incrementAll(IdInterner ids, LongIntHashMap deltas) {
+        if (ids != this.ids) {
+            EdgeStore.super.incrementAll(ids, deltas);
+            return;
+        }
+        deltas.forEach((key, delta) -> increment(LongIntHashMap.keyHigh(key), LongIntHashMap.keyLow(key), delta));
+    }
+
+    @Override
+    public int weight(String a, String b) {
+        int u = ids.indexOf(a);
+        int v = ids.indexOf(b);
+        return (u < 0 || v < 0) ? 0 : weight(u, v);
+    }
+
+    @Override
+    public Map<String, Integer> neighbors(String id) {
+        int u = ids.indexOf(id);
+        if (u < 0) return Map.of();
+        Map<String, Integer> out = new HashMap<>();
+        forEachNeighbor(u, (v, w) -> out.put(ids.idAt(v), w));
+        return Collections.unmodifiableMap(out);
+    }
+
+    @Override
+    public void forEachEdge(EdgeConsumer action) {
+        int n = ids.size();
+        for (int u = 0; u < n; u++) {
+            String uid = ids.idAt(u);
+            int src = u;
+            forEachNeighbor(u, (v, w) -> {
+                if (src < v) action.accept(uid, ids.idAt(v), w);
+            });
+        }
+    }
+
+    @Override
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return (long) (offsets.length + targets.length + weights.length + overflowHead.length) * Integer.BYTES
+                + (long) overflowTarget.length * 3 * Integer.BYTES + overflowIndex.estimatedBytes();
+    }
+
+    @Override
+    public Map<String, Map<String, Integer>> asMap() {
+        Map<String, Map<String, Integer>> out = new HashMap<>();
+        int n = ids.size();
+        for (int u = 0; u < n; u++) {
+            if (degree(u) > 0) out.put(ids.idAt(u), neighbors(ids.idAt(u)));
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    @Override
+    public List<String> shortestPath(String fromId, String toId) {
+        int from = ids.indexOf(fromId);
+        int to = ids.indexOf(toId);
+        if (from < 0 || to < 0) return List.of();
+
+        int n = ids.size();
+        int[] prev = new int[n];
+        Arrays.fill(prev, NONE);
+        prev[from] = from;
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        queue[tail++] = from;
+
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = rowStart(u), end = rowEnd(u); i < end; i++) {
+                int v = targets[i];
+                if (prev[v] == NONE) {
+                    prev[v] = u;
+                    if (v == to) return reconstructPath(prev, from, to);
+                    queue[tail++] = v;
+                }
+            }
+            for (int e = overflowHeadOf(u); e != NONE; e = overflowNext[e]) {
+                int v = overflowTarget[e];
+                if (prev[v] == NONE) {
+                    prev[v] = u;
+                    if (v == to) return reconstructPath(prev, from, to);
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return List.of();
+    }
+
+    // Index-level API
+
+    void increment(int u, int v, int delta) {
+        if (u == v) return;
+        ensureNode(Math.max(u, v));
+        if (addDirected(u, v, delta)) edgeCount++;
+        addDirected(v, u, delta);
+        if (overflowSize > Math.max(MIN_COMPACT_THRESHOLD, targets.length / 4)) {
+            compact();
+        }
+    }
+
+    int weight(int u, int v) {
+        int pos = findCompacted(u, v);
+        if (pos >= 0) return weights[pos];
+        int e = overflowIndex.get(LongIntHashMap.edgeKey(u, v), NONE);
+        return e == NONE ? 0 : overflowWeight[e];
+    }
+
+    int degree(int u) {
+        int d = rowEnd(u) - rowStart(u);
+        for (int e = overflowHeadOf(u); e != NONE; e = overflowNext[e]) d++;
+        return d;
+    }
+
+    int nodeCount() {
+        return ids.size();
+    }
+
+    void forEachNeighbor(int u, NeighborConsumer action) {
+        for (int i = rowStart(u), end = rowEnd(u); i < end; i++) {
+            action.accept(targets[i], weights[i]);
+        }
+        for (int e = overflowHeadOf(u); e != NONE; e = overflowNext[e]) {
+            action.accept(overflowTarget[e], overflowWeight[e]);
+        }
+    }
+
+    /** Merges the overflow buffer into freshly sized CSR arrays. */
+    void compact() {
+        int n = ids.size();
+        int[] newOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            newOffsets[u + 1] = newOffsets[u] + degree(u);
+        }
+        int[] newTargets = new int[newOffsets[n]];
+        int[] newWeights = new int[newOffsets[n]];
+
+        long[] pending = new long[16];
+        for (int u = 0; u < n; u++) {
+            // Overflow entries for u, packed as (target << 32 | weight) so sorting orders by target
+            int p = 0;
+            for (int e = overflowHeadOf(u); e != NONE; e = overflowNext[e]) {
+                if (p == pending.length) pending = Arrays.copyOf(pending, p * 2);
+                pending[p++] = LongIntHashMap.edgeKey(overflowTarget[e], overflowWeight[e]);
+            }
+            Arrays.sort(pending, 0, p);
+
+            // Merge two sorted runs (targets are disjoint between them)
+            int out = newOffsets[u];
+            int i = rowStart(u), end = rowEnd(u), j = 0;
+            while (i < end || j < p) {
+                if (j == p || (i < end && targets[i] < LongIntHashMap.keyHigh(pending[j]))) {
+                    newTargets[out] = targets[i];
+                    newWeights[out++] = weights[i++];
+                } else {
+                    newTargets[out] = LongIntHashMap.keyHigh(pending[j]);
+                    newWeights[out++] = LongIntHashMap.keyLow(pending[j++]);
+                }
+            }
+        }
+
+        offsets = newOffsets;
+        targets = newTargets;
+        weights = newWeights;
+        compactedRows = n;
+        Arrays.fill(overflowHead, NONE);
+        overflowSize = 0;
+        overflowIndex.clear();
+    }
+
+    // Internal helpers
+
+    /** Returns true if (u, v) was a new directed entry. */
+    private boolean addDirected(int u, int v, int delta) {
+        int pos = findCompacted(u, v);
+        if (pos >= 0) {
+            weights[pos] += delta;
+            return false;
+        }
+        long key = LongIntHashMap.edgeKey(u, v);
+        int e = overflowIndex.get(key, NONE);
+        if (e != NONE) {
+            overflowWeight[e] += delta;
+            return false;
+        }
+        if (overflowSize == overflowTarget.length) {
+            int cap = overflowSize * 2;
+            overflowTarget = Arrays.copyOf(overflowTarget, cap);
+            overflowWeight = Arrays.copyOf(overflowWeight, cap);
+            overflowNext = Arrays.copyOf(overflowNext, cap);
+        }
+        e = overflowSize++;
+        overflowTarget[e] = v;
+        overflowWeight[e] = delta;
+        overflowNext[e] = overflowHead[u];
+        overflowHead[u] = e;
+        overflowIndex.put(key, e);
+        return true;
+    }
+
+    private int findCompacted(int u, int v) {
+        int from = rowStart(u), to = rowEnd(u);
+        if (from == to) return NONE;
+        int pos = Arrays.binarySearch(targets, from, to, v);
+        return pos >= 0 ? pos : NONE;
+    }
+
+    private int rowStart(int u) {
+        return u < compactedRows ? offsets[u] : 0;
+    }
+
+    private int rowEnd(int u) {
+        return u < compactedRows ? offsets[u + 1] : 0;
+    }
+
+    private int overflowHeadOf(int u) {
+        return u < overflowHead.length ? overflowHead[u] : NONE;
+    }
+
+    private void ensureNode(int u) {
+        if (u < overflowHead.length) return;
+        int old = overflowHead.length;
+        overflowHead = Arrays.copyOf(overflowHead, Math.max(u + 1, Math.max(16, old * 2)));
+        Arrays.fill(overflowHead, old, overflowHead.length, NONE);
+    }
+
+    private List<String> reconstructPath(int[] prev, int from, int to) {
+        List<String> path = new ArrayList<>();
+        for (int curr = to; curr != from; curr = prev[curr]) {
+            path.add(ids.idAt(curr));
+        }
+        path.add(ids.idAt(from));
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,181 @@
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exponentially time-decayed edge weights: every interaction counts 1 at its timestamp and half as
+ * much one half-life later, so recent collaboration outweighs old collaboration.
+ *
+ * Each edge stores its decayed weight as of its latest interaction, and that interaction's time.
+ * A newer interaction at t decays the stored weight to t and adds 1; an older (out-of-order)
+ * interaction adds its own already-decayed contribution. Reading a weight as of any later instant
+ * is one multiplication, O(1), with no rescan of the interaction log. Weights as of an instant
+ * before an edge's latest interaction are not reconstructed; such edges report their stored weight.
+ *
+ * Storage follows {@link IssueIndex}: employees are the graph's int indexes, edges are found through
+ * a {@link LongIntHashMap}, per-edge values live in flat arrays and each employee's edges are chained
+ * through them.
+ */
+final class DecayedWeights implements InteractionListener {
+    static final Duration DEFAULT_HALF_LIFE = Duration.ofDays(30);
+
+    private static final int NONE = -1;
+
+    private final Duration halfLife;
+    private final double decayPerSecond; // ln 2 / half-life
+
+    private final IdInterner employeeIds; // the graph's; locked while read, as the graph adds employees
+    private int[] employeeHead = new int[64];
+
+    // Per edge (struct of arrays): endpoints (a < b), chain links in each endpoint's list, weight and its time
+    private final LongIntHashMap edgeIndex = new LongIntHashMap();
+    private int[] edgeA = new int[256];
+    private int[] edgeB = new int[256];
+    private int[] nextOfA = new int[256];
+    private int[] nextOfB = new int[256];
+    private double[] weight = new double[256];
+    private double[] updatedAt = new double[256]; // epoch seconds
+    private int edges;
+
+    DecayedWeights(Duration halfLife, IdInterner employeeIds) {
+        if (halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("Half-life must be positive: " + halfLife);
+        }
+        this.halfLife = halfLife;
+        this.employeeIds = employeeIds;
+        this.decayPerSecond = Math.log(2) / (halfLife.getSeconds() + halfLife.getNano() / 1e9);
+        Arrays.fill(employeeHead, NONE);
+    }
+
+    Duration halfLife() {
+        return halfLife;
+    }
+
+    @Override
+    public synchronized void onInteraction(Interaction in) {
+        int a, b;
+        synchronized (employeeIds) {
+            a = employeeIds.indexOf(in.employeeA());
+            b = employeeIds.indexOf(in.employeeB());
+        }
+        if (a == b) return;
+        double t = seconds(in.timestamp());
+        long key = edgeKey(a, b);
+        int e = edgeIndex.get(key, NONE);
+        if (e == NONE) {
+            addEdge(key, Math.min(a, b), Math.max(a, b), t);
+        } else if (t >= updatedAt[e]) {
+            weight[e] = weight[e] * Math.exp(-decayPerSecond * (t - updatedAt[e])) + 1;
+            updatedAt[e] = t;
+        } else {
+            weight[e] += Math.exp(-decayPerSecond * (updatedAt[e] - t));
+        }
+    }
+
+    @Override
+    public synchronized void onInteractions(List<Interaction> batch) {
+        for (Interaction in : batch) onInteraction(in);
+    }
+
+    /** Decayed weight of edge (a, b) as of {@code asOf}, or 0 if the employees never interacted; O(1). */
+    synchronized double weight(String employeeA, String employeeB, Instant asOf) {
+        int a, b;
+        synchronized (employeeIds) {
+            a = employeeIds.indexOf(employeeA);
+            b = employeeIds.indexOf(employeeB);
+        }
+        if (a < 0 || b < 0 || a == b) return 0;
+        int e = edgeIndex.get(edgeKey(a, b), NONE);
+        return e == NONE ? 0 : weightAt(e, seconds(asOf));
+    }
+
+    /** The {@code limit} collaborators of {@code employeeId} with the highest decayed weight as of {@code asOf}. */
+    synchronized List<Map.Entry<String, Double>> top(String employeeId, int limit, Instant asOf) {
+        double now = seconds(asOf);
+        List<Map.Entry<String, Double>> out = new ArrayList<>();
+        synchronized (employeeIds) {
+            int u = employeeIds.indexOf(employeeId);
+            if (u < 0 || u >= employeeHead.length || limit <= 0) return List.of();
+            for (int e = employeeHead[u]; e != NONE; e = edgeA[e] == u ? nextOfA[e] : nextOfB[e]) {
+                int v = edgeA[e] == u ? edgeB[e] : edgeA[e];
+                out.add(Map.entry(employeeIds.idAt(v), weightAt(e, now)));
+            }
+        }
+        out.sort(Comparator.comparingDouble(Map.Entry<String, Double>::getValue).reversed());
+        return List.copyOf(out.size() <= limit ? out : out.subList(0, limit));
+    }
+
+    /**
+     * Adjacency with the weights as of {@code asOf} rounded to ints, for the DOT/Mermaid exporters.
+     * Edges that have decayed below 0.5 are left out.
+     */
+    synchronized Map<String, Map<String, Integer>> roundedAdjacency(Instant asOf) {
+        double now = seconds(asOf);
+        Map<String, Map<String, Integer>> adj = new HashMap<>();
+        synchronized (employeeIds) {
+            for (int e = 0; e < edges; e++) {
+                long w = Math.round(weightAt(e, now));
+                if (w < 1) continue;
+                int rounded = (int) Math.min(w, Integer.MAX_VALUE);
+                String a = employeeIds.idAt(edgeA[e]), b = employeeIds.idAt(edgeB[e]);
+                adj.computeIfAbsent(a, k -> new HashMap<>()).put(b, rounded);
+                adj.computeIfAbsent(b, k -> new HashMap<>()).put(a, rounded);
+            }
+        }
+        return adj;
+    }
+
+    synchronized int edgeCount() {
+        return edges;
+    }
+
+    // Internal helpers
+
+    private double weightAt(int e, double now) {
+        double age = now - updatedAt[e];
+        return age <= 0 ? weight[e] : weight[e] * Math.exp(-decayPerSecond * age);
+    }
+
+    private void addEdge(long key, int a, int b, double t) {
+        if (edges == edgeA.length) growEdges();
+        int needed = Math.max(a, b) + 1;
+        if (needed > employeeHead.length) {
+            int old = employeeHead.length;
+            employeeHead = Arrays.copyOf(employeeHead, Math.max(needed, old * 2));
+            Arrays.fill(employeeHead, old, employeeHead.length, NONE);
+        }
+        int e = edges++;
+        edgeA[e] = a;
+        edgeB[e] = b;
+        weight[e] = 1;
+        updatedAt[e] = t;
+        nextOfA[e] = employeeHead[a];
+        employeeHead[a] = e;
+        nextOfB[e] = employeeHead[b];
+        employeeHead[b] = e;
+        edgeIndex.put(key, e);
+    }
+
+    private void growEdges() {
+        int n = edgeA.length * 2;
+        edgeA = Arrays.copyOf(edgeA, n);
+        edgeB = Arrays.copyOf(edgeB, n);
+        nextOfA = Arrays.copyOf(nextOfA, n);
+        nextOfB = Arrays.copyOf(nextOfB, n);
+        weight = Arrays.copyOf(weight, n);
+        updatedAt = Arrays.copyOf(updatedAt, n);
+    }
+
+    private static long edgeKey(int a, int b) {
+        return LongIntHashMap.edgeKey(Math.min(a, b), Math.max(a, b));
+    }
+
+    private static double seconds(Instant t) {
+        return t.getEpochSecond() + t.getNano() / 1e9;
+    }
+}
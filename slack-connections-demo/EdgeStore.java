@@ -0,0 +1,102 @@
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Storage backend for the undirected, weighted edges of a {@link ConnectionGraph}.
+ *
+ * Implementations:
+ * - MapEdgeStore: nested HashMaps keyed by employee ID (the original representation)
+ * - CsrEdgeStore: dense int IDs with compressed sparse row arrays plus an overflow buffer
+ * - OffHeapEdgeStore: neighbor blocks and an edge hash table in direct or memory-mapped buffers
+ */
+interface EdgeStore {
+
+    @FunctionalInterface
+    interface EdgeConsumer {
+        void accept(String a, String b, int weight);
+    }
+
+    /** Adds {@code delta} to the weight of edge (a, b). Self-edges are ignored. */
+    void increment(String a, String b, int delta);
+
+    /**
+     * Applies many weight deltas at once; keys are {@link LongIntHashMap#edgeKey} pairs of indexes
+     * in {@code ids}. Stores that share the interner can skip the ID round trip.
+     */
+    default void incrementAll(IdInterner ids, LongIntHashMap deltas) {
+        deltas.forEach((key, delta) ->
+                increment(ids.idAt(LongIntHashMap.keyHigh(key)), ids.idAt(LongIntHashMap.keyLow(key)), delta));
+    }
+
+    /** Weight of edge (a, b), or 0 if the employees never interacted. */
+    int weight(String a, String b);
+
+    /** Neighbor ID -> weight for one employee; empty if the employee has no edges. */
+    Map<String, Integer> neighbors(String id);
+
+    /** Visits every undirected edge exactly once. */
+    void forEachEdge(EdgeConsumer action);
+
+    /** Number of distinct undirected edges. */
+    long edgeCount();
+
+    /**
+     * Rough retained size of the edge structures, for memory reports. The default assumes nested hash
+     * maps: two directed entries per edge, each a map node with a boxed weight and a table slot.
+     */
+    default long estimatedBytes() {
+        return edgeCount() * 2 * (32 + 16 + 8);
+    }
+
+    /** Forces a file-backed store to disk; in-memory stores have nothing to do. */
+    default void flush() throws IOException {
+    }
+
+    /** Adjacency as nested maps, for exporters and other whole-graph consumers. */
+    Map<String, Map<String, Integer>> asMap();
+
+    /** Unweighted shortest path (BFS); both endpoints are known employees and distinct. */
+    default List<String> shortestPath(String fromId, String toId) {
+        Set<String> visited = new HashSet<>();
+        Map<String, String> prev = new HashMap<>();
+        Deque<String> q = new ArrayDeque<>();
+
+        visited.add(fromId);
+        q.add(fromId);
+
+        while (!q.isEmpty()) {
+            String u = q.poll();
+            for (String v : neighbors(u).keySet()) {
+                if (!visited.contains(v)) {
+                    visited.add(v);
+                    prev.put(v, u);
+                    if (v.equals(toId)) {
+                        return reconstructPath(prev, fromId, toId);
+                    }
+                    q.add(v);
+                }
+            }
+        }
+        return List.of();
+    }
+
+    private static List<String> reconstructPath(Map<String, String> prev, String start, String end) {
+        LinkedList<String> path = new LinkedList<>();
+        String curr = end;
+        while (curr != null) {
+            path.addFirst(curr);
+            curr = prev.get(curr);
+        }
+        if (!path.isEmpty() && path.getFirst().equals(start)) {
+            return path;
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,164 @@
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Heap footprint and GC pauses of the edge stores holding the same synthetic team graph:
+ * {@code map} ({@link MapEdgeStore}, the nested maps), {@code csr} ({@link CsrEdgeStore}),
+ * {@code offheap} ({@link OffHeapEdgeStore} on direct buffers) and {@code mapped} (the same store
+ * over memory-mapped files in a temporary directory).
+ *
+ * Per store it prints build time, retained heap after a full GC, reserved off-heap bytes, the GC pauses
+ * (count, total, longest) while building and querying, the wall time of one explicit full GC with
+ * the store live (what tracing the store costs), and neighbor/weight query throughput. Stores run
+ * one after another in the same JVM; pass a single store name for numbers free of earlier runs.
+ *
+ * How to compile/run (from repo root):
+ *   javac slack-connections-demo/*.java
+ *   java -Xmx4g -cp slack-connections-demo EdgeStoreBenchmark [employees=1000000] [avgDegree=10] [store...]
+ */
+public class EdgeStoreBenchmark {
+    private static final int TEAM_SIZE = 20;
+    private static final double CROSS_TEAM = 0.2;
+    private static final int QUERIES = 1_000_000;
+
+    private static volatile Object sink;
+
+    // GC pauses reported since the last reset
+    private static final AtomicLong pauses = new AtomicLong();
+    private static final AtomicLong pauseMillis = new AtomicLong();
+    private static final AtomicLong maxPauseMillis = new AtomicLong();
+
+    public static void main(String[] args) throws IOException {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int avgDegree = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        List<String> stores = args.length > 2 ? List.of(args).subList(2, args.length)
+                : List.of("map", "csr", "offheap", "mapped");
+        listenForPauses();
+
+        String[] ids = new String[employees];
+        for (int i = 0; i < employees; i++) ids[i] = SyntheticGraphs.employeeId(i);
+        long interactions = (long) employees * avgDegree / 2;
+        System.out.printf("%d employees, %d interactions, team size %d, %.0f%% cross-team%n%n",
+                employees, interactions, TEAM_SIZE, CROSS_TEAM * 100);
+        System.out.println("store        build s    edges   heap MB  off-heap MB  gc  gc ms  max pause ms"
+                + "  full gc ms  neighbors/s   weight/s");
+
+        for (String name : stores) {
+            Path dir = name.equals("mapped") ? Files.createTempDirectory("edge-store") : null;
+            try {
+                run(name, storeFactory(name, dir), ids, interactions);
+            } finally {
+                if (dir != null) delete(dir);
+            }
+        }
+    }
+
+    private static void run(String name, Supplier<EdgeStore> factory, String[] ids, long interactions) {
+        fullGc();
+        long heap0 = heapUsed();
+        resetPauses();
+
+        long start = System.nanoTime();
+        EdgeStore store = factory.get();
+        Random rnd = new Random(42);
+        int employees = ids.length;
+        for (long k = 0; k < interactions; k++) {
+            int a = rnd.nextInt(employees);
+            int team = a / TEAM_SIZE;
+            int b = rnd.nextDouble() < CROSS_TEAM ? rnd.nextInt(employees)
+                    : Math.min(employees - 1, team * TEAM_SIZE + rnd.nextInt(TEAM_SIZE));
+            store.increment(ids[a], ids[b], 1);
+        }
+        double buildSeconds = (System.nanoTime() - start) / 1e9;
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) sink = store.neighbors(ids[rnd.nextInt(employees)]);
+        double neighborsPerSecond = QUERIES / ((System.nanoTime() - t0) / 1e9);
+        long t1 = System.nanoTime();
+        long total = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            int a = rnd.nextInt(employees);
+            total += store.weight(ids[a], ids[Math.min(employees - 1, a / TEAM_SIZE * TEAM_SIZE + rnd.nextInt(TEAM_SIZE))]);
+        }
+        double weightsPerSecond = QUERIES / ((System.nanoTime() - t1) / 1e9);
+        sink = total;
+        long gcs = pauses.get(), gcMillis = pauseMillis.get(), maxPause = maxPauseMillis.get();
+
+        long fullGcStart = System.nanoTime();
+        fullGc();
+        double fullGcMillis = (System.nanoTime() - fullGcStart) / 1e6;
+        long heap = heapUsed() - heap0;
+        long offHeap = store instanceof OffHeapEdgeStore ? store.estimatedBytes() : 0;
+
+        System.out.printf("%-10s %8.1f %8d %9.0f %12.0f %3d %6d %13d %11.0f %12.0f %10.0f%n", name, buildSeconds,
+                store.edgeCount(), heap / 1e6, offHeap / 1e6, gcs, gcMillis, maxPause, fullGcMillis,
+                neighborsPerSecond, weightsPerSecond);
+    }
+
+    private static Supplier<EdgeStore> storeFactory(String name, Path dir) {
+        return switch (name) {
+            case "map" -> MapEdgeStore::new;
+            case "csr" -> CsrEdgeStore::new;
+            case "offheap" -> () -> new OffHeapEdgeStore(new IdInterner());
+            case "mapped" -> () -> {
+                try {
+                    return OffHeapEdgeStore.open(dir, new IdInterner());
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot create store in " + dir, e);
+                }
+            };
+            default -> throw new IllegalArgumentException("Unknown store: " + name + " (map, csr, offheap, mapped)");
+        };
+    }
+
+    /** Records every collection's pause from the collectors' notifications. */
+    private static void listenForPauses() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(gc instanceof NotificationEmitter emitter)) continue;
+            emitter.addNotificationListener((notification, handback) -> {
+                if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                long millis = info.getGcInfo().getDuration();
+                pauses.incrementAndGet();
+                pauseMillis.addAndGet(millis);
+                maxPauseMillis.accumulateAndGet(millis, Math::max);
+            }, null, null);
+        }
+    }
+
+    private static void resetPauses() {
+        pauses.set(0);
+        pauseMillis.set(0);
+        maxPauseMillis.set(0);
+    }
+
+    private static void fullGc() {
+        System.gc();
+        System.gc();
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Bounded cache of materialized filtered adjacencies keyed by {@link InteractionFilter}.
+ *
+ * A miss materializes the view once: time-range-only filters come from the graph's time-bucket
+ * index, others scan the interactions (only the buckets inside the time range, when one is given).
+ * Cached views stay current: each newly recorded interaction is added to every cached view whose
+ * filter it matches, so a hit never rescans history.
+ *
+ * Entries are weighed by their number of adjacency entries; least recently used views are evicted
+ * once the total exceeds {@code maxWeight}. Methods are synchronized. Patching assumes a view is
+ * not materialized while another thread is recording into the graph.
+ */
+final class FilteredViewCache implements InteractionListener {
+
+    private static final class View {
+        final Map<String, Map<String, Integer>> adj = new HashMap<>();
+        long weight;
+        Map<String, Map<String, Integer>> snapshot; // read-only copy, dropped when the view is patched
+    }
+
+    private final ConnectionGraph graph;
+    private final long maxWeight;
+    private final LinkedHashMap<InteractionFilter, View> views = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+    private long hits;
+    private long misses;
+
+    FilteredViewCache(ConnectionGraph graph, long maxWeight) {
+        if (maxWeight <= 0) throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+        this.graph = graph;
+        this.maxWeight = maxWeight;
+    }
+
+    /** Adjacency of the interactions matching {@code filter}; same shape as {@code buildAdjacencyFiltered}. */
+    synchronized Map<String, Map<String, Integer>> get(InteractionFilter filter) {
+        View view = views.get(filter);
+        if (view != null) {
+            hits++;
+        } else {
+            misses++;
+            view = materialize(graph, filter);
+            views.put(filter, view);
+            totalWeight += view.weight;
+            evict(filter);
+        }
+        return snapshot(view);
+    }
+
+    /** Like {@link #get}, but {@code null} on a miss, which is neither counted nor cached. */
+    synchronized Map<String, Map<String, Integer>> getIfCached(InteractionFilter filter) {
+        View view = views.get(filter);
+        if (view == null) return null;
+        hits++;
+        return snapshot(view);
+    }
+
+    /**
+     * Adjacency of the interactions of {@code graph} matching {@code filter}, built the way a miss is
+     * but neither cached nor copied, for one-off readers such as the exporters. Must not be modified.
+     */
+    static Map<String, Map<String, Integer>> compute(ConnectionGraph graph, InteractionFilter filter) {
+        return materialize(graph, filter).adj;
+    }
+
+    @Override
+    public synchronized void onInteraction(Interaction in) {
+        if (views.isEmpty()) return;
+        Map<String, Employee> employees = graph.getEmployees();
+        for (var e : views.entrySet()) {
+            if (e.getKey().test(in, employees)) {
+                View view = e.getValue();
+                long before = view.weight;
+                add(view, in);
+                totalWeight += view.weight - before;
+                view.snapshot = null;
+            }
+        }
+        if (totalWeight > maxWeight) evict(null);
+    }
+
+    @Override
+    public synchronized void onInteractions(List<Interaction> batch) {
+        for (Interaction in : batch) onInteraction(in);
+    }
+
+    synchronized void invalidateAll() {
+        views.clear();
+        totalWeight = 0;
+    }
+
+    synchronized int size() {
+        return views.size();
+    }
+
+    synchronized long weight() {
+        return totalWeight;
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    // Internal helpers
+
+    private static Map<String, Map<String, Integer>> snapshot(View view) {
+        if (view.snapshot == null) {
+            Map<String, Map<String, Integer>> copy = new HashMap<>();
+            for (var e : view.adj.entrySet()) {
+                copy.put(e.getKey(), Collections.unmodifiableMap(new HashMap<>(e.getValue())));
+            }
+            view.snapshot = Collections.unmodifiableMap(copy);
+        }
+        return view.snapshot;
+    }
+
+    private static View materialize(ConnectionGraph graph, InteractionFilter filter) {
+        View view = new View();
+        Consumer<Interaction> addMatching = in -> {
+            if (filter.test(in, graph.getEmployees())) add(view, in);
+        };
+        if (filter.from() == null && filter.to() == null) {
+            graph.getInteractions().forEach(addMatching);
+        } else {
+            Instant from = filter.from() == null ? Instant.MIN : filter.from();
+            Instant to = filter.to() == null ? Instant.MAX : filter.to();
+            if (filter.isTimeRangeOnly()) {
+                for (var row : graph.buildAdjacencyBetween(from, to).entrySet()) {
+                    view.adj.put(row.getKey(), new HashMap<>(row.getValue()));
+                    view.weight += 1 + row.getValue().size();
+                }
+            } else {
+                graph.forEachInteractionBetween(from, to, addMatching);
+            }
+        }
+        return view;
+    }
+
+    private static void add(View view, Interaction in) {
+        String a = in.employeeA(), b = in.employeeB();
+        view.weight += adjust(view.adj, a, b) + adjust(view.adj, b, a);
+    }
+
+    /** Adds one to {@code adj[from][to]}; returns the weight added (new rows and new entries). */
+    private static int adjust(Map<String, Map<String, Integer>> adj, String from, String to) {
+        int added = 0;
+        Map<String, Integer> row = adj.get(from);
+        if (row == null) {
+            row = new HashMap<>();
+            adj.put(from, row);
+            added++;
+        }
+        if (row.merge(to, 1, Integer::sum) == 1) added++;
+        return added;
+    }
+
+    /** Evicts least recently used views until under the bound; never evicts {@code keep}. */
+    private void evict(InteractionFilter keep) {
+        Iterator<Map.Entry<InteractionFilter, View>> it = views.entrySet().iterator();
+        while (totalWeight > maxWeight && it.hasNext()) {
+            Map.Entry<InteractionFilter, View> e = it.next();
+            if (e.getKey().equals(keep)) continue;
+            totalWeight -= e.getValue().weight;
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,577 @@
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Whole-graph analytics over the int-indexed CSR arrays of a {@link PathEngine}, run in parallel
+ * on a {@link ForkJoinPool} (node ranges split into fork/join tasks).
+ *
+ * - {@link #connectedComponents()}: lock-free union-find. Every edge is a CAS union; roots are
+ *   always linked under the lower index, so concurrent unions can never form a cycle.
+ * - {@link #communities(int)}: weighted label propagation. Each employee repeatedly adopts the label
+ *   carrying the most interaction weight among its neighbors, until (almost) no label changes.
+ *   Updates are asynchronous, so threads see each other's labels within the same sweep.
+ *
+ * - {@link #pageRank} and {@link #betweenness}: centrality, see each method.
+ *
+ * Clusterings return a {@link Partition} with dense IDs per employee, which can be rolled up per
+ * department; centralities return {@link Scores}.
+ */
+final class GraphAnalytics {
+
+    /** Cluster assignment: IDs 0..count-1 in order of decreasing size (0 is the largest). */
+    static final class Partition {
+        private final PathEngine engine;
+        private final int[] labels;
+        private final int[] sizes;
+        private final int iterations;
+
+        private Partition(PathEngine engine, int[] labels, int[] sizes, int iterations) {
+            this.engine = engine;
+            this.labels = labels;
+            this.sizes = sizes;
+            this.iterations = iterations;
+        }
+
+        int count() {
+            return sizes.length;
+        }
+
+        /** Cluster of {@code employeeId}, or -1 for an unknown employee. */
+        int of(String employeeId) {
+            int u = engine.indexOf(employeeId);
+            return u < 0 ? -1 : labels[u];
+        }
+
+        int size(int id) {
+            return sizes[id];
+        }
+
+        /** Number of single-employee clusters (employees with no interactions, for components). */
+        int singletons() {
+            int count = 0;
+            for (int i = sizes.length - 1; i >= 0 && sizes[i] == 1; i--) count++;
+            return count;
+        }
+
+        /** Sweeps run until convergence (1 for connected components). */
+        int iterations() {
+            return iterations;
+        }
+
+        List<String> members(int id) {
+            List<String> out = new ArrayList<>(sizes[id]);
+            for (int u = 0; u < labels.length; u++) {
+                if (labels[u] == id) out.add(engine.idAt(u));
+            }
+            return out;
+        }
+
+        /** Employee ID -> cluster ID. */
+        Map<String, Integer> byEmployee() {
+            Map<String, Integer> out = new HashMap<>(labels.length * 2);
+            for (int u = 0; u < labels.length; u++) out.put(engine.idAt(u), labels[u]);
+            return out;
+        }
+
+        /** Department -> (cluster ID -> number of the department's employees in it), sorted. */
+        Map<String, Map<Integer, Integer>> byDepartment(Map<String, Employee> employees) {
+            Map<String, Map<Integer, Integer>> out = new TreeMap<>();
+            for (int u = 0; u < labels.length; u++) {
+                Employee e = employees.get(engine.idAt(u));
+                if (e == null) continue;
+                out.computeIfAbsent(e.department(), d -> new TreeMap<>()).merge(labels[u], 1, Integer::sum);
+            }
+            return out;
+        }
+    }
+
+    /** A score per employee (centrality), with how the computation ended. */
+    static final class Scores {
+        private final PathEngine engine;
+        private final double[] values;
+        private final int iterations;
+        private final double residual;
+        private final boolean converged;
+
+        private Scores(PathEngine engine, double[] values, int iterations, double residual, boolean converged) {
+            this.engine = engine;
+            this.values = values;
+            this.iterations = iterations;
+            this.residual = residual;
+            this.converged = converged;
+        }
+
+        /** Score of {@code employeeId}, or 0 for an unknown employee. */
+        double of(String employeeId) {
+            int u = engine.indexOf(employeeId);
+            return u < 0 ? 0 : values[u];
+        }
+
+        /** The {@code limit} highest-scoring employees, highest first. */
+        List<Map.Entry<String, Double>> top(int limit) {
+            if (limit <= 0) return List.of();
+            // Min-heap of node indexes by score, holding the best candidates seen so far
+            PriorityQueue<Integer> best = new PriorityQueue<>(Comparator.comparingDouble((Integer u) -> values[u]));
+            for (int u = 0; u < values.length; u++) {
+                if (best.size() < limit) {
+                    best.add(u);
+                } else if (values[u] > values[best.peek()]) {
+                    best.poll();
+                    best.add(u);
+                }
+            }
+            List<Map.Entry<String, Double>> out = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                int u = best.poll();
+                out.add(new AbstractMap.SimpleImmutableEntry<>(engine.idAt(u), values[u]));
+            }
+            Collections.reverse(out);
+            return out;
+        }
+
+        /** Power iterations (PageRank) or source searches (betweenness) performed. */
+        int iterations() {
+            return iterations;
+        }
+
+        /** L1 change of the last PageRank iteration; 0 for betweenness. */
+        double residual() {
+            return residual;
+        }
+
+        /** PageRank: reached the tolerance. Betweenness: exact (every employee used as a source). */
+        boolean converged() {
+            return converged;
+        }
+    }
+
+    /** Work on nodes [from, to); returns a count that is summed over all ranges. */
+    @FunctionalInterface
+    private interface RangeBody {
+        long run(int from, int to);
+    }
+
+    private final PathEngine engine;
+    private final ForkJoinPool pool;
+
+    GraphAnalytics(PathEngine engine, ForkJoinPool pool) {
+        this.engine = Objects.requireNonNull(engine, "engine");
+        this.pool = Objects.requireNonNull(pool, "pool");
+    }
+
+    /** Connected components; employees without interactions are singleton components. */
+    Partition connectedComponents() {
+        int n = engine.nodeCount();
+        int[] offsets = engine.offsets(), targets = engine.targets();
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        forEachRange(n, (from, to) -> {
+            for (int u = from; u < to; u++) parent.set(u, u);
+            return 0;
+        });
+        forEachRange(n, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (v > u) union(parent, u, v); // each undirected edge once
+                }
+            }
+            return 0;
+        });
+        int[] roots = new int[n];
+        forEachRange(n, (from, to) -> {
+            for (int u = from; u < to; u++) roots[u] = find(parent, u);
+            return 0;
+        });
+        return densify(roots, 1);
+    }
+
+    /**
+     * Communities by weighted label propagation, stopping once fewer than 0.1% of employees change
+     * label in a sweep, or after {@code maxIterations} sweeps.
+     */
+    Partition communities(int maxIterations) {
+        if (maxIterations <= 0) throw new IllegalArgumentException("maxIterations must be positive: " + maxIterations);
+        int n = engine.nodeCount();
+        int[] offsets = engine.offsets(), targets = engine.targets(), weights = engine.weights();
+        int[] labels = new int[n];
+        for (int u = 0; u < n; u++) labels[u] = u;
+
+        // Per-thread score table indexed by label, plus the labels touched for the current node
+        ThreadLocal<long[]> scores = ThreadLocal.withInitial(() -> new long[n]);
+        ThreadLocal<int[]> touched = ThreadLocal.withInitial(() -> new int[maxDegree(offsets)]);
+        long threshold = Math.max(1, n / 1000);
+
+        int sweeps = 0;
+        long changed = Long.MAX_VALUE;
+        while (sweeps < maxIterations && changed >= threshold) {
+            sweeps++;
+            changed = forEachRange(n, (from, to) -> {
+                long[] score = scores.get();
+                int[] seen = touched.get();
+                long moves = 0;
+                for (int u = from; u < to; u++) {
+                    int count = 0;
+                    for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                        int l = labels[targets[i]];
+                        if (score[l] == 0) seen[count++] = l;
+                        score[l] += weights[i];
+                    }
+                    if (count == 0) continue;
+                    // Keep the current label on ties, otherwise prefer the lowest label
+                    int current = labels[u], best = current;
+                    long bestScore = score[current];
+                    for (int j = 0; j < count; j++) {
+                        int l = seen[j];
+                        if (score[l] > bestScore || score[l] == bestScore && best != current && l < best) {
+                            best = l;
+                            bestScore = score[l];
+                        }
+                        score[l] = 0;
+                    }
+                    score[current] = 0;
+                    if (best != current) {
+                        labels[u] = best;
+                        moves++;
+                    }
+                }
+                return moves;
+            });
+        }
+        return densify(labels, sweeps);
+    }
+
+    /**
+     * PageRank by power iteration over primitive arrays. A random walk follows an edge with
+     * probability proportional to its weight ({@code weighted}) or uniformly, and jumps to a random
+     * employee with probability {@code 1 - damping}; employees without edges jump every time.
+     * Each iteration pulls contributions from neighbors in parallel; stops once the L1 change drops
+     * below {@code tolerance} or after {@code maxIterations}. Scores sum to 1.
+     */
+    Scores pageRank(boolean weighted, double damping, double tolerance, int maxIterations) {
+        if (damping < 0 || damping >= 1) throw new IllegalArgumentException("damping must be in [0, 1): " + damping);
+        if (maxIterations <= 0) throw new IllegalArgumentException("maxIterations must be positive: " + maxIterations);
+        int n = engine.nodeCount();
+        if (n == 0) return new Scores(engine, new double[0], 0, 0, true);
+        int[] offsets = engine.offsets(), targets = engine.targets(), weights = engine.weights();
+
+        // Out-strength per node: summed edge weights, or the degree
+        double[] strength = new double[n];
+        forEachRange(n, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                double sum = 0;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) sum += weighted ? weights[i] : 1;
+                strength[u] = sum;
+            }
+            return 0;
+        });
+
+        double[] rank = new double[n], next = new double[n], share = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+        int iterations = 0;
+        double residual = Double.POSITIVE_INFINITY;
+        while (iterations < maxIterations && residual > tolerance) {
+            iterations++;
+            double[] current = rank, updated = next;
+            DoubleAdder dangling = new DoubleAdder();
+            forEachRange(n, (from, to) -> {
+                double lost = 0;
+                for (int u = from; u < to; u++) {
+                    if (strength[u] == 0) {
+                        share[u] = 0;
+                        lost += current[u];
+                    } else {
+                        share[u] = current[u] / strength[u];
+                    }
+                }
+                dangling.add(lost);
+                return 0;
+            });
+            double base = (1 - damping) / n + damping * dangling.sum() / n;
+            DoubleAdder change = new DoubleAdder();
+            forEachRange(n, (from, to) -> {
+                double delta = 0;
+                for (int v = from; v < to; v++) {
+                    double sum = 0;
+                    for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                        sum += share[targets[i]] * (weighted ? weights[i] : 1);
+                    }
+                    updated[v] = base + damping * sum;
+                    delta += Math.abs(updated[v] - current[v]);
+                }
+                change.add(delta);
+                return 0;
+            });
+            residual = change.sum();
+            next = current;
+            rank = updated;
+        }
+        return new Scores(engine, rank, iterations, residual, residual <= tolerance);
+    }
+
+    /**
+     * Betweenness centrality by Brandes' algorithm: for each source, one shortest-path search
+     * (BFS, or Dijkstra with edge cost {@code 1 / weight} when {@code weighted}) counts shortest
+     * paths, and a backward sweep accumulates each employee's share of them. Sources run in parallel,
+     * each worker adding into its own score array; the arrays are summed at the end.
+     *
+     * With {@code 0 < samples < employees} only that many random sources are used (seeded, so
+     * reproducible) and scores are scaled up accordingly - an estimate in O(samples * E) instead of
+     * O(V * E). Scores count unordered pairs (each path once) and exclude the endpoints.
+     */
+    Scores betweenness(boolean weighted, int samples, long seed) {
+        int n = engine.nodeCount();
+        int[] sources = new int[n];
+        for (int u = 0; u < n; u++) sources[u] = u;
+        int k = n;
+        if (samples > 0 && samples < n) {
+            // Partial Fisher-Yates shuffle: the first k entries become a uniform sample
+            Random rnd = new Random(seed);
+            for (int i = 0; i < samples; i++) {
+                int j = i + rnd.nextInt(n - i), t = sources[i];
+                sources[i] = sources[j];
+                sources[j] = t;
+            }
+            k = samples;
+        }
+
+        Queue<double[]> partials = new ConcurrentLinkedQueue<>();
+        ThreadLocal<Brandes> workers = ThreadLocal.withInitial(() -> {
+            Brandes b = new Brandes(engine, weighted);
+            partials.add(b.centrality);
+            return b;
+        });
+        forEachRange(k, 1, (from, to) -> {
+            Brandes b = workers.get();
+            for (int i = from; i < to; i++) b.accumulate(sources[i]);
+            return 0;
+        });
+
+        double[] total = new double[n];
+        for (double[] partial : partials) {
+            for (int u = 0; u < n; u++) total[u] += partial[u];
+        }
+        // Undirected: every pair was counted from both ends; sampling covers k of n sources
+        double scale = 0.5 * n / Math.max(k, 1);
+        for (int u = 0; u < n; u++) total[u] *= scale;
+        return new Scores(engine, total, k, 0, k == n);
+    }
+
+    // Internal helpers
+
+    /** Per-thread state for Brandes' algorithm, reused across sources. */
+    private static final class Brandes {
+        private static final double EPSILON = 1e-9;
+
+        final double[] centrality;
+        private final int[] offsets, targets;
+        private final double[] costs;
+        private final boolean weighted;
+        private final double[] dist, sigma, delta;
+        private final int[] order, queue;
+        private final boolean[] settled;
+        private final PathEngine.MinHeap heap = new PathEngine.MinHeap();
+
+        Brandes(PathEngine engine, boolean weighted) {
+            int n = engine.nodeCount();
+            this.centrality = new double[n];
+            this.offsets = engine.offsets();
+            this.targets = engine.targets();
+            this.costs = engine.costs();
+            this.weighted = weighted;
+            this.dist = new double[n];
+            this.sigma = new double[n];
+            this.delta = new double[n];
+            this.order = new int[n];
+            this.queue = new int[n];
+            this.settled = new boolean[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        }
+
+        void accumulate(int s) {
+            int count = weighted ? dijkstra(s) : bfs(s);
+            // Walk nodes farthest first, pushing dependencies back to their predecessors
+            for (int j = count - 1; j >= 0; j--) {
+                int w = order[j];
+                double coefficient = (1 + delta[w]) / sigma[w];
+                for (int i = offsets[w]; i < offsets[w + 1]; i++) {
+                    int v = targets[i];
+                    if (isPredecessor(v, w, i)) delta[v] += sigma[v] * coefficient;
+                }
+                if (w != s) centrality[w] += delta[w];
+            }
+            // Reset only what this source touched
+            for (int j = 0; j < count; j++) {
+                int u = order[j];
+                dist[u] = Double.POSITIVE_INFINITY;
+                sigma[u] = 0;
+                delta[u] = 0;
+                settled[u] = false;
+            }
+        }
+
+        /** Fills {@code order} with the reachable nodes by distance; returns how many. */
+        private int bfs(int s) {
+            int head = 0, tail = 0;
+            dist[s] = 0;
+            sigma[s] = 1;
+            queue[tail++] = s;
+            while (head < tail) {
+                int u = queue[head++];
+                double next = dist[u] + 1;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (dist[v] == Double.POSITIVE_INFINITY) {
+                        dist[v] = next;
+                        queue[tail++] = v;
+                    }
+                    if (dist[v] == next) sigma[v] += sigma[u];
+                }
+            }
+            System.arraycopy(queue, 0, order, 0, tail);
+            return tail;
+        }
+
+        private int dijkstra(int s) {
+            int count = 0;
+            heap.clear();
+            dist[s] = 0;
+            sigma[s] = 1;
+            heap.push(0, s);
+            while (!heap.isEmpty()) {
+                int u = heap.pop();
+                if (settled[u]) continue;
+                settled[u] = true;
+                order[count++] = u;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (settled[v]) continue;
+                    double dv = dist[u] + costs[i];
+                    if (dv < dist[v] - EPSILON * dv) {
+                        dist[v] = dv;
+                        sigma[v] = sigma[u];
+                        heap.push(dv, v);
+                    } else if (Math.abs(dv - dist[v]) <= EPSILON * dv) {
+                        sigma[v] += sigma[u]; // another shortest path of (nearly) equal cost
+                    }
+                }
+            }
+            return count;
+        }
+
+        /** Whether edge (v, w), at CSR slot {@code i} of w's row, lies on a shortest path to w. */
+        private boolean isPredecessor(int v, int w, int i) {
+            if (!weighted) return dist[v] == dist[w] - 1;
+            double via = dist[v] + costs[i];
+            return Math.abs(via - dist[w]) <= EPSILON * dist[w];
+        }
+    }
+
+    private static int find(AtomicIntegerArray parent, int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (p != gp) parent.compareAndSet(x, p, gp); // path halving
+            x = gp;
+        }
+    }
+
+    private static void union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) return;
+            if (a < b) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            // Link the higher root under the lower one; retry if another thread moved it meanwhile
+            if (parent.compareAndSet(a, a, b)) return;
+        }
+    }
+
+    /** Renumbers arbitrary labels to 0..count-1 by decreasing size (ties: first member's index). */
+    private Partition densify(int[] raw, int iterations) {
+        int n = raw.length;
+        int[] rawSize = new int[n];
+        for (int label : raw) rawSize[label]++;
+        int count = 0;
+        for (int size : rawSize) {
+            if (size > 0) count++;
+        }
+        // Sort (inverted size, label) keys; labels are node indexes, so first-member order is label order
+        long[] keys = new long[count];
+        for (int label = 0, k = 0; label < n; label++) {
+            if (rawSize[label] > 0) keys[k++] = (long) (Integer.MAX_VALUE - rawSize[label]) << 32 | label;
+        }
+        Arrays.sort(keys);
+        int[] dense = new int[n];
+        int[] sizes = new int[count];
+        for (int id = 0; id < count; id++) {
+            int label = (int) keys[id];
+            dense[label] = id;
+            sizes[id] = rawSize[label];
+        }
+        int[] labels = new int[n];
+        for (int u = 0; u < n; u++) labels[u] = dense[raw[u]];
+        return new Partition(engine, labels, sizes, iterations);
+    }
+
+    private static int maxDegree(int[] offsets) {
+        int max = 0;
+        for (int u = 0; u + 1 < offsets.length; u++) max = Math.max(max, offsets[u + 1] - offsets[u]);
+        return max;
+    }
+
+    private long forEachRange(int n, RangeBody body) {
+        return forEachRange(n, 4096, body);
+    }
+
+    private long forEachRange(int n, int leafSize, RangeBody body) {
+        return pool.invoke(new RangeTask(body, leafSize, 0, n));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class RangeTask extends RecursiveTask<Long> {
+        private final RangeBody body;
+        private final int leafSize;
+        private final int from;
+        private final int to;
+
+        RangeTask(RangeBody body, int leafSize, int from, int to) {
+            this.body = body;
+            this.leafSize = leafSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= leafSize) {
+                return body.run(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask left = new RangeTask(body, leafSize, from, mid);
+            left.fork();
+            long right = new RangeTask(body, leafSize, mid, to).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Micro-benchmarks for the {@link ConnectionGraph} hot paths on {@link SyntheticGraphs} of several sizes,
+ * two degree distributions (planted teams and power law) and each {@link SyntheticGraphs#STORAGE} mode.
+ * A quick check that needs nothing but javac; the JMH benchmarks in {@code jmh/} ({@code gradle jmh})
+ * are the reference numbers.
+ *
+ * Each operation is warmed up, then called in a timed loop on the main thread. Reported per operation:
+ * throughput, latency percentiles (each call timed with {@code System.nanoTime()}, which adds some
+ * tens of ns to sub-microsecond operations), bytes allocated per call on the calling thread, and the
+ * number and total time of GC runs during the measurement. Inputs (employees, pairs) are drawn up front
+ * from a fixed seed so runs are comparable, and results are consumed so the JIT cannot drop the calls.
+ *
+ * To catch regressions, write the results with {@code --csv} and compare a later run against them with
+ * {@code --baseline}: operations whose throughput dropped by more than {@code --tolerance} are flagged
+ * and the run exits with status 1.
+ *
+ * How to compile/run (from repo root):
+ *   javac slack-connections-demo/*.java
+ *   java -Xmx4g -cp slack-connections-demo GraphBenchmark [--sizes 1000,10000,100000]
+ *       [--storage default,csr,columnar,concurrent] [--ops getNeighbors,shortestPath]
+ *       [--warmup-ms 500] [--measure-ms 2000]
+ *       [--csv results.csv] [--baseline previous.csv] [--tolerance 0.15]
+ */
+public class GraphBenchmark {
+    private static final int AVG_DEGREE = 10;
+    private static final int TEAM_SIZE = 20;
+    private static final int INPUTS = 4096;
+    private static final int MAX_SAMPLES = 1 << 22;
+    private static final Instant WHEN = Instant.parse("2026-02-01T00:00:00Z");
+
+    /** A benchmarked call; {@code i} picks the input, so consecutive calls see different arguments. */
+    private interface Op {
+        Object run(int i) throws Exception;
+    }
+
+    private record Result(String shape, String storage, int employees, String op, long calls,
+                          double opsPerSecond, long p50, long p90, long p99, long p999, long max,
+                          double bytesPerOp, long gcCount, long gcMillis) {
+        String key() {
+            return shape + "/" + storage + "/" + employees + "/" + op;
+        }
+    }
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String sizes = options.getOrDefault("sizes", "1000,10000,100000");
+        String storages = options.getOrDefault("storage", String.join(",", SyntheticGraphs.STORAGE));
+        List<String> only = options.containsKey("ops") ? List.of(options.get("ops").split(",")) : List.of();
+        long warmupMs = Long.parseLong(options.getOrDefault("warmup-ms", "500"));
+        long measureMs = Long.parseLong(options.getOrDefault("measure-ms", "2000"));
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.15"));
+
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors() + ", avg degree " + AVG_DEGREE
+                + ", warm-up " + warmupMs + " ms, measurement " + measureMs + " ms");
+        System.out.println("shape      storage     employees  operation                        ops/s    p50 us"
+                + "    p99 us  p99.9 us    max us       B/op  gc  gc ms");
+        List<Result> results = new ArrayList<>();
+        for (String size : sizes.split(",")) {
+            int employees = Integer.parseInt(size.trim());
+            for (String shape : List.of("clustered", "power-law")) {
+                for (String storage : storages.split(",")) {
+                    storage = storage.trim();
+                    ConnectionGraph graph = shape.equals("clustered")
+                            ? SyntheticGraphs.clustered(employees, AVG_DEGREE, TEAM_SIZE, 0.1, 42, storage)
+                            : SyntheticGraphs.powerLaw(employees, AVG_DEGREE, 42, storage);
+                    for (Map.Entry<String, Op> op : operations(graph, employees).entrySet()) {
+                        if (!only.isEmpty() && !only.contains(op.getKey())) continue;
+                        Result r = measure(shape, storage, employees, op.getKey(), op.getValue(), warmupMs,
+                                measureMs);
+                        results.add(r);
+                        print(r);
+                    }
+                }
+            }
+        }
+
+        if (options.containsKey("csv")) writeCsv(Path.of(options.get("csv")), results);
+        if (options.containsKey("baseline")) {
+            int regressions = compare(readCsv(Path.of(options.get("baseline"))), results, tolerance);
+            if (regressions > 0) System.exit(1);
+        }
+    }
+
+    /**
+     * The benchmarked operations, in run order. Recording comes last because it grows the graph the
+     * other operations read.
+     */
+    private static Map<String, Op> operations(ConnectionGraph graph, int employees) {
+        Random rnd = new Random(7);
+        String[] from = new String[INPUTS], to = new String[INPUTS], issues = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            issues[i] = "BENCH-" + i;
+            from[i] = SyntheticGraphs.employeeId(rnd.nextInt(employees));
+            to[i] = SyntheticGraphs.employeeId(rnd.nextInt(employees));
+        }
+        Predicate<Interaction> codeReviews = in -> in.type() == InteractionType.CODE_REVIEW;
+        String json = graph.toJson();
+
+        Map<String, Op> ops = new LinkedHashMap<>();
+        ops.put("getNeighbors", i -> graph.getNeighbors(from[i % INPUTS]));
+        ops.put("getTopCollaborators", i -> graph.getTopCollaborators(from[i % INPUTS], 10));
+        ops.put("shortestPath", i -> graph.shortestPath(from[i % INPUTS], to[i % INPUTS]));
+        ops.put("buildAdjacencyFiltered", i -> graph.buildAdjacencyFiltered(codeReviews));
+        ops.put("toMermaid", i -> graph.toMermaid());
+        ops.put("toJson", i -> graph.toJson());
+        ops.put("fromJson", i -> ConnectionGraph.fromJson(json));
+        ops.put("recordInteractionByEmployee", i -> {
+            graph.recordInteractionByEmployee(issues[i % INPUTS], from[i % INPUTS], to[(i + 1) % INPUTS],
+                    InteractionType.DISCUSSION, WHEN);
+            return graph;
+        });
+        return ops;
+    }
+
+    private static Result measure(String shape, String storage, int employees, String name, Op op, long warmupMs,
+                                  long measureMs) throws Exception {
+        long warmupEnd = System.nanoTime() + warmupMs * 1_000_000;
+        for (int i = 0; System.nanoTime() < warmupEnd; i++) sink = op.run(i);
+
+        long[] samples = new long[MAX_SAMPLES];
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long gcCount0 = gcCount(), gcMillis0 = gcMillis();
+        long allocated0 = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime(), end = start + measureMs * 1_000_000, now = start;
+        int calls = 0;
+        while (now < end && calls < MAX_SAMPLES) {
+            long before = now;
+            sink = op.run(calls);
+            now = System.nanoTime();
+            samples[calls++] = now - before;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocated0;
+        long gcRuns = gcCount() - gcCount0, gcTime = gcMillis() - gcMillis0;
+
+        Arrays.sort(samples, 0, calls);
+        return new Result(shape, storage, employees, name, calls, calls / ((now - start) / 1e9),
+                percentile(samples, calls, 0.50), percentile(samples, calls, 0.90),
+                percentile(samples, calls, 0.99), percentile(samples, calls, 0.999), samples[calls - 1],
+                (double) allocated / calls, gcRuns, gcTime);
+    }
+
+    // Internal helpers
+
+    private static long percentile(long[] sorted, int count, double p) {
+        return sorted[Math.min(count - 1, (int) Math.ceil(p * count) - 1)];
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static void print(Result r) {
+        System.out.printf("%-9s  %-10s  %9d  %-28s  %12.1f  %8.2f  %8.2f  %8.2f  %8.2f  %9.0f  %2d  %5d%n",
+                r.shape(), r.storage(), r.employees(), r.op(), r.opsPerSecond(), r.p50() / 1e3, r.p99() / 1e3,
+                r.p999() / 1e3, r.max() / 1e3, r.bytesPerOp(), r.gcCount(), r.gcMillis());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + String.join(" ", args));
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static void writeCsv(Path path, List<Result> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("shape,storage,employees,op,calls,ops_per_s,p50_ns,p90_ns,p99_ns,p999_ns,max_ns,bytes_per_op,"
+                + "gc_count,gc_ms");
+        for (Result r : results) {
+            lines.add(String.join(",", r.shape(), r.storage(), Integer.toString(r.employees()), r.op(),
+                    Long.toString(r.calls()),
+                    Double.toString(r.opsPerSecond()), Long.toString(r.p50()), Long.toString(r.p90()),
+                    Long.toString(r.p99()), Long.toString(r.p999()), Long.toString(r.max()),
+                    Double.toString(r.bytesPerOp()), Long.toString(r.gcCount()), Long.toString(r.gcMillis())));
+        }
+        Files.write(path, lines);
+    }
+
+    /** Throughput per {@link Result#key()} from a file written by {@link #writeCsv}. */
+    private static Map<String, Double> readCsv(Path path) throws IOException {
+        Map<String, Double> throughput = new HashMap<>();
+        List<String> lines = Files.readAllLines(path);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] f = line.split(",");
+            throughput.put(f[0] + "/" + f[1] + "/" + f[2] + "/" + f[3], Double.parseDouble(f[5]));
+        }
+        return throughput;
+    }
+
+    private static int compare(Map<String, Double> baseline, List<Result> results, double tolerance) {
+        int regressions = 0;
+        for (Result r : results) {
+            Double before = baseline.get(r.key());
+            if (before == null || r.opsPerSecond() >= before * (1 - tolerance)) continue;
+            System.out.printf("REGRESSION %s: %.1f ops/s, baseline %.1f (%.0f%% slower)%n",
+                    r.key(), r.opsPerSecond(), before, 100 * (1 - r.opsPerSecond() / before));
+            regressions++;
+        }
+        System.out.println(regressions == 0 ? "No regressions against baseline (tolerance "
+                + Math.round(tolerance * 100) + "%)" : regressions + " regression(s)");
+        return regressions;
+    }
+}
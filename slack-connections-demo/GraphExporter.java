@@ -0,0 +1,177 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes DOT (GraphViz) and Mermaid renderings of an adjacency incrementally to an
+ * {@link Appendable}, so a large graph never has to exist as one string.
+ *
+ * Edges come from an {@link EdgeSource}, such as the graph's edge store, or from an adjacency map.
+ * Undirected edges appear twice in an adjacency ({@code adj[u][v]} and {@code adj[v][u]}). Instead
+ * of remembering every emitted edge, the writer remembers the rows it has finished: an entry
+ * pointing to a finished row that holds the reverse entry was already written from that row. That
+ * is one set entry per employee (the existing ID strings) rather than a new key string per edge,
+ * and an adjacency that lacks one direction of an edge still has it written once.
+ *
+ * Mermaid node IDs are sanitized once per employee and cached. With a {@code maxEdges} limit only
+ * the heaviest edges are written, heaviest first, together with just the employees they connect.
+ */
+final class GraphExporter {
+    private enum Format { DOT, MERMAID }
+
+    /** Visits every undirected edge once, e.g. {@link EdgeStore#forEachEdge}. */
+    @FunctionalInterface
+    interface EdgeSource {
+        void forEachEdge(EdgeStore.EdgeConsumer action);
+    }
+
+    private final Map<String, Employee> employees;
+    private final Map<String, String> mermaidIds = new ConcurrentHashMap<>();
+
+    GraphExporter(Map<String, Employee> employees) {
+        this.employees = employees;
+    }
+
+    void writeDot(Appendable out, Map<String, Map<String, Integer>> adj, int maxEdges) throws IOException {
+        write(out, edgesOf(adj), maxEdges, Format.DOT);
+    }
+
+    void writeDot(Appendable out, EdgeSource edges, int maxEdges) throws IOException {
+        write(out, edges, maxEdges, Format.DOT);
+    }
+
+    void writeMermaid(Appendable out, Map<String, Map<String, Integer>> adj, int maxEdges) throws IOException {
+        write(out, edgesOf(adj), maxEdges, Format.MERMAID);
+    }
+
+    void writeMermaid(Appendable out, EdgeSource edges, int maxEdges) throws IOException {
+        write(out, edges, maxEdges, Format.MERMAID);
+    }
+
+    // Internal helpers
+
+    private void write(Appendable out, EdgeSource edges, int maxEdges, Format format) throws IOException {
+        if (maxEdges < 0) throw new IllegalArgumentException("maxEdges must not be negative: " + maxEdges);
+        if (format == Format.DOT) {
+            out.append("graph EmployeeConnections {\n");
+            out.append("  node [shape=circle, style=filled, fillcolor=lightyellow];\n");
+        } else {
+            out.append("graph TD;\n");
+        }
+
+        if (maxEdges == Integer.MAX_VALUE) {
+            for (Employee e : employees.values()) node(out, e, format);
+            try {
+                edges.forEachEdge((u, v, weight) -> {
+                    try {
+                        edge(out, u, v, weight, format);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } else {
+            List<WeightedEdge> heaviest = heaviest(edges, maxEdges);
+            Set<String> endpoints = new HashSet<>();
+            for (WeightedEdge edge : heaviest) {
+                endpoints.add(edge.employeeA());
+                endpoints.add(edge.employeeB());
+            }
+            for (Employee e : employees.values()) {
+                if (endpoints.contains(e.id())) node(out, e, format);
+            }
+            for (WeightedEdge edge : heaviest) edge(out, edge.employeeA(), edge.employeeB(), edge.weight(), format);
+        }
+
+        if (format == Format.DOT) out.append("}\n");
+    }
+
+    private void node(Appendable out, Employee e, Format format) throws IOException {
+        if (format == Format.DOT) {
+            out.append("  \"").append(e.id()).append("\"")
+               .append(" [label=\"").append(e.name()).append("\\n").append(e.department()).append("\"];\n");
+        } else {
+            out.append("  ").append(mermaidId(e.id()))
+               .append("[\"").append(escapeMermaid(e.name()))
+               .append("<br/>").append(escapeMermaid(e.department()))
+               .append("\"];\n");
+        }
+    }
+
+    private void edge(Appendable out, String u, String v, int weight, Format format) throws IOException {
+        if (format == Format.DOT) {
+            out.append("  \"").append(u).append("\" -- \"").append(v).append("\" [label=\"")
+               .append(Integer.toString(weight)).append("\"];\n");
+        } else {
+            out.append("  ").append(mermaidId(u))
+               .append(" ---|").append(Integer.toString(weight)).append("| ")
+               .append(mermaidId(v)).append(";\n");
+        }
+    }
+
+    /** Each undirected edge of {@code adj} once, from the first of its two rows visited. */
+    private static EdgeSource edgesOf(Map<String, Map<String, Integer>> adj) {
+        return action -> {
+            Set<String> finished = new HashSet<>();
+            for (Map.Entry<String, Map<String, Integer>> uEntry : adj.entrySet()) {
+                String u = uEntry.getKey();
+                for (Map.Entry<String, Integer> vEntry : uEntry.getValue().entrySet()) {
+                    String v = vEntry.getKey();
+                    if (finished.contains(v) && adj.get(v).containsKey(u)) continue; // written from v's row
+                    action.accept(u, v, vEntry.getValue());
+                }
+                finished.add(u);
+            }
+        };
+    }
+
+    /** The {@code limit} heaviest edges of {@code edges}, heaviest first. */
+    private static List<WeightedEdge> heaviest(EdgeSource edges, int limit) {
+        if (limit == 0) return List.of();
+        PriorityQueue<WeightedEdge> best = new PriorityQueue<>(Comparator.comparingInt(WeightedEdge::weight));
+        edges.forEachEdge((u, v, w) -> {
+            if (best.size() < limit) {
+                best.add(new WeightedEdge(u, v, w));
+            } else if (w > best.peek().weight()) {
+                best.poll();
+                best.add(new WeightedEdge(u, v, w));
+            }
+        });
+        List<WeightedEdge> out = new ArrayList<>(best);
+        out.sort(Comparator.comparingInt(WeightedEdge::weight).reversed());
+        return out;
+    }
+
+    private String mermaidId(String id) {
+        if (id == null) return "N_";
+        return mermaidIds.computeIfAbsent(id, GraphExporter::sanitize);
+    }
+
+    /** Non-[A-Za-z0-9_] code points become '_'; IDs not starting with a letter get an "N_" prefix. */
+    static String sanitize(String s) {
+        if (s.isEmpty()) return "N_";
+        StringBuilder sb = new StringBuilder(s.length() + 2);
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            boolean keep = cp < 128 && (Character.isLetterOrDigit(cp) || cp == '_');
+            sb.append(keep ? (char) cp : '_');
+            i += Character.charCount(cp);
+        }
+        if (!Character.isLetter(sb.charAt(0))) sb.insert(0, "N_");
+        return sb.toString();
+    }
+
+    private static String escapeMermaid(String s) {
+        if (s == null) return "";
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,200 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Durable home for a {@link ConnectionGraph}: a directory holding the latest binary snapshot plus
+ * the write-ahead log segments recorded since.
+ * <pre>
+ *   snapshot-&lt;n&gt;.snap   state after applying every segment numbered below n
+ *   wal-&lt;n&gt;.log        mutations in recording order (see {@link WriteAheadLog})
+ * </pre>
+ *
+ * {@link #open} recovers by loading the newest snapshot and replaying the segments from its number
+ * on; a torn record at the end of the last segment (crash mid-write) is cut off. The recovered
+ * graph then appends every mutation to a fresh segment.
+ *
+ * {@link #compact()} rolls the log over to a new segment and, on a background thread, folds the
+ * previous snapshot and the closed segments into a new snapshot, then deletes the files it replaces.
+ * Compaction works from the files only, so recording continues undisturbed while it runs.
+ */
+final class GraphJournal implements Closeable {
+    private final Path dir;
+    private final ConnectionGraph graph;
+    private final WriteAheadLog log;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "journal-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private GraphJournal(Path dir, ConnectionGraph graph, WriteAheadLog log) {
+        this.dir = dir;
+        this.graph = graph;
+        this.log = log;
+    }
+
+    /**
+     * Recovers the graph stored in {@code dir} (created if missing) into a graph made by
+     * {@code newGraph}, e.g. {@code ConnectionGraph::concurrent}, and starts logging to it.
+     */
+    static GraphJournal open(Path dir, WriteAheadLog.Options options, Supplier<ConnectionGraph> newGraph)
+            throws IOException {
+        Files.createDirectories(dir);
+        long base = latest(dir, "snapshot-", ".snap");
+        ConnectionGraph graph = newGraph.get();
+        if (base >= 0) {
+            try (SnapshotFile snapshot = SnapshotFile.open(snapshotPath(dir, base))) {
+                snapshot.loadInto(graph);
+            }
+        }
+
+        List<Long> segments = segments(dir, Math.max(base, 0), Long.MAX_VALUE);
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = WriteAheadLog.segmentPath(dir, segments.get(i));
+            long intact = WriteAheadLog.replay(segment, graph);
+            if (intact < Files.size(segment)) {
+                if (i < segments.size() - 1) {
+                    throw new IOException("Corrupt log segment before the end of the log: " + segment);
+                }
+                truncate(segment, intact);
+            }
+        }
+
+        long next = segments.isEmpty() ? Math.max(base, 0) : segments.get(segments.size() - 1) + 1;
+        WriteAheadLog log = new WriteAheadLog(dir, next, options);
+        graph.attachLog(log);
+        deleteObsolete(dir, Math.max(base, 0));
+        return new GraphJournal(dir, graph, log);
+    }
+
+    /** The recovered graph; every mutation made through it is logged. */
+    ConnectionGraph graph() {
+        return graph;
+    }
+
+    /** Writes and forces everything logged so far, whatever the sync policy. */
+    void sync() throws IOException {
+        log.sync();
+    }
+
+    /**
+     * Closes the current log segment and folds it, with everything before it, into a new snapshot
+     * in the background. The future completes with the new snapshot's path. Compactions run one at
+     * a time in the order requested.
+     */
+    CompletableFuture<Path> compact() throws IOException {
+        long closedSegment = log.rotate();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return fold(closedSegment);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, compactor);
+    }
+
+    /** Waits for running compactions, then syncs and closes the log. */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+
+    // Internal helpers
+
+    private Path fold(long closedSegment) throws IOException {
+        long base = latest(dir, "snapshot-", ".snap");
+        if (base > closedSegment) return snapshotPath(dir, base);
+
+        ConnectionGraph folded = base < 0
+                ? new ConnectionGraph()
+                : ConnectionGraph.loadSnapshot(snapshotPath(dir, base));
+        for (long segment : segments(dir, Math.max(base, 0), closedSegment)) {
+            WriteAheadLog.replay(WriteAheadLog.segmentPath(dir, segment), folded);
+        }
+
+        // The new snapshot is in place (atomic rename) before anything it covers is deleted
+        Path snapshot = snapshotPath(dir, closedSegment + 1);
+        folded.saveSnapshot(snapshot);
+        deleteObsolete(dir, closedSegment + 1);
+        return snapshot;
+    }
+
+    private static Path snapshotPath(Path dir, long number) {
+        return dir.resolve(String.format("snapshot-%08d.snap", number));
+    }
+
+    /** Sorted numbers of the log segments in {@code [from, to]}. */
+    private static List<Long> segments(Path dir, long from, long to) throws IOException {
+        List<Long> out = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.mapToLong(WriteAheadLog::segmentNumber)
+                 .filter(n -> n >= from && n <= to)
+                 .sorted()
+                 .forEach(out::add);
+        }
+        return out;
+    }
+
+    /** Highest number among files named {@code prefix<n>suffix}, or -1. */
+    private static long latest(Path dir, String prefix, String suffix) throws IOException {
+        long best = -1;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                String name = p.getFileName().toString();
+                if (!name.startsWith(prefix) || !name.endsWith(suffix)) continue;
+                best = Math.max(best, Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Deletes snapshots and segments numbered below {@code base}, which snapshot {@code base} covers,
+     * and temp files left by a snapshot write that never finished. Only called while no snapshot is
+     * being written.
+     */
+    private static void deleteObsolete(Path dir, long base) throws IOException {
+        List<Path> obsolete = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                String name = p.getFileName().toString();
+                long segment = WriteAheadLog.segmentNumber(p);
+                if (segment >= 0 && segment < base) {
+                    obsolete.add(p);
+                } else if (name.startsWith("snapshot-") && name.endsWith(".tmp")) {
+                    obsolete.add(p);
+                } else if (name.startsWith("snapshot-") && name.endsWith(".snap")
+                        && !p.equals(snapshotPath(dir, base))) {
+                    obsolete.add(p);
+                }
+            }
+        }
+        for (Path p : obsolete) Files.deleteIfExists(p);
+    }
+
+    private static void truncate(Path segment, long size) throws IOException {
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ch.truncate(size);
+            ch.force(true);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable, versioned view of a graph's weighted edges, for readers that need a consistent picture
+ * for a long time while ingestion continues.
+ *
+ * The adjacency is a {@link PersistentHashMap} of persistent neighbor maps. Recording an interaction
+ * publishes a new snapshot that shares everything except the paths to the two updated rows. Taking a
+ * snapshot is therefore a volatile read: nothing is copied and older snapshots never change. A batch
+ * recorded through {@code recordInteractions} is published as one version, so readers see all of it
+ * or none of it.
+ */
+final class GraphSnapshot {
+    private static final PersistentHashMap<String, Integer> NO_NEIGHBORS = PersistentHashMap.empty();
+
+    private final long version;
+    private final PersistentHashMap<String, PersistentHashMap<String, Integer>> adjacency;
+    private final long edgeCount;
+    private final int interactionCount;
+
+    private GraphSnapshot(long version, PersistentHashMap<String, PersistentHashMap<String, Integer>> adjacency,
+                          long edgeCount, int interactionCount) {
+        this.version = version;
+        this.adjacency = adjacency;
+        this.edgeCount = edgeCount;
+        this.interactionCount = interactionCount;
+    }
+
+    /** Publication sequence number; later snapshots of the same graph have higher versions. */
+    long version() {
+        return version;
+    }
+
+    long edgeCount() {
+        return edgeCount;
+    }
+
+    /** Interactions reflected in this snapshot. */
+    int interactionCount() {
+        return interactionCount;
+    }
+
+    int weight(String a, String b) {
+        return adjacency.getOrDefault(a, NO_NEIGHBORS).getOrDefault(b, 0);
+    }
+
+    /** Neighbor ID -> weight, as a read-only view of this version (nothing is copied). */
+    Map<String, Integer> neighbors(String employeeId) {
+        PersistentHashMap<String, Integer> row = adjacency.get(employeeId);
+        return row == null ? Map.of() : row.asMap();
+    }
+
+    List<Map.Entry<String, Integer>> topCollaborators(String employeeId, int limit) {
+        List<Map.Entry<String, Integer>> row = new ArrayList<>(neighbors(employeeId).entrySet());
+        row.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        return row.subList(0, Math.max(0, Math.min(limit, row.size())));
+    }
+
+    /** Visits every undirected edge (a, b, weight) once. */
+    void forEachEdge(EdgeStore.EdgeConsumer action) {
+        adjacency.forEach((a, row) -> row.forEach((b, w) -> {
+            if (a.compareTo(b) < 0) action.accept(a, b, w);
+        }));
+    }
+
+    /** Unweighted shortest path (BFS) in this version; empty if unreachable. */
+    List<String> shortestPath(String from, String to) {
+        if (from.equals(to)) return List.of(from);
+        Map<String, String> prev = new HashMap<>();
+        Deque<String> queue = new ArrayDeque<>();
+        prev.put(from, from);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            String u = queue.poll();
+            PersistentHashMap<String, Integer> row = adjacency.get(u);
+            if (row == null) continue;
+            for (String v : row.asMap().keySet()) {
+                if (prev.putIfAbsent(v, u) != null) continue;
+                if (v.equals(to)) {
+                    List<String> path = new ArrayList<>();
+                    for (String at = to; !at.equals(from); at = prev.get(at)) path.add(at);
+                    path.add(from);
+                    Collections.reverse(path);
+                    return path;
+                }
+                queue.add(v);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Keeps the latest snapshot of a graph current as an {@link InteractionListener}, without locks:
+     * each update builds the next version from the current one and publishes it with a compare-and-set.
+     * A writer that loses the race rebuilds on top of the winner's version, so under contention the
+     * path copying of an update may be done more than once. {@link #current()} never blocks.
+     */
+    static final class Publisher implements InteractionListener {
+        private final AtomicReference<GraphSnapshot> current;
+
+        Publisher(ConnectionGraph graph) {
+            Builder builder = new Builder(PersistentHashMap.empty());
+            graph.forEachEdge(builder::add);
+            current = new AtomicReference<>(
+                    new GraphSnapshot(0, builder.adjacency, builder.newEdges, graph.interactionCount()));
+        }
+
+        GraphSnapshot current() {
+            return current.get();
+        }
+
+        @Override
+        public void onInteraction(Interaction in) {
+            onInteractions(List.of(in));
+        }
+
+        @Override
+        public void onInteractions(List<Interaction> batch) {
+            while (true) {
+                GraphSnapshot last = current.get();
+                Builder builder = new Builder(last.adjacency);
+                for (Interaction in : batch) builder.add(in.employeeA(), in.employeeB(), 1);
+                GraphSnapshot next = new GraphSnapshot(last.version + 1, builder.adjacency,
+                        last.edgeCount + builder.newEdges, last.interactionCount + batch.size());
+                if (current.compareAndSet(last, next)) return;
+            }
+        }
+    }
+
+    /** Applies weight deltas to a persistent adjacency, path-copying only the touched rows. */
+    private static final class Builder {
+        PersistentHashMap<String, PersistentHashMap<String, Integer>> adjacency;
+        long newEdges;
+
+        Builder(PersistentHashMap<String, PersistentHashMap<String, Integer>> adjacency) {
+            this.adjacency = adjacency;
+        }
+
+        void add(String a, String b, int delta) {
+            if (a.equals(b)) return;
+            PersistentHashMap<String, Integer> rowA = adjacency.getOrDefault(a, NO_NEIGHBORS);
+            Integer w = rowA.get(b);
+            if (w == null) newEdges++;
+            int weight = (w == null ? 0 : w) + delta;
+            PersistentHashMap<String, Integer> rowB = adjacency.getOrDefault(b, NO_NEIGHBORS);
+            adjacency = adjacency.put(a, rowA.put(b, weight)).put(b, rowB.put(a, weight));
+        }
+    }
+}
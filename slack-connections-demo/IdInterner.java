@@ -0,0 +1,83 @@
+import java.util.Arrays;
+
+/**
+ * Maps string identifiers (employee IDs) to dense int indexes 0..size-1 and back.
+ *
+ * Open-addressed table of index slots, so lookups never box and the reverse
+ * mapping is a plain array. Indexes are assigned in insertion order and never reused.
+ */
+final class IdInterner {
+    private static final int EMPTY = -1;
+
+    private String[] idsByIndex = new String[16];
+    private int[] slots = newSlots(32);
+    private int size;
+
+    /** Returns the index for {@code id}, assigning the next free index on first sight. */
+    int intern(String id) {
+        int slot = findSlot(id);
+        int idx = slots[slot];
+        if (idx != EMPTY) return idx;
+
+        idx = size++;
+        if (idx == idsByIndex.length) {
+            idsByIndex = Arrays.copyOf(idsByIndex, idx * 2);
+        }
+        idsByIndex[idx] = id;
+        slots[slot] = idx;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return idx;
+    }
+
+    /** Returns the index for {@code id}, or -1 if it was never interned. */
+    int indexOf(String id) {
+        return slots[findSlot(id)];
+    }
+
+    String idAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No id for index " + index);
+        }
+        return idsByIndex[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Internal helpers
+
+    private int findSlot(String id) {
+        int mask = slots.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+        while (true) {
+            int idx = slots[slot];
+            if (idx == EMPTY || idsByIndex[idx].equals(id)) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] fresh = newSlots(capacity);
+        int mask = capacity - 1;
+        for (int idx = 0; idx < size; idx++) {
+            int slot = mix(idsByIndex[idx].hashCode()) & mask;
+            while (fresh[slot] != EMPTY) slot = (slot + 1) & mask;
+            fresh[slot] = idx;
+        }
+        slots = fresh;
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] s = new int[capacity];
+        Arrays.fill(s, EMPTY);
+        return s;
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,185 @@
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Interaction log stored as parallel primitive columns instead of {@link Interaction} objects.
+ *
+ * Per interaction: {@code long} timestamp (epoch nanoseconds), two {@code int} employee indexes
+ * (from the graph's {@link IdInterner}), a {@code byte} type and an {@code int} issue-key id into
+ * a string dictionary - 21 bytes, against roughly 100 for a record with its {@code Instant}.
+ * Columns grow in fixed-size chunks, so appends never copy existing rows.
+ *
+ * It is still a {@code List<Interaction>}: {@link #get(int)} builds the record on demand. The
+ * row accessors and {@link #forEachRow} read the columns without allocating.
+ *
+ * Timestamps must lie between 1677 and 2262 (the range of a long in nanoseconds); writers check
+ * with {@link #checkTimestamp} before logging anything. Single writer; use
+ * {@link ConcurrentAppendLog} for concurrent ingestion.
+ */
+final class InteractionColumns extends AbstractList<Interaction> implements RandomAccess {
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final InteractionType[] TYPES = InteractionType.values();
+
+    @FunctionalInterface
+    interface RowVisitor {
+        void visit(int row, int employeeA, int employeeB, InteractionType type, long epochNanos, int issueKeyId);
+    }
+
+    private final IdInterner employees;
+    private final IdInterner issueKeys = new IdInterner();
+
+    private long[][] timestamps = new long[8][];
+    private int[][] employeeA = new int[8][];
+    private int[][] employeeB = new int[8][];
+    private byte[][] types = new byte[8][];
+    private int[][] issues = new int[8][];
+    private int size;
+
+    /** {@code employees} resolves employee IDs; every ID appended must already be interned there. */
+    InteractionColumns(IdInterner employees) {
+        this.employees = employees;
+    }
+
+    @Override
+    public boolean add(Interaction in) {
+        Objects.requireNonNull(in, "interaction");
+        int a = employees.indexOf(in.employeeA()), b = employees.indexOf(in.employeeB());
+        if (a < 0 || b < 0) {
+            throw new IllegalArgumentException("Unknown employee(s) for interaction: " + in.employeeA() + ", " + in.employeeB());
+        }
+        long nanos = checkTimestamp(in.timestamp());
+
+        int chunk = size >>> CHUNK_BITS, slot = size & CHUNK_MASK;
+        if (slot == 0) addChunk(chunk);
+        timestamps[chunk][slot] = nanos;
+        employeeA[chunk][slot] = a;
+        employeeB[chunk][slot] = b;
+        types[chunk][slot] = (byte) in.type().ordinal();
+        issues[chunk][slot] = issueKeys.intern(in.issueKey());
+        size++;
+        return true;
+    }
+
+    /** Appends every interaction, or none if any timestamp is out of range. */
+    @Override
+    public boolean addAll(Collection<? extends Interaction> c) {
+        for (Interaction in : c) checkTimestamp(Objects.requireNonNull(in, "interaction").timestamp());
+        return super.addAll(c);
+    }
+
+    @Override
+    public Interaction get(int row) {
+        Objects.checkIndex(row, size);
+        return new Interaction(issueKey(issueKeyId(row)), employees.idAt(employeeA(row)), employees.idAt(employeeB(row)),
+                type(row), timestamp(row));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Column access (no allocation)
+
+    int employeeA(int row) {
+        return employeeA[row >>> CHUNK_BITS][row & CHUNK_MASK];
+    }
+
+    int employeeB(int row) {
+        return employeeB[row >>> CHUNK_BITS][row & CHUNK_MASK];
+    }
+
+    InteractionType type(int row) {
+        return TYPES[types[row >>> CHUNK_BITS][row & CHUNK_MASK]];
+    }
+
+    long epochNanos(int row) {
+        return timestamps[row >>> CHUNK_BITS][row & CHUNK_MASK];
+    }
+
+    int issueKeyId(int row) {
+        return issues[row >>> CHUNK_BITS][row & CHUNK_MASK];
+    }
+
+    Instant timestamp(int row) {
+        long nanos = epochNanos(row);
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+
+    /** Issue key for a dictionary id from {@link #issueKeyId(int)}. */
+    String issueKey(int issueKeyId) {
+        return issueKeys.idAt(issueKeyId);
+    }
+
+    /** Employee ID for an index from {@link #employeeA(int)} / {@link #employeeB(int)}. */
+    String employeeId(int employeeIndex) {
+        return employees.idAt(employeeIndex);
+    }
+
+    /** Visits every row in recording order, chunk by chunk. */
+    void forEachRow(RowVisitor visitor) {
+        for (int chunk = 0, row = 0; row < size; chunk++) {
+            long[] t = timestamps[chunk];
+            int[] a = employeeA[chunk], b = employeeB[chunk], k = issues[chunk];
+            byte[] ty = types[chunk];
+            for (int slot = 0; slot < CHUNK_SIZE && row < size; slot++, row++) {
+                visitor.visit(row, a[slot], b[slot], TYPES[ty[slot]], t[slot], k[slot]);
+            }
+        }
+    }
+
+    /** Visits the rows with {@code from <= timestamp < to}, in recording order. */
+    void forEachBetween(Instant from, Instant to, RowVisitor visitor) {
+        long lo = clampToNanos(from), hi = clampToNanos(to);
+        forEachRow((row, a, b, type, nanos, issue) -> {
+            if (nanos >= lo && nanos < hi) visitor.visit(row, a, b, type, nanos, issue);
+        });
+    }
+
+    /** Approximate heap held by the columns and the issue-key dictionary (strings excluded). */
+    long estimatedBytes() {
+        int chunks = (size + CHUNK_SIZE - 1) >>> CHUNK_BITS;
+        return (long) chunks * CHUNK_SIZE * (8 + 4 + 4 + 1 + 4) + (long) issueKeys.size() * 12;
+    }
+
+    /** Epoch nanoseconds of {@code t}; throws {@link DateTimeException} outside 1677-2262. */
+    static long checkTimestamp(Instant t) {
+        try {
+            return Math.addExact(Math.multiplyExact(t.getEpochSecond(), 1_000_000_000L), t.getNano());
+        } catch (ArithmeticException e) {
+            throw new DateTimeException("Timestamp outside the columnar range (1677-2262): " + t);
+        }
+    }
+
+    // Internal helpers
+
+    private void addChunk(int chunk) {
+        if (chunk == timestamps.length) {
+            int n = chunk * 2;
+            timestamps = Arrays.copyOf(timestamps, n);
+            employeeA = Arrays.copyOf(employeeA, n);
+            employeeB = Arrays.copyOf(employeeB, n);
+            types = Arrays.copyOf(types, n);
+            issues = Arrays.copyOf(issues, n);
+        }
+        timestamps[chunk] = new long[CHUNK_SIZE];
+        employeeA[chunk] = new int[CHUNK_SIZE];
+        employeeB[chunk] = new int[CHUNK_SIZE];
+        types[chunk] = new byte[CHUNK_SIZE];
+        issues[chunk] = new int[CHUNK_SIZE];
+    }
+
+    /** Epoch nanoseconds of {@code t}, saturated to the long range (for query bounds). */
+    static long clampToNanos(Instant t) {
+        if (t.getEpochSecond() >= Long.MAX_VALUE / 1_000_000_000L) return Long.MAX_VALUE;
+        if (t.getEpochSecond() <= Long.MIN_VALUE / 1_000_000_000L) return Long.MIN_VALUE;
+        return t.getEpochSecond() * 1_000_000_000L + t.getNano();
+    }
+}
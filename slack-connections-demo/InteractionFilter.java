@@ -0,0 +1,83 @@
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Declarative interaction filter; unlike an opaque {@code Predicate<Interaction>} it has value
+ * equality, so it can key a cache of materialized views ({@link FilteredViewCache}).
+ *
+ * Every criterion is optional and they are ANDed:
+ * - time range {@code from <= timestamp < to} (null bound = unbounded)
+ * - interaction types (empty = any)
+ * - departments: at least one participant works in one of them (empty = any)
+ * - employees: at least one participant is one of them (empty = any)
+ *
+ * Example: JIRA+BUG touching Platform in November
+ * <pre>
+ *   InteractionFilter.all()
+ *       .between(Instant.parse("2025-11-01T00:00:00Z"), Instant.parse("2025-12-01T00:00:00Z"))
+ *       .withTypes(InteractionType.JIRA, InteractionType.BUG)
+ *       .withDepartments("Platform");
+ * </pre>
+ * Time bounds are part of the key, so rolling windows should be truncated (e.g. to the day) to be reused.
+ */
+record InteractionFilter(Instant from, Instant to, Set<InteractionType> types,
+                         Set<String> departments, Set<String> employees) {
+
+    private static final InteractionFilter ALL = new InteractionFilter(null, null, Set.of(), Set.of(), Set.of());
+
+    InteractionFilter {
+        types = types == null ? Set.of() : Set.copyOf(types);
+        departments = departments == null ? Set.of() : Set.copyOf(departments);
+        employees = employees == null ? Set.of() : Set.copyOf(employees);
+    }
+
+    static InteractionFilter all() {
+        return ALL;
+    }
+
+    InteractionFilter between(Instant from, Instant to) {
+        return new InteractionFilter(from, to, types, departments, employees);
+    }
+
+    InteractionFilter withTypes(InteractionType... types) {
+        return new InteractionFilter(from, to, Set.copyOf(Arrays.asList(types)), departments, employees);
+    }
+
+    InteractionFilter withDepartments(String... departments) {
+        return new InteractionFilter(from, to, types, Set.copyOf(Arrays.asList(departments)), employees);
+    }
+
+    InteractionFilter withEmployees(String... employees) {
+        return new InteractionFilter(from, to, types, departments, Set.copyOf(Arrays.asList(employees)));
+    }
+
+    /** Whether only the time range is constrained (such views come straight from the time-bucket index). */
+    boolean isTimeRangeOnly() {
+        return types.isEmpty() && departments.isEmpty() && employees.isEmpty();
+    }
+
+    /** Tests {@code in}; {@code employeesById} resolves departments. */
+    boolean test(Interaction in, Map<String, Employee> employeesById) {
+        Instant t = in.timestamp();
+        if (from != null && t.isBefore(from)) return false;
+        if (to != null && !t.isBefore(to)) return false;
+        if (!types.isEmpty() && !types.contains(in.type())) return false;
+        if (!employees.isEmpty() && !employees.contains(in.employeeA()) && !employees.contains(in.employeeB())) {
+            return false;
+        }
+        if (!departments.isEmpty()) {
+            Employee a = employeesById.get(in.employeeA()), b = employeesById.get(in.employeeB());
+            return a != null && departments.contains(a.department()) || b != null && departments.contains(b.department());
+        }
+        return true;
+    }
+
+    /** This filter as a predicate over {@code graph}'s interactions, e.g. for {@code buildAdjacencyFiltered}. */
+    Predicate<Interaction> asPredicate(ConnectionGraph graph) {
+        Map<String, Employee> employeesById = graph.getEmployees();
+        return in -> test(in, employeesById);
+    }
+}
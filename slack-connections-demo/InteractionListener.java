@@ -0,0 +1,31 @@
+import java.util.List;
+
+/**
+ * Observer of interactions as a {@link ConnectionGraph} records them.
+ *
+ * Called after an interaction has been validated and applied; self-interactions, which the graph
+ * ignores, are not reported. Listeners of a concurrent graph may be called from many threads.
+ * The graph attaches its own indexes while recording is paused, so a callback must not cause one to
+ * be built (e.g. by the first {@code getIssuesBetween}): it would wait for itself.
+ *
+ * The graph calls the overloads that also pass the row the interaction was stored at in its
+ * interaction log ({@code getInteractions()}); by default they drop it.
+ */
+interface InteractionListener {
+
+    void onInteraction(Interaction in);
+
+    /** A batch recorded in one step via {@code recordInteractions}, in recording order. */
+    default void onInteractions(List<Interaction> batch) {
+        for (Interaction in : batch) onInteraction(in);
+    }
+
+    default void onInteraction(Interaction in, int row) {
+        onInteraction(in);
+    }
+
+    /** A batch stored at rows {@code firstRow}, {@code firstRow + 1}, ... */
+    default void onInteractions(List<Interaction> batch, int firstRow) {
+        onInteractions(batch);
+    }
+}
@@ -0,0 +1,195 @@
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Issue-key index: who worked on an issue and when, and which issues connect two employees.
+ *
+ * Postings live in flat primitive arrays, with no object per issue, edge or posting:
+ * - per interaction, an issue posting (employee A, employee B, timestamp) chained per issue in
+ *   recording order;
+ * - per distinct (edge, issue) pair, an edge posting (issue id) chained per edge, newest first.
+ * Issue keys are interned to ints and employees are the graph's own indexes; edges, and the
+ * (edge, issue) pairs already linked, are found through {@link LongIntHashMap}s. Looking up an
+ * issue or edge, or linking one, is O(1); listing its postings is O(postings).
+ */
+final class IssueIndex implements InteractionListener {
+
+    /** One interaction on an issue. */
+    record Posting(String employeeA, String employeeB, Instant timestamp) {}
+
+    /** Sizes and approximate heap use of the index. */
+    record Footprint(int issues, int edges, int issuePostings, int edgePostings, long estimatedBytes) {}
+
+    private static final int NONE = -1;
+
+    private final IdInterner issueIds = new IdInterner();
+    private final IdInterner employeeIds; // the graph's; locked while read, as the graph adds employees
+
+    // Per issue: first/last issue posting and posting count
+    private int[] issueHead = new int[64];
+    private int[] issueTail = new int[64];
+    private int[] issueCount = new int[64];
+
+    // Issue postings (struct of arrays), chained through postingNext
+    private int[] postingA = new int[256];
+    private int[] postingB = new int[256];
+    private long[] postingSeconds = new long[256];
+    private int[] postingNanos = new int[256];
+    private int[] postingNext = new int[256];
+    private int postings;
+
+    // Edge ids by edge key; per edge id, the newest edge posting. Edge postings hold an issue id,
+    // chained through edgeNext; linked holds the (edge id, issue id) pairs that have one
+    private final LongIntHashMap edgeIds = new LongIntHashMap();
+    private int[] edgeHead = new int[64];
+    private final LongIntHashMap linked = new LongIntHashMap();
+    private int[] edgeIssue = new int[256];
+    private int[] edgeNext = new int[256];
+    private int edgePostings;
+
+    IssueIndex(IdInterner employeeIds) {
+        this.employeeIds = employeeIds;
+    }
+
+    @Override
+    public synchronized void onInteraction(Interaction in) {
+        int issue = issueIds.intern(in.issueKey());
+        int a, b;
+        synchronized (employeeIds) {
+            a = employeeIds.indexOf(in.employeeA());
+            b = employeeIds.indexOf(in.employeeB());
+        }
+        if (issue == issueHead.length) growIssues();
+        if (issueCount[issue] == 0) {
+            issueHead[issue] = NONE;
+            issueTail[issue] = NONE;
+        }
+
+        if (postings == postingA.length) growPostings();
+        int p = postings++;
+        postingA[p] = a;
+        postingB[p] = b;
+        postingSeconds[p] = in.timestamp().getEpochSecond();
+        postingNanos[p] = in.timestamp().getNano();
+        postingNext[p] = NONE;
+        if (issueTail[issue] == NONE) {
+            issueHead[issue] = p;
+        } else {
+            postingNext[issueTail[issue]] = p;
+        }
+        issueTail[issue] = p;
+        issueCount[issue]++;
+
+        long key = edgeKey(a, b);
+        int edge = edgeIds.get(key, NONE);
+        if (edge == NONE) {
+            edge = edgeIds.size();
+            edgeIds.put(key, edge);
+            if (edge == edgeHead.length) edgeHead = Arrays.copyOf(edgeHead, edge * 2);
+            edgeHead[edge] = NONE;
+        }
+        long pair = LongIntHashMap.edgeKey(edge, issue);
+        if (linked.containsKey(pair)) return; // edge already linked to this issue
+        linked.put(pair, 1);
+        if (edgePostings == edgeIssue.length) {
+            edgeIssue = Arrays.copyOf(edgeIssue, edgePostings * 2);
+            edgeNext = Arrays.copyOf(edgeNext, edgePostings * 2);
+        }
+        int e = edgePostings++;
+        edgeIssue[e] = issue;
+        edgeNext[e] = edgeHead[edge];
+        edgeHead[edge] = e;
+    }
+
+    @Override
+    public synchronized void onInteractions(List<Interaction> batch) {
+        for (Interaction in : batch) onInteraction(in);
+    }
+
+    /** Distinct employees who interacted on {@code issueKey}, in order of first appearance. */
+    synchronized List<String> participants(String issueKey) {
+        int issue = issueIds.indexOf(issueKey);
+        if (issue < 0) return List.of();
+        Set<String> out = new LinkedHashSet<>();
+        synchronized (employeeIds) {
+            for (int p = issueHead[issue]; p != NONE; p = postingNext[p]) {
+                out.add(employeeIds.idAt(postingA[p]));
+                out.add(employeeIds.idAt(postingB[p]));
+            }
+        }
+        return List.copyOf(out);
+    }
+
+    /** Every interaction on {@code issueKey}, in recording order. */
+    synchronized List<Posting> postings(String issueKey) {
+        int issue = issueIds.indexOf(issueKey);
+        if (issue < 0) return List.of();
+        List<Posting> out = new ArrayList<>(issueCount[issue]);
+        synchronized (employeeIds) {
+            for (int p = issueHead[issue]; p != NONE; p = postingNext[p]) {
+                out.add(new Posting(employeeIds.idAt(postingA[p]), employeeIds.idAt(postingB[p]),
+                        Instant.ofEpochSecond(postingSeconds[p], postingNanos[p])));
+            }
+        }
+        return out;
+    }
+
+    /** Number of interactions recorded on {@code issueKey}; O(1). */
+    synchronized int interactionCount(String issueKey) {
+        int issue = issueIds.indexOf(issueKey);
+        return issue < 0 ? 0 : issueCount[issue];
+    }
+
+    /** Distinct issues on which {@code employeeA} and {@code employeeB} interacted, most recently linked first. */
+    synchronized List<String> issuesBetween(String employeeA, String employeeB) {
+        int a, b;
+        synchronized (employeeIds) {
+            a = employeeIds.indexOf(employeeA);
+            b = employeeIds.indexOf(employeeB);
+        }
+        if (a < 0 || b < 0) return List.of();
+        int edge = edgeIds.get(edgeKey(a, b), NONE);
+        if (edge == NONE) return List.of();
+        List<String> out = new ArrayList<>();
+        for (int e = edgeHead[edge]; e != NONE; e = edgeNext[e]) {
+            out.add(issueIds.idAt(edgeIssue[e]));
+        }
+        return out;
+    }
+
+    synchronized Footprint footprint() {
+        long bytes = (long) issueHead.length * 12                          // head, tail, count
+                + (long) postingA.length * (4 + 4 + 8 + 4 + 4)             // issue postings
+                + (long) edgeIssue.length * 8                              // edge postings
+                + edgeIds.estimatedBytes() + (long) edgeHead.length * 4    // edge table and heads
+                + linked.estimatedBytes()                                  // linked (edge, issue) pairs
+                + (long) issueIds.size() * 3 * 4;                          // interner slots and reverse array
+        return new Footprint(issueIds.size(), edgeIds.size(), postings, edgePostings, bytes);
+    }
+
+    // Internal helpers
+
+    private static long edgeKey(int a, int b) {
+        return LongIntHashMap.edgeKey(Math.min(a, b), Math.max(a, b));
+    }
+
+    private void growIssues() {
+        int n = issueHead.length * 2;
+        issueHead = Arrays.copyOf(issueHead, n);
+        issueTail = Arrays.copyOf(issueTail, n);
+        issueCount = Arrays.copyOf(issueCount, n);
+    }
+
+    private void growPostings() {
+        int n = postingA.length * 2;
+        postingA = Arrays.copyOf(postingA, n);
+        postingB = Arrays.copyOf(postingB, n);
+        postingSeconds = Arrays.copyOf(postingSeconds, n);
+        postingNanos = Arrays.copyOf(postingNanos, n);
+        postingNext = Arrays.copyOf(postingNext, n);
+    }
+}
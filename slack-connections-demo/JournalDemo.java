@@ -0,0 +1,146 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Incremental persistence walkthrough for {@link GraphJournal}:
+ *
+ * 1) Loads sample-data.json into a journal, records a few more interactions and "crashes"
+ *    (no close, plus half a record appended to the log), then recovers and compares.
+ * 2) Compacts the log into a snapshot in the background while recording continues, and recovers again.
+ * 3) Measures logged recording throughput for each sync policy with several writer threads,
+ *    showing how group commit shares each write/force between concurrent writers.
+ *
+ * Exits with status 1 if a recovered graph differs from the one that was logged.
+ *
+ * How to compile/run (from repo root):
+ *   javac slack-connections-demo/*.java
+ *   java -cp slack-connections-demo JournalDemo [threads=8] [interactionsPerThread=20000]
+ */
+public class JournalDemo {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        ConnectionGraph sample = ConnectionGraph.loadJson(Path.of("slack-connections-demo/sample-data.json"));
+
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            boolean ok = recoverAfterCrash(dir, sample) & compactWhileRecording(dir);
+            System.out.println();
+            System.out.println("Logged recording throughput (" + threads + " writers):");
+            for (WriteAheadLog.SyncPolicy policy : WriteAheadLog.SyncPolicy.values()) {
+                throughput(policy, threads, policy == WriteAheadLog.SyncPolicy.ALWAYS ? perThread / 10 : perThread);
+            }
+            if (!ok) System.exit(1);
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    private static boolean recoverAfterCrash(Path dir, ConnectionGraph sample) throws IOException {
+        GraphJournal journal = ConnectionGraph.openJournal(dir);
+        ConnectionGraph g = journal.graph();
+        sample.getEmployees().values().forEach(g::addEmployee);
+        sample.getSlackUsers().values().forEach(g::addSlackUser);
+        g.recordInteractions(sample.getInteractions());
+        g.recordInteractionBySlack("JIRA-900", "U1", "U4", InteractionType.JIRA, Instant.parse("2025-11-20T09:00:00Z"));
+        g.recordInteractionByEmployee("BUG-901", "E-1002", "E-1003", InteractionType.BUG, Instant.parse("2025-11-20T10:00:00Z"));
+        journal.sync();
+        String expected = g.toJson();
+
+        // Simulated crash: the journal is abandoned without close() and the log ends mid-record
+        Path tail = WriteAheadLog.segmentPath(dir, 0);
+        try (FileChannel ch = FileChannel.open(tail, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ch.write(ByteBuffer.wrap(new byte[] {40, 0, 0, 0, 1, 2, 3}));
+        }
+
+        try (GraphJournal recovered = ConnectionGraph.openJournal(dir)) {
+            boolean same = recovered.graph().toJson().equals(expected);
+            System.out.println("Recovery after crash (torn last record): " + (same ? "OK" : "MISMATCH")
+                    + " - " + recovered.graph().interactionCount() + " interactions");
+            return same;
+        }
+    }
+
+    private static boolean compactWhileRecording(Path dir) throws Exception {
+        String expected;
+        Path snapshot;
+        try (GraphJournal journal = ConnectionGraph.openJournal(dir)) {
+            ConnectionGraph g = journal.graph();
+            var compaction = journal.compact();
+            for (int i = 0; i < 1_000; i++) {
+                g.recordInteractionByEmployee("JIRA-" + (2000 + i), "E-100" + (1 + i % 4), "E-100" + (1 + (i + 1) % 4),
+                        InteractionType.DISCUSSION, Instant.parse("2025-11-21T00:00:00Z").plusSeconds(i));
+            }
+            snapshot = compaction.get();
+            expected = g.toJson();
+        }
+        try (GraphJournal recovered = ConnectionGraph.openJournal(dir)) {
+            boolean same = recovered.graph().toJson().equals(expected);
+            List<String> files;
+            try (Stream<Path> list = Files.list(dir)) {
+                files = list.map(p -> p.getFileName().toString()).sorted().toList();
+            }
+            System.out.println("Compaction to " + snapshot.getFileName() + " while recording: "
+                    + (same ? "OK" : "MISMATCH") + " - files now " + files);
+            return same;
+        }
+    }
+
+    private static void throughput(WriteAheadLog.SyncPolicy policy, int threads, int perThread) throws Exception {
+        Path dir = Files.createTempDirectory("journal-" + policy.name().toLowerCase());
+        try (GraphJournal journal = ConnectionGraph.openJournal(dir,
+                new WriteAheadLog.Options(policy, 1 << 20, 20), ConnectionGraph::concurrent)) {
+            ConnectionGraph g = journal.graph();
+            int employees = 200;
+            for (int i = 0; i < employees; i++) {
+                g.addEmployee(new Employee("E-" + i, "Emp" + i, "emp" + i + "@acme.com", "Dept" + (i % 10)));
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            Instant base = Instant.parse("2025-11-01T00:00:00Z");
+            long start = System.nanoTime();
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                done.add(pool.submit(() -> {
+                    Random rnd = new Random(seed);
+                    for (int i = 0; i < perThread; i++) {
+                        int a = rnd.nextInt(employees), b = (a + 1 + rnd.nextInt(employees - 1)) % employees;
+                        g.recordInteractionByEmployee("JIRA-" + i, "E-" + a, "E-" + b, InteractionType.JIRA,
+                                base.plusSeconds(i));
+                    }
+                }));
+            }
+            for (Future<?> f : done) f.get();
+            journal.sync();
+            long nanos = System.nanoTime() - start;
+            pool.shutdown();
+
+            long total = (long) threads * perThread;
+            System.out.printf("  %-8s %9d interactions in %7.1f ms  (%,.0f/s)%n",
+                    policy, total, nanos / 1e6, total * 1e9 / nanos);
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass loader for the {@code toJson()} document shape:
+ * { "employees": [...], "slackUsers": [...], "interactions": [...] }.
+ *
+ * Objects are decoded field by field into locals and handed to the graph immediately; there is
+ * no document string, no substrings and no per-object maps. Interactions are recorded in bounded
+ * batches through {@link ConnectionGraph#recordInteractions}. Repeated strings (IDs, departments,
+ * issue keys) are deduplicated through a small string pool.
+ *
+ * Sections may appear in any order. Slack users and interactions that arrive before the
+ * employees section are held back until the employees are known.
+ */
+final class JsonGraphReader {
+    static final int BATCH_SIZE = 1 << 16;
+
+    private static final String[] SECTIONS = {"employees", "slackUsers", "interactions"};
+    private static final String[] EMPLOYEE_FIELDS = {"id", "name", "email", "department"};
+    private static final String[] SLACK_USER_FIELDS = {"slackId", "handle", "employeeId"};
+    private static final String[] INTERACTION_FIELDS = {"issueKey", "employeeA", "employeeB", "type", "timestamp"};
+    private static final InteractionType[] TYPES = InteractionType.values();
+    private static final String[] TYPE_NAMES = new String[TYPES.length];
+    static {
+        for (int i = 0; i < TYPES.length; i++) TYPE_NAMES[i] = TYPES[i].name();
+    }
+
+    private final JsonScanner in;
+    private final ConnectionGraph graph;
+    private final JsonScanner.StringPool pool = new JsonScanner.StringPool(1 << 14);
+
+    private boolean employeesSeen;
+    private final List<SlackUser> pendingSlackUsers = new ArrayList<>();
+    private List<Interaction> batch = new ArrayList<>();
+
+    private JsonGraphReader(Reader reader, ConnectionGraph graph) {
+        this.in = new JsonScanner(reader);
+        this.graph = graph;
+    }
+
+    /** Streams the document from {@code reader} into {@code graph}. Does not close the reader. */
+    static void read(Reader reader, ConnectionGraph graph) throws IOException {
+        new JsonGraphReader(reader, graph).readDocument();
+    }
+
+    private void readDocument() throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            int section = in.nextName(SECTIONS);
+            if (section < 0 || in.peek() != JsonScanner.Kind.BEGIN_ARRAY) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() != JsonScanner.Kind.BEGIN_OBJECT) {
+                    in.skipValue();
+                    continue;
+                }
+                switch (section) {
+                    case 0 -> readEmployee();
+                    case 1 -> readSlackUser();
+                    default -> readInteraction();
+                }
+            }
+            in.endArray();
+            if (section == 0) {
+                employeesSeen = true;
+                pendingSlackUsers.forEach(graph::addSlackUser);
+                pendingSlackUsers.clear();
+            }
+        }
+        in.endObject();
+
+        // Anything still held back was waiting for an employees section that never came
+        pendingSlackUsers.forEach(graph::addSlackUser);
+        flushInteractions();
+    }
+
+    private void readEmployee() throws IOException {
+        String id = null, name = "", email = "", department = "";
+        in.beginObject();
+        while (in.hasNext()) {
+            int field = in.nextName(EMPLOYEE_FIELDS);
+            if (field < 0 || in.peek() != JsonScanner.Kind.STRING) {
+                in.skipValue();
+                continue;
+            }
+            switch (field) {
+                case 0 -> id = in.nextString(pool);
+                case 1 -> name = in.nextString(pool);
+                case 2 -> email = in.nextString();
+                default -> department = in.nextString(pool);
+            }
+        }
+        in.endObject();
+        if (id != null && !id.isEmpty()) {
+            graph.addEmployee(new Employee(id, name, email, department));
+        }
+    }
+
+    private void readSlackUser() throws IOException {
+        String slackId = null, handle = "", employeeId = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            int field = in.nextName(SLACK_USER_FIELDS);
+            if (field < 0 || in.peek() != JsonScanner.Kind.STRING) {
+                in.skipValue();
+                continue;
+            }
+            switch (field) {
+                case 0 -> slackId = in.nextString();
+                case 1 -> handle = in.nextString();
+                default -> employeeId = in.nextString(pool);
+            }
+        }
+        in.endObject();
+        if (slackId == null || employeeId == null) return;
+
+        SlackUser s = new SlackUser(slackId, handle, employeeId);
+        if (employeesSeen) {
+            graph.addSlackUser(s);
+        } else {
+            pendingSlackUsers.add(s);
+        }
+    }
+
+    private void readInteraction() throws IOException {
+        String issueKey = null, a = null, b = null;
+        InteractionType type = null;
+        Instant timestamp = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            int field = in.nextName(INTERACTION_FIELDS);
+            if (field < 0 || in.peek() != JsonScanner.Kind.STRING) {
+                in.skipValue();
+                continue;
+            }
+            switch (field) {
+                case 0 -> issueKey = in.nextString(pool);
+                case 1 -> a = in.nextString(pool);
+                case 2 -> b = in.nextString(pool);
+                case 3 -> {
+                    int t = in.nextStringIndex(TYPE_NAMES);
+                    if (t < 0) throw new IllegalArgumentException("Unknown interaction type in JSON");
+                    type = TYPES[t];
+                }
+                default -> timestamp = in.nextInstant();
+            }
+        }
+        in.endObject();
+        if (issueKey == null || a == null || b == null || type == null || timestamp == null) return;
+
+        batch.add(new Interaction(issueKey, a, b, type, timestamp));
+        if (employeesSeen && batch.size() >= BATCH_SIZE) {
+            flushInteractions();
+        }
+    }
+
+    private void flushInteractions() {
+        if (batch.isEmpty()) return;
+        graph.recordInteractions(batch);
+        batch = new ArrayList<>();
+    }
+}
@@ -0,0 +1,187 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Streams a graph in the {@code toJson()} document shape to a {@link Writer}.
+ *
+ * Output goes through one reusable char buffer that is flushed to the writer whenever it fills,
+ * and strings are escaped straight into that buffer, so memory stays bounded by the buffer size
+ * no matter how large the graph is. Timestamps are formatted like {@link Instant#toString()}
+ * without building intermediate strings.
+ */
+final class JsonGraphWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int len;
+
+    private JsonGraphWriter(Writer out) {
+        this.out = out;
+    }
+
+    /** Writes the document and flushes {@code out}; does not close it. */
+    static void write(Writer out, Collection<Employee> employees, Collection<SlackUser> slackUsers,
+                      List<Interaction> interactions) throws IOException {
+        JsonGraphWriter w = new JsonGraphWriter(out);
+        w.writeDocument(employees, slackUsers, interactions);
+        w.flush();
+        out.flush();
+    }
+
+    private void writeDocument(Collection<Employee> employees, Collection<SlackUser> slackUsers,
+                               List<Interaction> interactions) throws IOException {
+        raw("{\n");
+
+        // employees (sorted by ID; only the references are copied)
+        raw("  \"employees\": [\n");
+        Employee[] elist = employees.toArray(new Employee[0]);
+        Arrays.sort(elist, Comparator.comparing(Employee::id));
+        for (int i = 0; i < elist.length; i++) {
+            Employee e = elist[i];
+            raw("    {\"id\":\"");
+            escaped(e.id());
+            raw("\",\"name\":\"");
+            escaped(e.name());
+            raw("\",\"email\":\"");
+            escaped(e.email());
+            raw("\",\"department\":\"");
+            escaped(e.department());
+            raw("\"}");
+            raw(i < elist.length - 1 ? ",\n" : "\n");
+        }
+        raw("  ],\n");
+
+        // slack users (sorted by Slack ID)
+        raw("  \"slackUsers\": [\n");
+        SlackUser[] sulist = slackUsers.toArray(new SlackUser[0]);
+        Arrays.sort(sulist, Comparator.comparing(SlackUser::slackId));
+        for (int i = 0; i < sulist.length; i++) {
+            SlackUser s = sulist[i];
+            raw("    {\"slackId\":\"");
+            escaped(s.slackId());
+            raw("\",\"handle\":\"");
+            escaped(s.handle());
+            raw("\",\"employeeId\":\"");
+            escaped(s.employeeId());
+            raw("\"}");
+            raw(i < sulist.length - 1 ? ",\n" : "\n");
+        }
+        raw("  ],\n");
+
+        // interactions (in recording order; size is fixed up front so concurrent appends are not torn)
+        raw("  \"interactions\": [\n");
+        int n = interactions.size();
+        for (int i = 0; i < n; i++) {
+            Interaction in = interactions.get(i);
+            raw("    {\"issueKey\":\"");
+            escaped(in.issueKey());
+            raw("\",\"employeeA\":\"");
+            escaped(in.employeeA());
+            raw("\",\"employeeB\":\"");
+            escaped(in.employeeB());
+            raw("\",\"type\":\"");
+            raw(in.type().name());
+            raw("\",\"timestamp\":\"");
+            instant(in.timestamp());
+            raw("\"}");
+            raw(i < n - 1 ? ",\n" : "\n");
+        }
+        raw("  ]\n");
+
+        raw("}\n");
+    }
+
+    // Internal helpers
+
+    private void raw(String s) throws IOException {
+        int n = s.length();
+        if (len + n > buf.length) {
+            flush();
+            if (n > buf.length) {
+                out.write(s);
+                return;
+            }
+        }
+        s.getChars(0, n, buf, len);
+        len += n;
+    }
+
+    private void put(char c) throws IOException {
+        if (len == buf.length) flush();
+        buf[len++] = c;
+    }
+
+    private void escaped(String s) throws IOException {
+        if (s == null) return;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\' -> { put('\\'); put('\\'); }
+                case '"' -> { put('\\'); put('"'); }
+                case '\n' -> { put('\\'); put('n'); }
+                case '\r' -> { put('\\'); put('r'); }
+                case '\t' -> { put('\\'); put('t'); }
+                default -> put(c);
+            }
+        }
+    }
+
+    /** Same text as {@link Instant#toString()}; years outside 0000-9999 fall back to it. */
+    private void instant(Instant t) throws IOException {
+        long seconds = t.getEpochSecond();
+        long epochDay = Math.floorDiv(seconds, 86_400);
+        int secondOfDay = Math.floorMod(seconds, 86_400);
+        if (epochDay < -719_528 || epochDay > 2_932_896) { // 0000-01-01 .. 9999-12-31
+            raw(t.toString());
+            return;
+        }
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        digits(date.getYear(), 4);
+        put('-');
+        digits(date.getMonthValue(), 2);
+        put('-');
+        digits(date.getDayOfMonth(), 2);
+        put('T');
+        digits(secondOfDay / 3_600, 2);
+        put(':');
+        digits(secondOfDay / 60 % 60, 2);
+        put(':');
+        digits(secondOfDay % 60, 2);
+
+        int nanos = t.getNano();
+        if (nanos != 0) {
+            put('.');
+            if (nanos % 1_000_000 == 0) {
+                digits(nanos / 1_000_000, 3);
+            } else if (nanos % 1_000 == 0) {
+                digits(nanos / 1_000, 6);
+            } else {
+                digits(nanos, 9);
+            }
+        }
+        put('Z');
+    }
+
+    private void digits(int value, int width) throws IOException {
+        if (len + width > buf.length) flush();
+        for (int i = len + width - 1; i >= len; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        len += width;
+    }
+
+    private void flush() throws IOException {
+        if (len > 0) {
+            out.write(buf, 0, len);
+            len = 0;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Minimal pull-style JSON scanner over a {@link Reader}.
+ *
+ * The input is read through one fixed char buffer and string values are decoded into one
+ * reusable text buffer, so scanning allocates nothing per token. Callers turn text into objects
+ * only where they need them: {@link #nextName(String[])} and {@link #nextStringIndex(String[])}
+ * match against known constants, {@link #nextString(StringPool)} reuses previously seen strings,
+ * and {@link #nextInstant()} parses ISO-8601 timestamps straight from the buffer.
+ *
+ * Separators are handled leniently: {@link #hasNext()} consumes a pending comma.
+ *
+ * Typical use:
+ *   in.beginObject();
+ *   while (in.hasNext()) {
+ *       switch (in.nextName(KEYS)) { case 0 -> id = in.nextString(); default -> in.skipValue(); }
+ *   }
+ *   in.endObject();
+ */
+final class JsonScanner implements Closeable {
+
+    enum Kind { BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, STRING, NUMBER, LITERAL, END_DOCUMENT }
+
+    private static final int BUFFER_SIZE = 1 << 15;
+
+    private final Reader reader;
+    private final char[] buf;
+    private int pos;
+    private int limit;
+    private long consumed; // chars discarded before buf[0], for error offsets
+
+    private char[] text = new char[256];
+    private int textLength;
+
+    JsonScanner(Reader reader) {
+        this(reader, BUFFER_SIZE);
+    }
+
+    /** Scanner with a {@code bufferSize}-char read buffer, e.g. a small one for short single-object inputs. */
+    JsonScanner(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buf = new char[bufferSize];
+    }
+
+    // Structure
+
+    Kind peek() throws IOException {
+        int c = skipWhitespace();
+        return switch (c) {
+            case -1 -> Kind.END_DOCUMENT;
+            case '{' -> Kind.BEGIN_OBJECT;
+            case '}' -> Kind.END_OBJECT;
+            case '[' -> Kind.BEGIN_ARRAY;
+            case ']' -> Kind.END_ARRAY;
+            case '"' -> Kind.STRING;
+            case 't', 'f', 'n' -> Kind.LITERAL;
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) yield Kind.NUMBER;
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+            }
+        };
+    }
+
+    void beginObject() throws IOException {
+        expect('{');
+    }
+
+    void endObject() throws IOException {
+        expect('}');
+    }
+
+    void beginArray() throws IOException {
+        expect('[');
+    }
+
+    void endArray() throws IOException {
+        expect(']');
+    }
+
+    /** True if the current object/array has another member; consumes a separating comma. */
+    boolean hasNext() throws IOException {
+        int c = skipWhitespace();
+        if (c == ',') {
+            pos++;
+            c = skipWhitespace();
+        }
+        return c != '}' && c != ']' && c != -1;
+    }
+
+    /**
+     * Reads a member name and its colon, returning its index in {@code names} or -1 if the name is
+     * not listed (the caller then usually calls {@link #skipValue()}).
+     */
+    int nextName(String[] names) throws IOException {
+        readString();
+        expect(':');
+        return indexOfText(names);
+    }
+
+    // Values
+
+    String nextString() throws IOException {
+        readString();
+        return new String(text, 0, textLength);
+    }
+
+    /** Reads a string value, reusing an equal string from {@code pool} when there is one. */
+    String nextString(StringPool pool) throws IOException {
+        readString();
+        return pool.intern(text, textLength);
+    }
+
+    /** Reads a string value and returns its index in {@code candidates}, or -1. */
+    int nextStringIndex(String[] candidates) throws IOException {
+        readString();
+        return indexOfText(candidates);
+    }
+
+    /**
+     * Reads a string value holding an ISO-8601 instant. The {@code Instant.toString()} form
+     * (yyyy-MM-ddTHH:mm:ss[.fraction]Z) is parsed from the buffer; anything else falls back
+     * to {@link Instant#parse}.
+     */
+    Instant nextInstant() throws IOException {
+        readString();
+        Instant fast = parseIsoInstant(text, textLength);
+        if (fast != null) return fast;
+        try {
+            return Instant.parse(new String(text, 0, textLength));
+        } catch (DateTimeParseException e) {
+            throw syntaxError("Invalid timestamp: " + new String(text, 0, textLength));
+        }
+    }
+
+    /** Raw text of a number or literal (true/false/null). */
+    String nextLiteral() throws IOException {
+        skipWhitespace();
+        textLength = 0;
+        while (true) {
+            int c = peekChar();
+            if (c == -1 || !isLiteralChar((char) c)) break;
+            appendText((char) c);
+            pos++;
+        }
+        if (textLength == 0) throw syntaxError("Expected a number or literal");
+        return new String(text, 0, textLength);
+    }
+
+    /** Skips the next value, including nested objects and arrays. */
+    void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT, BEGIN_ARRAY -> {
+                    pos++;
+                    depth++;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    pos++;
+                    depth--;
+                }
+                case STRING -> {
+                    readString();
+                    if (skipWhitespace() == ':') pos++; // member name inside a skipped object
+                }
+                case NUMBER, LITERAL -> {
+                    while (true) {
+                        int c = peekChar();
+                        if (c == -1 || !isLiteralChar((char) c)) break;
+                        pos++;
+                    }
+                }
+                case END_DOCUMENT -> throw syntaxError("Unexpected end of document");
+            }
+            if (depth > 0 && skipWhitespace() == ',') pos++;
+        } while (depth > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Internal helpers
+
+    private void readString() throws IOException {
+        expect('"');
+        textLength = 0;
+        while (true) {
+            if (pos == limit && !fill()) throw syntaxError("Unterminated string");
+            char c = buf[pos++];
+            if (c == '"') return;
+            if (c != '\\') {
+                appendText(c);
+                continue;
+            }
+            if (pos == limit && !fill()) throw syntaxError("Unterminated escape");
+            char e = buf[pos++];
+            switch (e) {
+                case '"', '\\', '/' -> appendText(e);
+                case 'b' -> appendText('\b');
+                case 'f' -> appendText('\f');
+                case 'n' -> appendText('\n');
+                case 'r' -> appendText('\r');
+                case 't' -> appendText('\t');
+                case 'u' -> {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        if (pos == limit && !fill()) throw syntaxError("Unterminated escape");
+                        int digit = Character.digit(buf[pos++], 16);
+                        if (digit < 0) throw syntaxError("Invalid \\u escape");
+                        code = (code << 4) | digit;
+                    }
+                    appendText((char) code);
+                }
+                default -> appendText(e);
+            }
+        }
+    }
+
+    private int indexOfText(String[] candidates) {
+        for (int i = 0; i < candidates.length; i++) {
+            String s = candidates[i];
+            if (s.length() != textLength) continue;
+            int j = 0;
+            while (j < textLength && s.charAt(j) == text[j]) j++;
+            if (j == textLength) return i;
+        }
+        return -1;
+    }
+
+    private void appendText(char c) {
+        if (textLength == text.length) text = Arrays.copyOf(text, textLength * 2);
+        text[textLength++] = c;
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = skipWhitespace();
+        if (c != expected) {
+            throw syntaxError("Expected '" + expected + "' but found "
+                    + (c == -1 ? "end of document" : "'" + (char) c + "'"));
+        }
+        pos++;
+    }
+
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) return -1;
+            char c = buf[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+            pos++;
+        }
+    }
+
+    private int peekChar() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buf[pos];
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        pos = 0;
+        limit = 0;
+        int n = reader.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        limit = n;
+        return true;
+    }
+
+    private static boolean isLiteralChar(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || c == '-' || c == '+' || c == '.' || c == 'E';
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException("Malformed JSON at offset " + (consumed + pos) + ": " + message);
+    }
+
+    /** yyyy-MM-ddTHH:mm:ss[.f{1,9}]Z, or null if the text has any other shape. */
+    static Instant parseIsoInstant(char[] s, int len) {
+        if (len < 20 || s[4] != '-' || s[7] != '-' || s[10] != 'T' || s[13] != ':' || s[16] != ':'
+                || s[len - 1] != 'Z') {
+            return null;
+        }
+        int year = digits(s, 0, 4), month = digits(s, 5, 2), day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2), minute = digits(s, 14, 2), second = digits(s, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0 || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+        int nanos = 0;
+        if (len > 20) {
+            int fractionDigits = len - 21;
+            if (s[19] != '.' || fractionDigits < 1 || fractionDigits > 9) return null;
+            nanos = digits(s, 20, fractionDigits);
+            if (nanos < 0) return null;
+            for (int i = fractionDigits; i < 9; i++) nanos *= 10;
+        }
+        try {
+            long epochDay = LocalDate.of(year, month, day).toEpochDay();
+            return Instant.ofEpochSecond(epochDay * 86_400 + hour * 3_600L + minute * 60L + second, nanos);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(char[] s, int from, int count) {
+        int v = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = s[i] - '0';
+            if (d < 0 || d > 9) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    /**
+     * Bounded, direct-mapped cache of decoded strings, so repeated values (employee IDs,
+     * departments, issue keys) share one String instead of allocating a copy per occurrence.
+     */
+    static final class StringPool {
+        private final String[] slots;
+
+        StringPool(int capacity) {
+            slots = new String[Integer.highestOneBit(Math.max(16, capacity - 1)) << 1];
+        }
+
+        String intern(char[] chars, int length) {
+            int h = 0;
+            for (int i = 0; i < length; i++) h = 31 * h + chars[i];
+            int slot = (h ^ (h >>> 16)) & (slots.length - 1);
+            String cached = slots[slot];
+            if (cached != null && cached.hashCode() == h && cached.length() == length && matches(cached, chars)) {
+                return cached;
+            }
+            String fresh = new String(chars, 0, length);
+            slots[slot] = fresh;
+            return fresh;
+        }
+
+        private static boolean matches(String s, char[] chars) {
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) != chars[i]) return false;
+            }
+            return true;
+        }
+    }
+}
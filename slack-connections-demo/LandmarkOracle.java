@@ -0,0 +1,210 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed distance oracle for "how are we connected" queries (ALT: A*, landmarks, triangle
+ * inequality).
+ *
+ * A few spread-out employees are picked as landmarks and their distance to everyone is stored:
+ * in hops (one BFS per landmark, which also drives the choice of the next landmark) and in path
+ * cost ({@code 1 / weight}; one Dijkstra per landmark, run in parallel). For any pair (s, t) and landmark L,
+ * {@code |d(L,s) - d(L,t)| <= d(s,t) <= d(s,L) + d(L,t)}, so {@link #estimate} bounds the distance
+ * in O(landmarks) without touching the graph. Strongest paths run A* on the {@link PathEngine} with
+ * the cost lower bound as heuristic, which steers the search towards the target.
+ *
+ * The oracle is tied to one graph version. When the graph has changed, a query either rebuilds
+ * first, or - given a rebuild executor - starts a background rebuild and answers from the
+ * previous tables meanwhile (background rebuilds read the graph while it is being written, so use
+ * them with {@link ConnectionGraph#concurrent()} graphs only).
+ */
+final class LandmarkOracle {
+
+    /** Hop-distance bounds; {@link #UNKNOWN} when a bound is unavailable, both when provably disconnected. */
+    record Estimate(int lower, int upper) {
+        static final int UNKNOWN = Integer.MAX_VALUE;
+
+        /** True when some landmark reaches exactly one of the two employees. */
+        boolean disconnected() {
+            return lower == UNKNOWN;
+        }
+
+        boolean exact() {
+            return lower == upper && upper != UNKNOWN;
+        }
+    }
+
+    /** One consistent build: the engine and, per node, its hop and cost distance to every landmark. */
+    private record Tables(PathEngine engine, int[] landmarks, int[] hops, double[] costs) {}
+
+    private static final Estimate UNKNOWN_PAIR = new Estimate(0, Estimate.UNKNOWN);
+
+    private final ConnectionGraph graph;
+    private final int landmarkCount;
+    private final Executor rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Tables tables;
+
+    /**
+     * Oracle over {@code graph} with up to {@code landmarks} landmarks (8-16 is typical). When
+     * {@code rebuildExecutor} is null, stale tables are rebuilt by the querying thread.
+     */
+    LandmarkOracle(ConnectionGraph graph, int landmarks, Executor rebuildExecutor) {
+        if (landmarks <= 0) throw new IllegalArgumentException("landmarks must be positive: " + landmarks);
+        this.graph = Objects.requireNonNull(graph, "graph");
+        this.landmarkCount = landmarks;
+        this.rebuildExecutor = rebuildExecutor;
+        this.tables = build(graph.pathEngine());
+    }
+
+    /** Bounds on the hop distance between two employees; O(landmarks). */
+    Estimate estimate(String fromId, String toId) {
+        Tables t = current();
+        int s = t.engine().indexOf(fromId), d = t.engine().indexOf(toId);
+        if (s < 0 || d < 0) return UNKNOWN_PAIR;
+        if (s == d) return new Estimate(0, 0);
+        int k = t.landmarks().length;
+        int lower = 0, upper = Estimate.UNKNOWN;
+        for (int i = 0; i < k; i++) {
+            int ds = t.hops()[s * k + i], dt = t.hops()[d * k + i];
+            if (ds < 0 && dt < 0) continue;
+            if (ds < 0 || dt < 0) return new Estimate(Estimate.UNKNOWN, Estimate.UNKNOWN);
+            lower = Math.max(lower, Math.abs(ds - dt));
+            upper = Math.min(upper, ds + dt);
+        }
+        return new Estimate(lower, upper);
+    }
+
+    /**
+     * A fewest-hop path; empty if none. Pairs the landmarks prove disconnected return at once; others
+     * run the engine's bidirectional BFS, which in hop metric beats landmark-guided A*.
+     */
+    List<String> path(String fromId, String toId) {
+        Tables t = current();
+        if (provablyDisconnected(t, fromId, toId)) return List.of();
+        return t.engine().shortestPath(fromId, toId);
+    }
+
+    /** {@link PathEngine#strongestPath}, guided by the landmarks' cost distances. */
+    PathEngine.WeightedPath strongestPath(String fromId, String toId) {
+        Tables t = current();
+        if (provablyDisconnected(t, fromId, toId)) return PathEngine.WeightedPath.NONE;
+        return t.engine().strongestPath(fromId, toId, (node, target) -> costLowerBound(t, node, target));
+    }
+
+    /** Rebuilds the tables from the current graph on the calling thread. */
+    void rebuild() {
+        tables = build(graph.pathEngine());
+    }
+
+    /** Graph version the tables were built from. */
+    long version() {
+        return tables.engine().version();
+    }
+
+    /** Employee IDs chosen as landmarks in the current tables. */
+    List<String> landmarks() {
+        Tables t = tables;
+        return IntStream.of(t.landmarks()).mapToObj(t.engine()::idAt).toList();
+    }
+
+    // Internal helpers
+
+    private Tables current() {
+        Tables t = tables;
+        if (t.engine().version() == graph.version()) return t;
+        if (rebuildExecutor == null) {
+            t = build(graph.pathEngine());
+            tables = t;
+        } else if (rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    tables = build(graph.pathEngine());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+        return t;
+    }
+
+    /** True when the landmarks prove the pair disconnected (so no search is needed). */
+    private static boolean provablyDisconnected(Tables t, String fromId, String toId) {
+        int s = t.engine().indexOf(fromId), d = t.engine().indexOf(toId);
+        if (s < 0 || d < 0 || s == d) return false;
+        int k = t.landmarks().length;
+        for (int i = 0; i < k; i++) {
+            if ((t.hops()[s * k + i] < 0) != (t.hops()[d * k + i] < 0)) return true;
+        }
+        return false;
+    }
+
+    private static double costLowerBound(Tables t, int node, int target) {
+        int k = t.landmarks().length, a = node * k, b = target * k;
+        double[] dist = t.costs();
+        double best = 0;
+        for (int i = 0; i < k; i++) {
+            double dn = dist[a + i], dt = dist[b + i];
+            if (dn != Double.POSITIVE_INFINITY && dt != Double.POSITIVE_INFINITY) best = Math.max(best, Math.abs(dn - dt));
+        }
+        // Shave off floating-point error so the bound never overestimates
+        return best * (1 - 1e-9);
+    }
+
+    private Tables build(PathEngine engine) {
+        int n = engine.nodeCount();
+        int[] landmarks = new int[Math.min(landmarkCount, n)];
+        int[][] hopColumns = new int[landmarks.length][];
+        int k = chooseLandmarks(engine, landmarks, hopColumns);
+        int[] chosen = Arrays.copyOf(landmarks, k);
+        double[][] costColumns = new double[k][];
+        IntStream.range(0, k).parallel().forEach(i -> costColumns[i] = engine.costDistances(chosen[i]));
+
+        // Node-major layout: a query reads k consecutive values per endpoint
+        int[] hops = new int[n * k];
+        double[] costs = new double[n * k];
+        IntStream.range(0, n).parallel().forEach(u -> {
+            for (int i = 0; i < k; i++) {
+                hops[u * k + i] = hopColumns[i][u];
+                costs[u * k + i] = costColumns[i][u];
+            }
+        });
+        return new Tables(engine, chosen, hops, costs);
+    }
+
+    /**
+     * Farthest-point selection: start at the highest-degree employee, then repeatedly add the
+     * employee farthest (in hops) from every landmark chosen so far. Spread-out landmarks give much
+     * tighter bounds than central ones. Fills {@code landmarks} and their BFS columns; returns the
+     * count (fewer than requested once everything reachable is a landmark).
+     */
+    private static int chooseLandmarks(PathEngine engine, int[] landmarks, int[][] hopColumns) {
+        int n = engine.nodeCount();
+        if (n == 0) return 0;
+        int first = 0;
+        for (int u = 1; u < n; u++) {
+            if (engine.degree(u) > engine.degree(first)) first = u;
+        }
+        int[] nearest = new int[n]; // hops to the closest landmark, -1 if none reaches
+        Arrays.fill(nearest, -1);
+        int next = first, count = 0;
+        while (count < landmarks.length && next >= 0) {
+            int[] column = engine.hopDistances(next);
+            landmarks[count] = next;
+            hopColumns[count++] = column;
+            next = -1;
+            int farthest = 0;
+            for (int u = 0; u < n; u++) {
+                if (column[u] >= 0 && (nearest[u] < 0 || column[u] < nearest[u])) nearest[u] = column[u];
+                if (nearest[u] > farthest) {
+                    farthest = nearest[u];
+                    next = u;
+                }
+            }
+        }
+        return count;
+    }
+}
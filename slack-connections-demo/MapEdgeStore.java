@@ -0,0 +1,54 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Edge store backed by {@code Map<EmployeeId, Map<EmployeeId, weight>>}.
+ * Simple and fast for small graphs; every edge costs boxed weights and two map nodes.
+ */
+final class MapEdgeStore implements EdgeStore {
+    // Map<EmployeeId, Map<EmployeeId, weight>>
+    private final Map<String, Map<String, Integer>> adjacency = new HashMap<>();
+    private long edgeCount;
+
+    @Override
+    public void increment(String a, String b, int delta) {
+        if (a.equals(b)) return;
+        Map<String, Integer> row = adjacency.computeIfAbsent(a, k -> new HashMap<>());
+        if (!row.containsKey(b)) edgeCount++;
+        row.merge(b, delta, Integer::sum);
+        adjacency.computeIfAbsent(b, k -> new HashMap<>())
+                 .merge(a, delta, Integer::sum);
+    }
+
+    @Override
+    public int weight(String a, String b) {
+        return adjacency.getOrDefault(a, Map.of()).getOrDefault(b, 0);
+    }
+
+    @Override
+    public Map<String, Integer> neighbors(String id) {
+        return adjacency.getOrDefault(id, Map.of());
+    }
+
+    @Override
+    public void forEachEdge(EdgeConsumer action) {
+        for (Map.Entry<String, Map<String, Integer>> uEntry : adjacency.entrySet()) {
+            String u = uEntry.getKey();
+            for (Map.Entry<String, Integer> vEntry : uEntry.getValue().entrySet()) {
+                if (u.compareTo(vEntry.getKey()) < 0) {
+                    action.accept(u, vEntry.getKey(), vEntry.getValue());
+                }
+            }
+        }
+    }
+
+    @Override
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public Map<String, Map<String, Integer>> asMap() {
+        return adjacency;
+    }
+}
@@ -0,0 +1,502 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Edge store whose adjacency lives outside the Java heap, in direct or memory-mapped buffers, so
+ * a very large graph leaves the garbage collector almost nothing to trace or copy.
+ *
+ * Layout (every region is a list of fixed-size buffer chunks addressed by a long byte offset):
+ * - node table: per dense employee index, {blockOffset, degree, capacity} of its neighbor block;
+ * - neighbor blocks: (target, weight) int pairs. A full block doubles, in place when it is the last
+ *   block of the region and by copying to the end otherwise (the old block is not reused);
+ * - edge table: open-addressed hash from the packed (min, max) edge key to the edge's position in
+ *   both endpoints' blocks, so a weight update touches two known slots. Positions are relative to
+ *   the block, so moving a block never invalidates them.
+ *
+ * {@link #open(Path, IdInterner)} keeps the node table and blocks in mapped files in a directory,
+ * plus the employee IDs, so the adjacency survives restarts once {@link #flush()} has run and nothing
+ * was recorded after it; the edge table is rebuilt from the blocks on open. The in-memory variant allocates direct buffers, which the
+ * JVM frees when the store becomes unreachable. Like {@link CsrEdgeStore}, it expects one writer.
+ */
+final class OffHeapEdgeStore implements EdgeStore {
+    static final int MAGIC = 0x45484F43; // "COHE" little-endian
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int NODE_BYTES = 16;   // long blockOffset, int degree, int capacity
+    private static final int ENTRY_BYTES = 8;   // int target, int weight
+    private static final int SLOT_BYTES = 16;   // long key + 1 (0 = empty), int position in min's block, in max's
+    private static final int INITIAL_BLOCK = 4;
+    private static final long INITIAL_SLOTS = 1 << 12;
+    private static final int NONE = -1;
+
+    private static final String NODES_FILE = "nodes.bin";
+    private static final String BLOCKS_FILE = "blocks.bin";
+    private static final String IDS_FILE = "ids.bin";
+
+    @FunctionalInterface
+    interface NeighborConsumer {
+        void accept(int neighbor, int weight);
+    }
+
+    private final IdInterner ids;
+    private final Path dir; // null for the in-memory variant
+
+    private final Region nodes;
+    private final Region blocks;
+    private Region table;
+    private long tableSlots;
+
+    private int nodeCount;
+    private long blocksUsed;
+    private long edgeCount;
+    private int persistedIds;
+
+    /** In-memory store over direct buffers. */
+    OffHeapEdgeStore(IdInterner ids) {
+        this.ids = ids;
+        this.dir = null;
+        this.nodes = new Region(null, 20);
+        this.blocks = new Region(null, 22);
+        this.table = newTable(INITIAL_SLOTS);
+        writeHeader();
+    }
+
+    private OffHeapEdgeStore(IdInterner ids, Path dir) throws IOException {
+        this.ids = ids;
+        this.dir = dir;
+        Files.createDirectories(dir);
+        boolean existing = Files.exists(dir.resolve(NODES_FILE));
+        this.nodes = new Region(dir.resolve(NODES_FILE), 20);
+        this.blocks = new Region(dir.resolve(BLOCKS_FILE), 22);
+        if (!existing) {
+            this.table = newTable(INITIAL_SLOTS);
+            writeHeader();
+            return;
+        }
+        nodes.ensure(HEADER_BYTES);
+        if (nodes.getInt(0) != MAGIC || nodes.getInt(4) != VERSION) {
+            throw new IOException("Not an off-heap edge store (or unsupported version): " + dir);
+        }
+        nodeCount = nodes.getInt(8);
+        blocksUsed = nodes.getLong(16);
+        edgeCount = nodes.getLong(24);
+        nodes.ensure(nodeOffset(nodeCount));
+        blocks.ensure(blocksUsed);
+        readIds();
+        persistedIds = nodeCount;
+        rebuildTable();
+    }
+
+    /**
+     * Opens (or creates) a store persisted in {@code dir}. Its employee IDs are interned into
+     * {@code ids} first, in their stored order, so {@code ids} must be empty or agree with them.
+     */
+    static OffHeapEdgeStore open(Path dir, IdInterner ids) throws IOException {
+        return new OffHeapEdgeStore(ids, dir);
+    }
+
+    // EdgeStore
+
+    @Override
+    public void increment(String a, String b, int delta) {
+        if (a.equals(b)) return;
+        increment(ids.intern(a), ids.intern(b), delta);
+    }
+
+    @Override
+    public void incrementAll(IdInterner ids, LongIntHashMap deltas) {
+        if (ids != this.ids) {
+            EdgeStore.super.incrementAll(ids, deltas);
+            return;
+        }
+        deltas.forEach((key, delta) -> increment(LongIntHashMap.keyHigh(key), LongIntHashMap.keyLow(key), delta));
+    }
+
+    @Override
+    public int weight(String a, String b) {
+        int u = ids.indexOf(a);
+        int v = ids.indexOf(b);
+        return (u < 0 || v < 0) ? 0 : weight(u, v);
+    }
+
+    @Override
+    public Map<String, Integer> neighbors(String id) {
+        int u = ids.indexOf(id);
+        if (u < 0) return Map.of();
+        Map<String, Integer> out = new HashMap<>();
+        forEachNeighbor(u, (v, w) -> out.put(ids.idAt(v), w));
+        return Collections.unmodifiableMap(out);
+    }
+
+    @Override
+    public void forEachEdge(EdgeConsumer action) {
+        for (int u = 0; u < nodeCount; u++) {
+            String uid = ids.idAt(u);
+            int src = u;
+            forEachNeighbor(u, (v, w) -> {
+                if (src < v) action.accept(uid, ids.idAt(v), w);
+            });
+        }
+    }
+
+    @Override
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    /** Off-heap bytes reserved by the node table, blocks and edge table. */
+    @Override
+    public long estimatedBytes() {
+        return nodes.capacity() + blocks.capacity() + table.capacity();
+    }
+
+    @Override
+    public Map<String, Map<String, Integer>> asMap() {
+        Map<String, Map<String, Integer>> out = new HashMap<>();
+        for (int u = 0; u < nodeCount; u++) {
+            if (degree(u) > 0) out.put(ids.idAt(u), neighbors(ids.idAt(u)));
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    @Override
+    public List<String> shortestPath(String fromId, String toId) {
+        int from = ids.indexOf(fromId);
+        int to = ids.indexOf(toId);
+        if (from < 0 || to < 0) return List.of();
+
+        int[] prev = new int[ids.size()];
+        Arrays.fill(prev, NONE);
+        prev[from] = from;
+        int[] queue = new int[ids.size()];
+        int head = 0, tail = 0;
+        queue[tail++] = from;
+
+        while (head < tail) {
+            int u = queue[head++];
+            if (u >= nodeCount) continue;
+            long block = blockOffset(u);
+            for (int i = 0, d = degree(u); i < d; i++) {
+                int v = blocks.getInt(block + (long) i * ENTRY_BYTES);
+                if (prev[v] == NONE) {
+                    prev[v] = u;
+                    if (v == to) return reconstructPath(prev, from, to);
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Appends the employee IDs added since the last flush and forces them to disk, then forces the
+     * mapped regions. The files are consistent only after a flush that completed with no writes since:
+     * the OS may write mapped pages back at any time, so after a crash the nodes on disk can reference
+     * IDs that were never appended (which {@link #open} rejects).
+     */
+    @Override
+    public void flush() throws IOException {
+        if (dir == null) return;
+        if (persistedIds < nodeCount) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                for (int i = persistedIds; i < nodeCount; i++) out.writeUTF(ids.idAt(i));
+            }
+            try (FileChannel channel = FileChannel.open(dir.resolve(IDS_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+                while (buf.hasRemaining()) channel.write(buf);
+                channel.force(true);
+            }
+            persistedIds = nodeCount;
+        }
+        blocks.force();
+        nodes.force();
+    }
+
+    // Index-level API
+
+    void increment(int u, int v, int delta) {
+        if (u == v) return;
+        int lo = Math.min(u, v), hi = Math.max(u, v);
+        long key = LongIntHashMap.edgeKey(lo, hi);
+        long slot = findSlot(table, tableSlots, key);
+        if (table.getLong(slot) != 0) {
+            addWeight(lo, table.getInt(slot + 8), delta);
+            addWeight(hi, table.getInt(slot + 12), delta);
+            return;
+        }
+        ensureNode(hi);
+        int posLo = append(lo, hi, delta);
+        int posHi = append(hi, lo, delta);
+        table.putLong(slot, key + 1);
+        table.putInt(slot + 8, posLo);
+        table.putInt(slot + 12, posHi);
+        if (++edgeCount * 2 > tableSlots) growTable();
+        writeCounts();
+    }
+
+    int weight(int u, int v) {
+        if (u == v) return 0;
+        int lo = Math.min(u, v);
+        long slot = findSlot(table, tableSlots, LongIntHashMap.edgeKey(lo, Math.max(u, v)));
+        if (table.getLong(slot) == 0) return 0;
+        return blocks.getInt(blockOffset(lo) + (long) table.getInt(slot + 8) * ENTRY_BYTES + 4);
+    }
+
+    int degree(int u) {
+        return u < nodeCount ? nodes.getInt(nodeOffset(u) + 8) : 0;
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    void forEachNeighbor(int u, NeighborConsumer action) {
+        if (u >= nodeCount) return;
+        long block = blockOffset(u);
+        for (int i = 0, d = degree(u); i < d; i++) {
+            long entry = block + (long) i * ENTRY_BYTES;
+            action.accept(blocks.getInt(entry), blocks.getInt(entry + 4));
+        }
+    }
+
+    // Internal helpers
+
+    private void addWeight(int u, int position, int delta) {
+        long entry = blockOffset(u) + (long) position * ENTRY_BYTES + 4;
+        blocks.putInt(entry, blocks.getInt(entry) + delta);
+    }
+
+    /** Appends (v, weight) to u's block, growing it if full; returns the entry's position. */
+    private int append(int u, int v, int weight) {
+        long node = nodeOffset(u);
+        long block = nodes.getLong(node);
+        int degree = nodes.getInt(node + 8);
+        int capacity = nodes.getInt(node + 12);
+        if (degree == capacity) {
+            int grown = capacity == 0 ? INITIAL_BLOCK : capacity * 2;
+            if (capacity > 0 && block + (long) capacity * ENTRY_BYTES == blocksUsed) {
+                // Last block in the region: extend it where it is
+                blocksUsed = block + (long) grown * ENTRY_BYTES;
+            } else {
+                long moved = blocksUsed;
+                blocksUsed += (long) grown * ENTRY_BYTES;
+                blocks.ensure(blocksUsed);
+                for (long i = 0; i < (long) degree * ENTRY_BYTES; i += ENTRY_BYTES) {
+                    blocks.putLong(moved + i, blocks.getLong(block + i));
+                }
+                block = moved;
+                nodes.putLong(node, block);
+            }
+            blocks.ensure(blocksUsed);
+            nodes.putInt(node + 12, grown);
+        }
+        long entry = block + (long) degree * ENTRY_BYTES;
+        blocks.putInt(entry, v);
+        blocks.putInt(entry + 4, weight);
+        nodes.putInt(node + 8, degree + 1);
+        return degree;
+    }
+
+    private void ensureNode(int u) {
+        if (u < nodeCount) return;
+        nodes.ensure(nodeOffset(u + 1));
+        nodeCount = u + 1; // new records are zero: no block, degree 0, capacity 0
+    }
+
+    private long blockOffset(int u) {
+        return nodes.getLong(nodeOffset(u));
+    }
+
+    private static long nodeOffset(int u) {
+        return HEADER_BYTES + (long) u * NODE_BYTES;
+    }
+
+    private Region newTable(long slots) {
+        Region region = new Region(null, 22);
+        region.ensure(slots * SLOT_BYTES);
+        tableSlots = slots;
+        return region;
+    }
+
+    private static long findSlot(Region table, long slots, long key) {
+        long mask = slots - 1;
+        long slot = mix(key) & mask;
+        while (true) {
+            long stored = table.getLong(slot * SLOT_BYTES);
+            if (stored == 0 || stored == key + 1) return slot * SLOT_BYTES;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void growTable() {
+        Region old = table;
+        long oldSlots = tableSlots;
+        Region grown = newTable(oldSlots * 2);
+        for (long s = 0; s < oldSlots; s++) {
+            long stored = old.getLong(s * SLOT_BYTES);
+            if (stored == 0) continue;
+            long slot = findSlot(grown, tableSlots, stored - 1);
+            grown.putLong(slot, stored);
+            grown.putLong(slot + 8, old.getLong(s * SLOT_BYTES + 8));
+        }
+        table = grown;
+    }
+
+    /** Re-indexes every edge from the blocks: first the low endpoint's positions, then the high one's. */
+    private void rebuildTable() {
+        long slots = INITIAL_SLOTS;
+        while (edgeCount * 2 > slots) slots *= 2;
+        table = newTable(slots);
+        for (int pass = 0; pass < 2; pass++) {
+            for (int u = 0; u < nodeCount; u++) {
+                long block = blockOffset(u);
+                for (int i = 0, d = degree(u); i < d; i++) {
+                    int v = blocks.getInt(block + (long) i * ENTRY_BYTES);
+                    if ((pass == 0) != (u < v)) continue;
+                    long slot = findSlot(table, tableSlots, LongIntHashMap.edgeKey(Math.min(u, v), Math.max(u, v)));
+                    if (pass == 0) {
+                        table.putLong(slot, LongIntHashMap.edgeKey(u, v) + 1);
+                        table.putInt(slot + 8, i);
+                    } else {
+                        table.putInt(slot + 12, i);
+                    }
+                }
+            }
+        }
+    }
+
+    private void readIds() throws IOException {
+        Path file = dir.resolve(IDS_FILE);
+        try (InputStream in = Files.exists(file) ? Files.newInputStream(file) : InputStream.nullInputStream();
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            for (int i = 0; i < nodeCount; i++) {
+                String id = data.readUTF();
+                if (ids.intern(id) != i) {
+                    throw new IOException("Employee index does not match the stored IDs at " + i + " (" + id + ")");
+                }
+            }
+        } catch (EOFException e) {
+            throw new IOException("Edge store was not flushed: fewer IDs than nodes in " + dir, e);
+        }
+    }
+
+    private void writeHeader() {
+        nodes.ensure(HEADER_BYTES);
+        nodes.putInt(0, MAGIC);
+        nodes.putInt(4, VERSION);
+        writeCounts();
+    }
+
+    private void writeCounts() {
+        nodes.putInt(8, nodeCount);
+        nodes.putLong(16, blocksUsed);
+        nodes.putLong(24, edgeCount);
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private List<String> reconstructPath(int[] prev, int from, int to) {
+        List<String> path = new ArrayList<>();
+        for (int curr = to; curr != from; curr = prev[curr]) {
+            path.add(ids.idAt(curr));
+        }
+        path.add(ids.idAt(from));
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Growable byte region made of {@code 2^chunkShift}-byte buffers: direct buffers, or consecutive
+     * read-write mappings of {@code file}. Ints and longs are 4/8-byte aligned, so none straddles two
+     * chunks. Chunks are never moved, so growing costs no copy.
+     */
+    private static final class Region {
+        private final Path file;
+        private final int chunkShift;
+        private final long chunkMask;
+        private ByteBuffer[] chunks = new ByteBuffer[0];
+
+        Region(Path file, int chunkShift) {
+            this.file = file;
+            this.chunkShift = chunkShift;
+            this.chunkMask = (1L << chunkShift) - 1;
+        }
+
+        long capacity() {
+            return (long) chunks.length << chunkShift;
+        }
+
+        /** Makes bytes [0, size) addressable. */
+        void ensure(long size) {
+            if (size <= capacity()) return;
+            int needed = (int) ((size + chunkMask) >>> chunkShift);
+            int old = chunks.length;
+            chunks = Arrays.copyOf(chunks, Math.max(needed, old + (old >> 1)));
+            int chunkBytes = 1 << chunkShift;
+            if (file == null) {
+                for (int i = old; i < chunks.length; i++) {
+                    chunks[i] = ByteBuffer.allocateDirect(chunkBytes).order(ByteOrder.LITTLE_ENDIAN);
+                }
+                return;
+            }
+            // Mappings stay valid after the channel is closed; mapping past the end grows the file
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                for (int i = old; i < chunks.length; i++) {
+                    chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << chunkShift, chunkBytes)
+                            .order(ByteOrder.LITTLE_ENDIAN);
+                }
+            } catch (IOException e) {
+                chunks = Arrays.copyOf(chunks, old);
+                throw new UncheckedIOException("Cannot grow " + file, e);
+            }
+        }
+
+        int getInt(long offset) {
+            return chunks[(int) (offset >>> chunkShift)].getInt((int) (offset & chunkMask));
+        }
+
+        void putInt(long offset, int value) {
+            chunks[(int) (offset >>> chunkShift)].putInt((int) (offset & chunkMask), value);
+        }
+
+        long getLong(long offset) {
+            return chunks[(int) (offset >>> chunkShift)].getLong((int) (offset & chunkMask));
+        }
+
+        void putLong(long offset, long value) {
+            chunks[(int) (offset >>> chunkShift)].putLong((int) (offset & chunkMask), value);
+        }
+
+        void force() {
+            for (ByteBuffer chunk : chunks) {
+                if (chunk instanceof MappedByteBuffer mapped) mapped.force();
+            }
+        }
+    }
+}
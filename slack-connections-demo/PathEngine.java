@@ -0,0 +1,398 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Path queries over an immutable, int-indexed copy (CSR arrays) of a {@link ConnectionGraph}.
+ *
+ * - {@link #shortestPath}: fewest hops, by bidirectional BFS (expands the smaller frontier, so
+ *   distant pairs meet in the middle instead of flooding the graph from one side).
+ * - {@link #strongestPath}: lowest total cost where an edge costs {@code 1 / weight}, i.e. the
+ *   route through the strongest collaborations; Dijkstra, or A* with a {@link Heuristic}.
+ * - {@link #shortestPaths} / {@link #strongestPaths}: many pairs in parallel.
+ *
+ * Every query runs on per-thread scratch arrays that are reused across queries (visited marks are
+ * stamped with a query counter, so nothing is cleared between runs). The engine reflects the graph
+ * as of {@link #version()}; {@link ConnectionGraph#pathEngine()} rebuilds it when the graph changed.
+ */
+final class PathEngine {
+
+    /** A source/target pair for the batch queries. */
+    record Pair(String from, String to) {}
+
+    /** A path and its total cost (sum of {@code 1 / weight} over its edges). */
+    record WeightedPath(List<String> employees, double cost) {
+        static final WeightedPath NONE = new WeightedPath(List.of(), Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Lower bound on the remaining cost from {@code node} to {@code target} (both engine indexes).
+     * Must never overestimate, or A* may return a suboptimal path.
+     */
+    @FunctionalInterface
+    interface Heuristic {
+        double estimate(int node, int target);
+    }
+
+    private static final int NONE = -1;
+
+    private final long version;
+    private final IdInterner ids;
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final double[] costs;
+    private final ThreadLocal<Scratch> scratch;
+
+    private PathEngine(long version, IdInterner ids, int[] offsets, int[] targets, int[] weights, double[] costs) {
+        this.version = version;
+        this.ids = ids;
+        this.n = ids.size();
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.costs = costs;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(n));
+    }
+
+    /** Copies the employees and edges of {@code graph}, tagging the copy with {@code version}. */
+    static PathEngine build(ConnectionGraph graph, long version) {
+        IdInterner ids = new IdInterner();
+        for (String id : graph.getEmployees().keySet()) ids.intern(id);
+
+        // Count degrees, then fill rows (both directions of every undirected edge)
+        LongIntHashMap edgeWeights = new LongIntHashMap();
+        int[] degree = new int[ids.size() + 1];
+        graph.forEachEdge((a, b, w) -> {
+            int u = ids.indexOf(a), v = ids.indexOf(b);
+            if (u < 0 || v < 0 || u == v || w <= 0) return;
+            edgeWeights.put(LongIntHashMap.edgeKey(u, v), w);
+            degree[u]++;
+            degree[v]++;
+        });
+        int n = ids.size();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + degree[u];
+        int[] fill = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        double[] costs = new double[offsets[n]];
+        edgeWeights.forEach((key, w) -> {
+            int u = LongIntHashMap.keyHigh(key), v = LongIntHashMap.keyLow(key);
+            double cost = 1.0 / w;
+            targets[fill[u]] = v;
+            weights[fill[u]] = w;
+            costs[fill[u]++] = cost;
+            targets[fill[v]] = u;
+            weights[fill[v]] = w;
+            costs[fill[v]++] = cost;
+        });
+        return new PathEngine(version, ids, offsets, targets, weights, costs);
+    }
+
+    /** The graph version this engine was built from. */
+    long version() {
+        return version;
+    }
+
+    /** Engine index of an employee ID, or -1 (for {@link Heuristic} implementations). */
+    int indexOf(String employeeId) {
+        return ids.indexOf(employeeId);
+    }
+
+    String idAt(int index) {
+        return ids.idAt(index);
+    }
+
+    int nodeCount() {
+        return n;
+    }
+
+    int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    // Raw CSR arrays for whole-graph algorithms (GraphAnalytics); callers must not modify them.
+    // Row u is targets/weights[offsets[u] .. offsets[u + 1]); every undirected edge appears in both rows.
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] targets() {
+        return targets;
+    }
+
+    int[] weights() {
+        return weights;
+    }
+
+    double[] costs() {
+        return costs;
+    }
+
+    /** Hop distance from {@code source} to every node, -1 where unreachable (full BFS). */
+    int[] hopDistances(int source) {
+        int[] dist = new int[n];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        dist[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            int du = dist[u] + 1;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (dist[v] < 0) {
+                    dist[v] = du;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return dist;
+    }
+
+    /** Cost ({@code 1 / weight} summed) from {@code source} to every node, infinity where unreachable. */
+    double[] costDistances(int source) {
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        boolean[] settled = new boolean[n];
+        MinHeap heap = new MinHeap();
+        dist[source] = 0;
+        heap.push(0, source);
+        while (!heap.isEmpty()) {
+            int u = heap.pop();
+            if (settled[u]) continue;
+            settled[u] = true;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double dv = dist[u] + costs[i];
+                if (dv < dist[v]) {
+                    dist[v] = dv;
+                    heap.push(dv, v);
+                }
+            }
+        }
+        return dist;
+    }
+
+    /** Calls {@code action} for each neighbor of {@code u} with the edge cost. */
+    void forEachNeighbor(int u, NeighborCost action) {
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) action.accept(targets[i], costs[i]);
+    }
+
+    @FunctionalInterface
+    interface NeighborCost {
+        void accept(int neighbor, double cost);
+    }
+
+    // Queries
+
+    /** A path with the fewest hops from {@code fromId} to {@code toId}, or empty if none. */
+    List<String> shortestPath(String fromId, String toId) {
+        int s = ids.indexOf(fromId), t = ids.indexOf(toId);
+        if (s < 0 || t < 0) return List.of();
+        if (s == t) return List.of(fromId);
+        return scratch.get().bidirectionalBfs(s, t);
+    }
+
+    /** The path minimizing the sum of {@code 1 / weight} over its edges (Dijkstra). */
+    WeightedPath strongestPath(String fromId, String toId) {
+        return strongestPath(fromId, toId, (node, target) -> 0);
+    }
+
+    /** As {@link #strongestPath(String, String)}, guided by an admissible heuristic (A*). */
+    WeightedPath strongestPath(String fromId, String toId, Heuristic heuristic) {
+        int s = ids.indexOf(fromId), t = ids.indexOf(toId);
+        if (s < 0 || t < 0) return WeightedPath.NONE;
+        if (s == t) return new WeightedPath(List.of(fromId), 0);
+        return scratch.get().aStar(s, t, heuristic);
+    }
+
+    /** {@link #shortestPath} for every pair, computed in parallel; results line up with {@code pairs}. */
+    List<List<String>> shortestPaths(List<Pair> pairs) {
+        return pairs.parallelStream().map(p -> shortestPath(p.from(), p.to())).toList();
+    }
+
+    /** {@link #strongestPath} for every pair, computed in parallel; results line up with {@code pairs}. */
+    List<WeightedPath> strongestPaths(List<Pair> pairs) {
+        return pairs.parallelStream().map(p -> strongestPath(p.from(), p.to())).toList();
+    }
+
+    /** Per-thread search state, sized to the engine and reused by every query on that thread. */
+    private final class Scratch {
+        // mark[v] == stamp means "visited in this query"; bumping stamp clears all marks at once
+        final int[] markF, markB;
+        final int[] parentF, parentB;
+        final int[] queueF, queueB;
+        final double[] dist;
+        int stamp;
+
+        final MinHeap heap = new MinHeap();
+
+        Scratch(int n) {
+            markF = new int[n];
+            markB = new int[n];
+            parentF = new int[n];
+            parentB = new int[n];
+            queueF = new int[n];
+            queueB = new int[n];
+            dist = new double[n];
+        }
+
+        private void nextStamp() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(markF, 0);
+                Arrays.fill(markB, 0);
+                stamp = 1;
+            }
+        }
+
+        List<String> bidirectionalBfs(int s, int t) {
+            nextStamp();
+            markF[s] = stamp;
+            parentF[s] = NONE;
+            markB[t] = stamp;
+            parentB[t] = NONE;
+            queueF[0] = s;
+            queueB[0] = t;
+            int headF = 0, tailF = 1, headB = 0, tailB = 1;
+
+            while (headF < tailF && headB < tailB) {
+                boolean forward = tailF - headF <= tailB - headB;
+                int[] mark = forward ? markF : markB, other = forward ? markB : markF;
+                int[] parent = forward ? parentF : parentB, queue = forward ? queueF : queueB;
+                int head = forward ? headF : headB, levelEnd = forward ? tailF : tailB, tail = levelEnd;
+
+                // Expand one whole level; every meeting found in it has the same length, so take the first
+                int meetU = NONE, meetV = NONE;
+                for (; head < levelEnd && meetU == NONE; head++) {
+                    int u = queue[head];
+                    for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                        int v = targets[i];
+                        if (other[v] == stamp) {
+                            meetU = u;
+                            meetV = v;
+                            break;
+                        }
+                        if (mark[v] != stamp) {
+                            mark[v] = stamp;
+                            parent[v] = u;
+                            queue[tail++] = v;
+                        }
+                    }
+                }
+                if (meetU != NONE) {
+                    return forward ? join(meetU, meetV) : join(meetV, meetU);
+                }
+                if (forward) {
+                    headF = head;
+                    tailF = tail;
+                } else {
+                    headB = head;
+                    tailB = tail;
+                }
+            }
+            return List.of();
+        }
+
+        /** Path s .. u (forward tree) followed by v .. t (backward tree). */
+        private List<String> join(int u, int v) {
+            List<String> path = new ArrayList<>();
+            for (int x = u; x != NONE; x = parentF[x]) path.add(ids.idAt(x));
+            Collections.reverse(path);
+            for (int x = v; x != NONE; x = parentB[x]) path.add(ids.idAt(x));
+            return path;
+        }
+
+        WeightedPath aStar(int s, int t, Heuristic h) {
+            nextStamp();
+            // markF: distance known (dist/parentF valid); markB: settled
+            heap.clear();
+            markF[s] = stamp;
+            dist[s] = 0;
+            parentF[s] = NONE;
+            heap.push(h.estimate(s, t), s);
+
+            while (!heap.isEmpty()) {
+                int u = heap.pop();
+                if (markB[u] == stamp) continue;
+                markB[u] = stamp;
+                if (u == t) break;
+                double du = dist[u];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (markB[v] == stamp) continue;
+                    double dv = du + costs[i];
+                    if (markF[v] != stamp || dv < dist[v]) {
+                        markF[v] = stamp;
+                        dist[v] = dv;
+                        parentF[v] = u;
+                        heap.push(dv + h.estimate(v, t), v);
+                    }
+                }
+            }
+            if (markB[t] != stamp) return WeightedPath.NONE;
+
+            List<String> path = new ArrayList<>();
+            for (int x = t; x != NONE; x = parentF[x]) path.add(ids.idAt(x));
+            Collections.reverse(path);
+            return new WeightedPath(path, dist[t]);
+        }
+    }
+
+    /** Binary min-heap of (priority, node) pairs; stale entries are skipped by the caller. */
+    static final class MinHeap {
+        private double[] keys = new double[64];
+        private int[] nodes = new int[64];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void push(double key, int node) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (keys[p] <= key) break;
+                keys[i] = keys[p];
+                nodes[i] = nodes[p];
+                i = p;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+        }
+
+        /** Removes the entry with the smallest priority and returns its node. */
+        int pop() {
+            int top = nodes[0];
+            double key = keys[--size];
+            int node = nodes[size];
+            int i = 0;
+            while (true) {
+                int c = 2 * i + 1;
+                if (c >= size) break;
+                if (c + 1 < size && keys[c + 1] < keys[c]) c++;
+                if (keys[c] >= key) break;
+                keys[i] = keys[c];
+                nodes[i] = nodes[c];
+                i = c;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+            return top;
+        }
+    }
+}
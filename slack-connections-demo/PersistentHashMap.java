@@ -0,0 +1,286 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map with structural sharing (a hash array mapped trie, 32-way).
+ *
+ * {@link #put} returns a new map that shares every node off the updated path with the old one, so an
+ * update copies at most ~7 small arrays (O(log32 n)) and older versions stay valid and unchanged.
+ * Both versions can be read from any thread without locks. Keys must not be null and must have stable
+ * hash codes; values must not be null.
+ *
+ * Nodes store entries in one array of key/value pairs. In a branch node, a null key marks a slot whose
+ * value is a child node. A collision node holds keys that have the same full hash.
+ */
+final class PersistentHashMap<K, V> {
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        return root == null ? null : (V) root.find(key, key.hashCode(), 0);
+    }
+
+    V getOrDefault(Object key, V defaultValue) {
+        V v = get(key);
+        return v != null ? v : defaultValue;
+    }
+
+    /** This map with {@code key} mapped to {@code value}; {@code this} if that mapping already exists. */
+    PersistentHashMap<K, V> put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        boolean[] added = new boolean[1];
+        Node from = root != null ? root : BranchNode.EMPTY;
+        Node updated = from.assoc(0, key.hashCode(), key, value, added);
+        if (updated == root) return this;
+        return new PersistentHashMap<>(updated, added[0] ? size + 1 : size);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    /** Read-only {@link Map} view; O(1) to create, iteration walks the trie in place. */
+    Map<K, V> asMap() {
+        return new MapView();
+    }
+
+    // Internal helpers
+
+    private abstract static class Node {
+        final Object[] array;
+
+        Node(Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node assoc(int shift, int hash, Object key, Object value, boolean[] added);
+
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+    }
+
+    private static final class BranchNode extends Node {
+        static final BranchNode EMPTY = new BranchNode(0, new Object[0]);
+
+        final int bitmap;
+
+        BranchNode(int bitmap, Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return null;
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[i];
+            if (k == null) return ((Node) array[i + 1]).find(key, hash, shift + 5);
+            return key.equals(k) ? array[i + 1] : null;
+        }
+
+        @Override
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                Object[] copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, i);
+                copy[i] = key;
+                copy[i + 1] = value;
+                System.arraycopy(array, i, copy, i + 2, array.length - i);
+                return new BranchNode(bitmap | bit, copy);
+            }
+            Object k = array[i], v = array[i + 1];
+            Object replacement;
+            if (k == null) {
+                Node child = ((Node) v).assoc(shift + 5, hash, key, value, added);
+                if (child == v) return this;
+                replacement = child;
+            } else if (key.equals(k)) {
+                if (value.equals(v)) return this;
+                Object[] copy = array.clone();
+                copy[i + 1] = value;
+                return new BranchNode(bitmap, copy);
+            } else {
+                added[0] = true;
+                replacement = pair(shift + 5, k, v, hash, key, value);
+            }
+            Object[] copy = array.clone();
+            copy[i] = null;
+            copy[i + 1] = replacement;
+            return new BranchNode(bitmap, copy);
+        }
+
+        private static Node pair(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = k1.hashCode();
+            if (h1 == h2) return new CollisionNode(h1, new Object[] {k1, v1, k2, v2});
+            boolean[] ignored = new boolean[1];
+            return EMPTY.assoc(shift, h1, k1, v1, ignored).assoc(shift, h2, k2, v2, ignored);
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & 31);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        final int hash;
+
+        CollisionNode(int hash, Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return array[i + 1];
+            }
+            return null;
+        }
+
+        @Override
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // Push this node one level down under a branch, then add the new key beside it
+                Node branch = new BranchNode(BranchNode.bit(this.hash, shift), new Object[] {null, this});
+                return branch.assoc(shift, hash, key, value, added);
+            }
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (value.equals(array[i + 1])) return this;
+                    Object[] copy = array.clone();
+                    copy[i + 1] = value;
+                    return new CollisionNode(hash, copy);
+                }
+            }
+            added[0] = true;
+            Object[] copy = new Object[array.length + 2];
+            System.arraycopy(array, 0, copy, 0, array.length);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            return new CollisionNode(hash, copy);
+        }
+    }
+
+    /** Depth-first walk over the node arrays with an explicit stack (the trie is at most 8 levels deep). */
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final Object[][] arrays = new Object[9][];
+        private final int[] positions = new int[9];
+        private int depth = -1;
+
+        EntryIterator() {
+            if (root != null) {
+                arrays[0] = root.array;
+                depth = 0;
+                advance();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (depth < 0) throw new NoSuchElementException();
+            Object[] array = arrays[depth];
+            int i = positions[depth];
+            positions[depth] = i + 2;
+            Map.Entry<K, V> entry = Map.entry((K) array[i], (V) array[i + 1]);
+            advance();
+            return entry;
+        }
+
+        /** Moves to the next key/value slot, descending into children and popping exhausted nodes. */
+        private void advance() {
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int i = positions[depth];
+                if (i == array.length) {
+                    depth--;
+                } else if (array[i] == null) {
+                    positions[depth] = i + 2;
+                    arrays[++depth] = ((Node) array[i + 1]).array;
+                    positions[depth] = 0;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class MapView extends AbstractMap<K, V> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && PersistentHashMap.this.get(key) != null;
+        }
+
+        @Override
+        public V get(Object key) {
+            return key == null ? null : PersistentHashMap.this.get(key);
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+}
@@ -1,12 +1,38 @@
+import java.time.Clock;
 import java.time.Instant;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.charset.StandardCharsets;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Demo for representing Slack employees and their interaction connections for JIRAs/bugs.
@@ -25,7 +51,7 @@ import java.io.IOException;
  * - Build filtered views by time window (e.g., last N days)
  *
  * How to run (from repo root):
- *   javac slack-connections-demo/SlackConnectionsDemo.java
+ *   javac slack-connections-demo/*.java
  *   java -cp slack-connections-demo SlackConnectionsDemo
  */
 public class SlackConnectionsDemo {
@@ -87,9 +113,7 @@ public class SlackConnectionsDemo {
 
         // Time-window filtered view: last 7 days
         System.out.println("Neighbors for Alice (last 7 days):");
-        Map<String, Map<String, Integer>> last7Adj = graph.buildAdjacencyFiltered(
-                i -> i.timestamp().isAfter(now.minus(Duration.ofDays(7)))
-        );
+        Map<String, Map<String, Integer>> last7Adj = graph.buildAdjacencyBetween(now.minus(Duration.ofDays(7)), now);
         Map<String, Integer> aliceRecent = last7Adj.getOrDefault(alice.id(), Map.of());
         aliceRecent.forEach((neighborId, weight) ->
             System.out.println("  - " + graph.nameOf(neighborId) + " (weight=" + weight + ")")
@@ -98,9 +122,8 @@ public class SlackConnectionsDemo {
         // Mermaid export (for notebooks with inline markdown)
         System.out.println("\nMermaid (all interactions):\n```mermaid\n" + graph.toMermaid() + "```");
 
-        System.out.println("\nMermaid (last 7 days):\n```mermaid\n" + graph.toMermaidFiltered(
-                i -> i.timestamp().isAfter(now.minus(Duration.ofDays(7)))
-        ) + "```");
+        System.out.println("\nMermaid (last 7 days):\n```mermaid\n"
+                + graph.toMermaidBetween(now.minus(Duration.ofDays(7)), now) + "```");
 
         // Persistence demo: save to JSON and reload
         try {
@@ -138,32 +161,160 @@ record Interaction(String issueKey,
                    InteractionType type,
                    Instant timestamp) {}
 
+record WeightedEdge(String employeeA, String employeeB, int weight) {}
+
 /**
  * Undirected, weighted employee connection graph.
  * Weight on edge (u, v) = number of interactions recorded between u and v.
+ * Edge storage is pluggable via {@link EdgeStore} (nested maps by default, CSR on request).
  */
 class ConnectionGraph {
-    private final Map<String, Employee> employees = new HashMap<>();
-    private final Map<String, SlackUser> slackUsers = new HashMap<>();
-    private final Map<String, String> slackToEmployee = new HashMap<>();
-    private final List<Interaction> interactions = new ArrayList<>();
+    private final Map<String, Employee> employees;
+    private final Map<String, SlackUser> slackUsers;
+    private final Map<String, String> slackToEmployee;
+    private final List<Interaction> interactions;
+
+    // Dense int index per employee ID, shared with index-based edge stores
+    private final IdInterner employeeIndex = new IdInterner();
 
     // Maintains cumulative adjacency for all-time interactions
-    // Map<EmployeeId, Map<EmployeeId, weight>>
-    private final Map<String, Map<String, Integer>> adjacency = new HashMap<>();
+    private final EdgeStore edges;
+
+    // Write-ahead log every mutation is appended to (null unless opened through a GraphJournal)
+    private volatile WriteAheadLog log;
+
+    // Observers of recorded interactions (secondary indexes such as the time-bucket index)
+    private final List<InteractionListener> listeners = new CopyOnWriteArrayList<>();
+    // Shared by recording calls from the append to the listener callbacks; exclusive in attach()
+    private final StampedLock recording = new StampedLock();
+    private TimeBucketIndex timeIndex;
+    private FilteredViewCache viewCache;
+    private volatile TopCollaboratorIndex topIndex;
+    private IssueIndex issueIndex;
+    private DecayedWeights decayed;
+    private volatile GraphSnapshot.Publisher snapshots;
+
+    // Bumped after every change to employees or edges; lets derived structures detect staleness
+    private final LongAdder version = new LongAdder();
+    private volatile PathEngine pathEngine;
+
+    // DOT/Mermaid writer; caches sanitized Mermaid IDs per employee
+    private final GraphExporter exporter;
+
+    // Counters and latency histograms; the no-op instance until enableMetrics()
+    private volatile GraphMetrics metrics = GraphMetrics.DISABLED;
+
+    public ConnectionGraph() {
+        this(ids -> new MapEdgeStore());
+    }
+
+    /**
+     * Creates a graph whose edges live in the store built by {@code edgeStoreFactory}, e.g.
+     * {@code new ConnectionGraph(CsrEdgeStore::new)} for the dense, primitive-array backend.
+     */
+    public ConnectionGraph(Function<IdInterner, EdgeStore> edgeStoreFactory) {
+        this(edgeStoreFactory, false, ids -> new ArrayList<>());
+    }
+
+    private ConnectionGraph(Function<IdInterner, EdgeStore> edgeStoreFactory, boolean concurrent,
+                            Function<IdInterner, List<Interaction>> interactionStoreFactory) {
+        this.employees = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.slackUsers = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.slackToEmployee = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.interactions = interactionStoreFactory.apply(employeeIndex);
+        this.edges = Objects.requireNonNull(edgeStoreFactory.apply(employeeIndex), "edgeStore");
+        this.exporter = new GraphExporter(employees);
+    }
+
+    /**
+     * Creates a graph that many threads may record interactions into at once (e.g. one virtual
+     * thread per Slack channel). Edge weights are per-edge atomic counters, the interaction log is
+     * an append-only chunked list, and {@code getNeighbors}/{@code getTopCollaborators} read
+     * weakly consistent snapshots without blocking writers.
+     */
+    public static ConnectionGraph concurrent() {
+        return new ConnectionGraph(ids -> new ConcurrentEdgeStore(), true, ids -> new ConcurrentAppendLog<>());
+    }
+
+    /**
+     * Creates a compact single-writer graph for very large histories: interactions are kept as
+     * primitive columns ({@link InteractionColumns}) and edges in the CSR store, so no per-interaction
+     * objects are retained. {@code getInteractions()} still returns {@code Interaction}s, built on access.
+     */
+    public static ConnectionGraph columnar() {
+        return new ConnectionGraph(CsrEdgeStore::new, false, InteractionColumns::new);
+    }
+
+    /**
+     * Creates a columnar graph whose edges live off the Java heap ({@link OffHeapEdgeStore}), for
+     * adjacency too large to keep on the heap without long GC pauses.
+     *
+     * The direct buffers count against {@code -XX:MaxDirectMemorySize}, which defaults to the maximum
+     * heap size ({@code -Xmx}); past it, growing the store fails with
+     * {@code OutOfMemoryError: Direct buffer memory}. Size the limit for the adjacency, e.g.
+     * {@code -Xmx2g -XX:MaxDirectMemorySize=8g}. The mapped variant, {@link #offHeap(Path)}, is not
+     * subject to it.
+     */
+    public static ConnectionGraph offHeap() {
+        return new ConnectionGraph(OffHeapEdgeStore::new, false, InteractionColumns::new);
+    }
+
+    /**
+     * Like {@link #offHeap()}, with the edges kept in memory-mapped files in {@code dir}: reopening the
+     * directory restores every edge and weight as of the last {@link #flushEdges()}. Only the adjacency
+     * is stored there; employees and the interaction history come from the caller as usual.
+     */
+    public static ConnectionGraph offHeap(Path dir) throws IOException {
+        try {
+            return new ConnectionGraph(ids -> {
+                try {
+                    return OffHeapEdgeStore.open(dir, ids);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, false, InteractionColumns::new);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
     // Employee management
     public void addEmployee(Employee e) {
         Objects.requireNonNull(e, "employee");
-        if (employees.putIfAbsent(e.id(), e) != null) {
-            throw new IllegalArgumentException("Employee already exists: " + e.id());
+        WriteAheadLog wal = log;
+        long seq;
+        synchronized (employeeIndex) {
+            // Logged before the employee becomes visible, so it precedes any interaction naming it
+            if (employees.containsKey(e.id())) {
+                throw new IllegalArgumentException("Employee already exists: " + e.id());
+            }
+            seq = wal == null ? 0 : wal.appendEmployee(e);
+            employees.put(e.id(), e);
+            employeeIndex.intern(e.id());
         }
+        version.increment();
+        if (wal != null) wal.commit(seq);
     }
 
     public Map<String, Employee> getEmployees() {
         return Collections.unmodifiableMap(employees);
     }
 
+    public Map<String, SlackUser> getSlackUsers() {
+        return Collections.unmodifiableMap(slackUsers);
+    }
+
+    /** Recorded interactions in recording order (read-only view). */
+    public List<Interaction> getInteractions() {
+        return Collections.unmodifiableList(interactions);
+    }
+
+    /** Column-level access to the interactions of a {@link #columnar()} graph, without allocating records. */
+    public InteractionColumns interactionColumns() {
+        if (interactions instanceof InteractionColumns columns) return columns;
+        throw new IllegalStateException("Interactions are not stored in columns; create the graph with columnar()");
+    }
+
     public String nameOf(String employeeId) {
         Employee e = employees.get(employeeId);
         return e == null ? employeeId : e.name();
@@ -178,15 +329,23 @@ class ConnectionGraph {
         if (slackUsers.putIfAbsent(s.slackId(), s) != null) {
             throw new IllegalArgumentException("Slack user already exists: " + s.slackId());
         }
+        WriteAheadLog wal = log;
+        if (wal != null) wal.commit(wal.appendSlackUser(s));
         slackToEmployee.put(s.slackId(), s.employeeId());
     }
 
+    /** Employee ID mapped to {@code slackId}, or null if the Slack user is unknown. */
+    String employeeForSlack(String slackId) {
+        return slackToEmployee.get(slackId);
+    }
+
     // Recording interactions
     public void recordInteractionBySlack(String issueKey, String slackA, String slackB,
                                          InteractionType type, Instant timestamp) {
         String empA = slackToEmployee.get(slackA);
         String empB = slackToEmployee.get(slackB);
         if (empA == null || empB == null) {
+            metrics.rejectedUnknownEmployee(1);
             throw new IllegalArgumentException("Slack ID missing mapping to employee: " + slackA + ", " + slackB);
         }
         recordInteractionByEmployee(issueKey, empA, empB, type, timestamp);
@@ -199,74 +358,475 @@ class ConnectionGraph {
         Objects.requireNonNull(timestamp, "timestamp");
 
         if (!employees.containsKey(employeeA) || !employees.containsKey(employeeB)) {
+            metrics.rejectedUnknownEmployee(1);
             throw new IllegalArgumentException("Unknown employee(s) for interaction: " + employeeA + ", " + employeeB);
         }
         if (employeeA.equals(employeeB)) {
             // Ignore self-interaction
+            metrics.rejectedSelfInteraction(1);
             return;
         }
+        if (interactions instanceof InteractionColumns) InteractionColumns.checkTimestamp(timestamp);
 
         // Normalize ordering (optional, but adjacency is undirected anyway)
-        interactions.add(new Interaction(issueKey, employeeA, employeeB, type, timestamp));
-        incrementEdge(employeeA, employeeB, 1);
+        Interaction in = new Interaction(issueKey, employeeA, employeeB, type, timestamp);
+        WriteAheadLog wal = log;
+        if (wal != null) wal.commit(wal.appendInteraction(in));
+        long stamp = recording.readLock();
+        try {
+            int row = append(in);
+            incrementEdge(employeeA, employeeB, 1);
+            version.increment();
+            metrics.recorded(1);
+            for (InteractionListener l : listeners) l.onInteraction(in, row);
+        } finally {
+            recording.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Records a batch of interactions in one step.
+     *
+     * The batch is validated up front, so nothing is recorded if any interaction is incomplete,
+     * names an unknown employee or (in a columnar graph) has a timestamp outside 1677-2262.
+     * Per-edge counts are aggregated on the fork/join pool (one partial adjacency per task, merged
+     * pairwise), applied to the edge store once per distinct edge, and the interaction log grows
+     * with a single append. Self-interactions are ignored.
+     */
+    public void recordInteractions(Collection<Interaction> batch) {
+        Interaction[] items = batch.toArray(new Interaction[0]);
+        if (items.length == 0) return;
+
+        PartialAdjacencyTask task = new PartialAdjacencyTask(items, 0, items.length, employeeIndex,
+                interactions instanceof InteractionColumns);
+        LongIntHashMap deltas;
+        synchronized (employeeIndex) {
+            deltas = ForkJoinPool.commonPool().invoke(task);
+        }
+        if (task.unknownEmployees > 0) {
+            metrics.rejectedUnknownEmployee(task.unknownEmployees);
+            metrics.rejectedWithBatch(items.length - task.unknownEmployees);
+            Interaction first = items[task.firstUnknown];
+            throw new IllegalArgumentException("Unknown employee(s) for interaction: "
+                    + first.employeeA() + ", " + first.employeeB());
+        }
+
+        List<Interaction> accepted = Arrays.asList(items);
+        if (task.selfInteractions > 0) {
+            accepted = new ArrayList<>(items.length - task.selfInteractions);
+            for (Interaction in : items) {
+                if (!in.employeeA().equals(in.employeeB())) accepted.add(in);
+            }
+        }
+        WriteAheadLog wal = log;
+        if (wal != null) wal.commit(wal.appendInteractions(accepted));
+        long stamp = recording.readLock();
+        try {
+            int firstRow = appendAll(accepted);
+            edges.incrementAll(employeeIndex, deltas);
+            version.increment();
+            metrics.recorded(accepted.size());
+            metrics.rejectedSelfInteraction(task.selfInteractions);
+            for (InteractionListener l : listeners) l.onInteractions(accepted, firstRow);
+        } finally {
+            recording.unlockRead(stamp);
+        }
+    }
+
+    public void recordInteractions(Stream<Interaction> batch) {
+        recordInteractions(batch.toList());
+    }
+
+    /**
+     * Validates a slice of a batch and counts interactions per edge (lower index, higher index).
+     * Interactions naming an unknown employee are counted, with the position of the first, not thrown,
+     * so the caller can report how many there were.
+     */
+    @SuppressWarnings("serial")
+    private static final class PartialAdjacencyTask extends RecursiveTask<LongIntHashMap> {
+        private static final int LEAF_SIZE = 8192;
+
+        private final Interaction[] items;
+        private final int from;
+        private final int to;
+        private final IdInterner index;
+        private final boolean nanosecondTimestamps;
+        private int selfInteractions;
+        private int unknownEmployees;
+        private int firstUnknown = -1;
+
+        PartialAdjacencyTask(Interaction[] items, int from, int to, IdInterner index, boolean nanosecondTimestamps) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.index = index;
+            this.nanosecondTimestamps = nanosecondTimestamps;
+        }
+
+        @Override
+        protected LongIntHashMap compute() {
+            if (to - from <= LEAF_SIZE) {
+                return countEdges();
+            }
+            int mid = (from + to) >>> 1;
+            PartialAdjacencyTask left = new PartialAdjacencyTask(items, from, mid, index, nanosecondTimestamps);
+            PartialAdjacencyTask right = new PartialAdjacencyTask(items, mid, to, index, nanosecondTimestamps);
+            left.fork();
+            LongIntHashMap r = right.compute();
+            LongIntHashMap l = left.join();
+            selfInteractions = left.selfInteractions + right.selfInteractions;
+            unknownEmployees = left.unknownEmployees + right.unknownEmployees;
+            firstUnknown = left.firstUnknown >= 0 ? left.firstUnknown : right.firstUnknown;
+
+            // Fold the smaller partial adjacency into the larger one
+            LongIntHashMap into = l.size() >= r.size() ? l : r;
+            LongIntHashMap other = into == l ? r : l;
+            other.forEach(into::addTo);
+            return into;
+        }
+
+        private LongIntHashMap countEdges() {
+            LongIntHashMap partial = new LongIntHashMap(Math.min(to - from, 1024));
+            for (int i = from; i < to; i++) {
+                Interaction in = Objects.requireNonNull(items[i], "interaction");
+                Objects.requireNonNull(in.issueKey(), "issueKey");
+                Objects.requireNonNull(in.type(), "type");
+                Objects.requireNonNull(in.timestamp(), "timestamp");
+                if (nanosecondTimestamps) InteractionColumns.checkTimestamp(in.timestamp());
+
+                int u = in.employeeA() == null ? -1 : index.indexOf(in.employeeA());
+                int v = in.employeeB() == null ? -1 : index.indexOf(in.employeeB());
+                if (u < 0 || v < 0) {
+                    if (unknownEmployees++ == 0) firstUnknown = i;
+                    continue;
+                }
+                if (u == v) {
+                    selfInteractions++;
+                    continue;
+                }
+                partial.addTo(LongIntHashMap.edgeKey(Math.min(u, v), Math.max(u, v)), 1);
+            }
+            return partial;
+        }
     }
 
     // Queries
 
     public Map<String, Integer> getNeighbors(String employeeId) {
-        return adjacency.getOrDefault(employeeId, Map.of());
+        GraphMetrics m = metrics;
+        long start = m.start();
+        Map<String, Integer> neighbors = edges.neighbors(employeeId);
+        m.stop(GraphMetrics.Operation.NEIGHBORS, start);
+        return neighbors;
+    }
+
+    public int interactionCount() {
+        return interactions.size();
+    }
+
+    public long edgeCount() {
+        return edges.edgeCount();
+    }
+
+    /** Visits every undirected edge (a, b, weight) once. */
+    public void forEachEdge(EdgeStore.EdgeConsumer action) {
+        edges.forEachEdge(action);
     }
 
     public List<Map.Entry<String, Integer>> getTopCollaborators(String employeeId, int limit) {
-        return getNeighbors(employeeId).entrySet().stream()
+        GraphMetrics m = metrics;
+        long start = m.start();
+        List<Map.Entry<String, Integer>> top = topCollaborators(employeeId, limit);
+        m.stop(GraphMetrics.Operation.TOP_COLLABORATORS, start);
+        return top;
+    }
+
+    private List<Map.Entry<String, Integer>> topCollaborators(String employeeId, int limit) {
+        TopCollaboratorIndex index = topIndex;
+        if (index != null && limit <= index.k()) {
+            return index.top(employeeId, limit);
+        }
+        return edges.neighbors(employeeId).entrySet().stream()
                 .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
                 .limit(limit)
                 .toList();
     }
 
+    /** The {@code limit} heaviest edges of the graph, heaviest first. */
+    public List<WeightedEdge> getStrongestEdges(int limit) {
+        GraphMetrics m = metrics;
+        long start = m.start();
+        List<WeightedEdge> strongest = strongestEdges(limit);
+        m.stop(GraphMetrics.Operation.STRONGEST_EDGES, start);
+        return strongest;
+    }
+
+    private List<WeightedEdge> strongestEdges(int limit) {
+        if (limit <= 0) return List.of();
+        TopCollaboratorIndex index = topIndex;
+        if (index != null && limit <= index.k()) {
+            return index.strongestEdges(limit);
+        }
+        // Min-heap of the best candidates seen so far
+        PriorityQueue<WeightedEdge> best = new PriorityQueue<>(Comparator.comparingInt(WeightedEdge::weight));
+        edges.forEachEdge((a, b, w) -> {
+            if (best.size() < limit) {
+                best.add(new WeightedEdge(a, b, w));
+            } else if (w > best.peek().weight()) {
+                best.poll();
+                best.add(new WeightedEdge(a, b, w));
+            }
+        });
+        List<WeightedEdge> out = new ArrayList<>(best);
+        out.sort(Comparator.comparingInt(WeightedEdge::weight).reversed());
+        return out;
+    }
+
+    /**
+     * Maintains the {@code k} strongest collaborators of every employee, and the {@code k} strongest
+     * edges overall, as interactions are recorded (see {@link TopCollaboratorIndex}). Afterwards
+     * {@code getTopCollaborators} and {@code getStrongestEdges} with {@code limit <= k} cost O(k).
+     * Seeded from the current edges.
+     */
+    public synchronized TopCollaboratorIndex indexTopCollaborators(int k) {
+        topIndex = attach(() -> new TopCollaboratorIndex(k, edges), topIndex);
+        return topIndex;
+    }
+
+    /** Distinct employees who interacted on {@code issueKey}, via the issue index. */
+    public List<String> getIssueParticipants(String issueKey) {
+        return issueIndex().participants(issueKey);
+    }
+
+    /** Distinct issues on which two employees interacted, most recently linked first, via the issue index. */
+    public List<String> getIssuesBetween(String employeeA, String employeeB) {
+        return issueIndex().issuesBetween(employeeA, employeeB);
+    }
+
+    /**
+     * (Re)builds the issue index ({@link IssueIndex}): issue -> participants and timestamps, and
+     * edge -> issues. Filled from the interactions recorded so far and then kept current as a
+     * listener. Built on first use otherwise.
+     */
+    public synchronized IssueIndex indexIssues() {
+        issueIndex = attach(() -> {
+            IssueIndex index = new IssueIndex(employeeIndex);
+            index.onInteractions(interactions);
+            return index;
+        }, issueIndex);
+        return issueIndex;
+    }
+
+    private synchronized IssueIndex issueIndex() {
+        return issueIndex != null ? issueIndex : indexIssues();
+    }
+
+    /** Decayed weight of edge (a, b) as of {@code asOf}, via the decayed-weight index; O(1). */
+    public double getDecayedWeight(String employeeA, String employeeB, Instant asOf) {
+        return decayedWeights().weight(employeeA, employeeB, asOf);
+    }
+
+    /**
+     * Like {@link #getTopCollaborators}, ranked by time-decayed weight as of {@code asOf}
+     * (see {@link #indexDecayedWeights}), so recent collaborators come first.
+     */
+    public List<Map.Entry<String, Double>> getTopCollaboratorsDecayed(String employeeId, int limit, Instant asOf) {
+        GraphMetrics m = metrics;
+        long start = m.start();
+        List<Map.Entry<String, Double>> top = decayedWeights().top(employeeId, limit, asOf);
+        m.stop(GraphMetrics.Operation.TOP_COLLABORATORS, start);
+        return top;
+    }
+
+    /**
+     * (Re)builds the time-decayed edge weights ({@link DecayedWeights}): each interaction counts 1 and
+     * halves in value every {@code halfLife}. Filled from the interactions recorded so far and then kept
+     * current as a listener. Built on first use with a 30-day half-life otherwise.
+     */
+    public synchronized DecayedWeights indexDecayedWeights(Duration halfLife) {
+        decayed = attach(() -> {
+            DecayedWeights index = new DecayedWeights(halfLife, employeeIndex);
+            index.onInteractions(interactions);
+            return index;
+        }, decayed);
+        return decayed;
+    }
+
+    private synchronized DecayedWeights decayedWeights() {
+        return decayed != null ? decayed : indexDecayedWeights(DecayedWeights.DEFAULT_HALF_LIFE);
+    }
+
+    /**
+     * Immutable, versioned view of the current edges that later recording never changes (see
+     * {@link GraphSnapshot}). The first call builds the persistent adjacency in O(E) and keeps it
+     * current as a listener; later calls are O(1).
+     */
+    public GraphSnapshot snapshot() {
+        GraphSnapshot.Publisher publisher = snapshots;
+        return (publisher != null ? publisher : snapshotPublisher()).current();
+    }
+
+    private synchronized GraphSnapshot.Publisher snapshotPublisher() {
+        if (snapshots == null) snapshots = attach(() -> new GraphSnapshot.Publisher(this), null);
+        return snapshots;
+    }
+
     public List<String> shortestPath(String fromEmployeeId, String toEmployeeId) {
         if (fromEmployeeId.equals(toEmployeeId)) return List.of(fromEmployeeId);
         if (!employees.containsKey(fromEmployeeId) || !employees.containsKey(toEmployeeId)) return List.of();
+        GraphMetrics m = metrics;
+        long start = m.start();
+        GraphMetrics.TraversalEvent event = new GraphMetrics.TraversalEvent();
+        event.begin();
+        List<String> path = edges.shortestPath(fromEmployeeId, toEmployeeId);
+        event.end();
+        m.stop(GraphMetrics.Operation.SHORTEST_PATH, start);
+        if (event.shouldCommit()) {
+            event.operation = "shortestPath";
+            event.from = fromEmployeeId;
+            event.to = toEmployeeId;
+            event.resultSize = path.size();
+            event.commit();
+        }
+        return path;
+    }
 
-        Set<String> visited = new HashSet<>();
-        Map<String, String> prev = new HashMap<>();
-        Deque<String> q = new ArrayDeque<>();
-
-        visited.add(fromEmployeeId);
-        q.add(fromEmployeeId);
-
-        while (!q.isEmpty()) {
-            String u = q.poll();
-            for (String v : adjacency.getOrDefault(u, Map.of()).keySet()) {
-                if (!visited.contains(v)) {
-                    visited.add(v);
-                    prev.put(v, u);
-                    if (v.equals(toEmployeeId)) {
-                        return reconstructPath(prev, fromEmployeeId, toEmployeeId);
-                    }
-                    q.add(v);
-                }
-            }
+    /**
+     * Path engine over the current employees and edges: bidirectional BFS, weighted Dijkstra/A*
+     * (edge cost {@code 1 / weight}) and parallel batches of pairs (see {@link PathEngine}).
+     * The engine is an immutable copy, cached until the graph changes; rebuilding is O(V + E).
+     */
+    public PathEngine pathEngine() {
+        long current = version.sum();
+        PathEngine engine = pathEngine;
+        if (engine == null || engine.version() != current) {
+            engine = PathEngine.build(this, current);
+            pathEngine = engine;
         }
-        return List.of();
+        return engine;
+    }
+
+    /**
+     * Landmark distance oracle over this graph (see {@link LandmarkOracle}): hop-distance bounds in
+     * O(landmarks) and landmark-guided exact paths. Rebuilt on the querying thread once the graph changed;
+     * construct {@code LandmarkOracle} with an executor to rebuild in the background instead.
+     */
+    public LandmarkOracle distanceOracle(int landmarks) {
+        return new LandmarkOracle(this, landmarks, null);
+    }
+
+    /**
+     * Connected components of the current graph, by parallel union-find on the common fork/join pool
+     * (see {@link GraphAnalytics}). Employees who never interacted are singleton components.
+     */
+    public GraphAnalytics.Partition connectedComponents() {
+        return traced("connectedComponents",
+                () -> new GraphAnalytics(pathEngine(), ForkJoinPool.commonPool()).connectedComponents());
+    }
+
+    /** Collaboration communities by parallel weighted label propagation (at most 20 sweeps). */
+    public GraphAnalytics.Partition communities() {
+        return traced("communities",
+                () -> new GraphAnalytics(pathEngine(), ForkJoinPool.commonPool()).communities(20));
+    }
+
+    /**
+     * PageRank of every employee (see {@link GraphAnalytics#pageRank}); {@code weighted} walks edges in
+     * proportion to their interaction counts. Damping 0.85, until the L1 change drops below 1e-9 (at
+     * most 100 iterations).
+     */
+    public GraphAnalytics.Scores pageRank(boolean weighted) {
+        return traced("pageRank",
+                () -> new GraphAnalytics(pathEngine(), ForkJoinPool.commonPool()).pageRank(weighted, 0.85, 1e-9, 100));
+    }
+
+    /**
+     * Betweenness centrality (see {@link GraphAnalytics#betweenness}); {@code weighted} measures paths
+     * by {@code 1 / weight}. Exact for {@code samples <= 0}, otherwise estimated from that many sources.
+     */
+    public GraphAnalytics.Scores betweenness(boolean weighted, int samples) {
+        return traced("betweenness",
+                () -> new GraphAnalytics(pathEngine(), ForkJoinPool.commonPool()).betweenness(weighted, samples, 42));
+    }
+
+    /** Counter bumped by every change to employees or edges. */
+    long version() {
+        return version.sum();
     }
 
-    private List<String> reconstructPath(Map<String, String> prev, String start, String end) {
-        LinkedList<String> path = new LinkedList<>();
-        String curr = end;
-        while (curr != null) {
-            path.addFirst(curr);
-            curr = prev.get(curr);
+    /** Runs a whole-graph computation, reporting it as a JFR traversal event if it ran long. */
+    private static <T> T traced(String operation, Supplier<T> computation) {
+        GraphMetrics.TraversalEvent event = new GraphMetrics.TraversalEvent();
+        event.begin();
+        T result = computation.get();
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.commit();
         }
-        if (!path.isEmpty() && path.getFirst().equals(start)) {
-            return path;
+        return result;
+    }
+
+    // Metrics
+
+    /**
+     * Starts collecting interaction counters and query latency histograms (see {@link GraphMetrics});
+     * returns the live instance. Calling it again keeps the current counts.
+     */
+    public synchronized GraphMetrics enableMetrics() {
+        if (!metrics.enabled()) metrics = new GraphMetrics();
+        return metrics;
+    }
+
+    /** Stops collecting; the hooks go back to no-ops and the collected counts are dropped. */
+    public synchronized void disableMetrics() {
+        metrics = GraphMetrics.DISABLED;
+    }
+
+    /**
+     * Counters and latencies collected since {@link #enableMetrics()} (zero when disabled), plus size
+     * gauges: employees, edges, interactions and the estimated heap held by edges and interactions.
+     */
+    public GraphMetrics.Report metricsReport() {
+        long bytes = edges.estimatedBytes() + (interactions instanceof InteractionColumns columns
+                ? columns.estimatedBytes()
+                : (long) interactions.size() * (40 + 24 + 8)); // record, Instant, list slot
+        return metrics.report(employees.size(), edges.edgeCount(), interactions.size(), bytes);
+    }
+
+    // Listeners
+
+    /** Registers {@code listener} for interactions recorded from now on. */
+    public void addInteractionListener(InteractionListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    public void removeInteractionListener(InteractionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers the listener built by {@code seeded}, which fills it from the interactions or edges
+     * recorded so far, in place of {@code replaced} (if not null). Recording calls wait while this runs,
+     * so the listener sees every interaction exactly once: in its seed or as a callback.
+     */
+    private <L extends InteractionListener> L attach(Supplier<L> seeded, InteractionListener replaced) {
+        long stamp = recording.writeLock();
+        try {
+            L listener = seeded.get();
+            if (replaced != null) listeners.remove(replaced);
+            listeners.add(listener);
+            return listener;
+        } finally {
+            recording.unlockWrite(stamp);
         }
-        return List.of();
     }
 
     // Filtered views
 
     public Map<String, Map<String, Integer>> buildAdjacencyFiltered(Predicate<Interaction> filter) {
+        GraphMetrics m = metrics;
+        long start = m.start();
         Map<String, Map<String, Integer>> adj = new HashMap<>();
         for (Interaction i : interactions) {
             if (filter.test(i)) {
@@ -274,13 +834,92 @@ class ConnectionGraph {
             }
         }
         // Return as unmodifiable snapshot
-        return deepUnmodifiable(adj);
+        Map<String, Map<String, Integer>> view = deepUnmodifiable(adj);
+        m.stop(GraphMetrics.Operation.FILTERED_VIEW, start);
+        return view;
+    }
+
+    /**
+     * Adjacency of the interactions with {@code from <= timestamp < to}, answered from the
+     * time-bucket index (per-day buckets unless {@link #indexByTime} chose another size) instead
+     * of a scan over all interactions. Same shape as {@link #buildAdjacencyFiltered}.
+     */
+    public Map<String, Map<String, Integer>> buildAdjacencyBetween(Instant from, Instant to) {
+        GraphMetrics m = metrics;
+        long start = m.start();
+        Map<String, Map<String, Integer>> view = timeIndex().adjacency(from, to);
+        m.stop(GraphMetrics.Operation.FILTERED_VIEW, start);
+        return view;
+    }
+
+    /**
+     * (Re)builds the time-bucket index with buckets of {@code bucketSize}, e.g. {@code Duration.ofHours(1)}
+     * for short windows. The index is filled from the interactions recorded so far and then kept
+     * current as a listener.
+     */
+    public synchronized TimeBucketIndex indexByTime(Duration bucketSize) {
+        timeIndex = attach(() -> new TimeBucketIndex(bucketSize, interactions, employeeIndex), timeIndex);
+        return timeIndex;
+    }
+
+    private synchronized TimeBucketIndex timeIndex() {
+        return timeIndex != null ? timeIndex : indexByTime(Duration.ofDays(1));
+    }
+
+    /** Visits the interactions with {@code from <= timestamp < to} via the time-bucket index. */
+    void forEachInteractionBetween(Instant from, Instant to, Consumer<Interaction> action) {
+        timeIndex().forEachBetween(from, to, action);
+    }
+
+    /**
+     * Adjacency of the interactions matching {@code filter}, served from a cache of materialized
+     * views that new interactions patch in place (see {@link FilteredViewCache}).
+     */
+    public Map<String, Map<String, Integer>> buildAdjacency(InteractionFilter filter) {
+        GraphMetrics m = metrics;
+        long start = m.start();
+        // A time-range miss reads the time index. Attach it before the cache lock is taken: attaching
+        // waits for recording calls, which may be waiting for that lock to patch the cached views
+        if (filter.from() != null || filter.to() != null) timeIndex();
+        Map<String, Map<String, Integer>> view = viewCache().get(filter);
+        m.stop(GraphMetrics.Operation.FILTERED_VIEW, start);
+        return view;
+    }
+
+    /**
+     * Replaces the filtered-view cache with one holding at most {@code maxWeight} adjacency entries
+     * across all cached views (default 1M).
+     */
+    public synchronized FilteredViewCache cacheViews(long maxWeight) {
+        viewCache = attach(() -> new FilteredViewCache(this, maxWeight), viewCache);
+        return viewCache;
+    }
+
+    private synchronized FilteredViewCache viewCache() {
+        return viewCache != null ? viewCache : cacheViews(1 << 20);
+    }
+
+    /**
+     * Rolling view of the last {@code window} that follows this graph: weights grow as interactions
+     * are recorded and shrink as they age out (see {@link SlidingWindowGraph}). Seeded from the
+     * interactions recorded so far; close it when done, or every later recording keeps updating it.
+     */
+    public SlidingWindowGraph slidingWindow(Duration window) {
+        return slidingWindow(window, Clock.systemUTC());
+    }
+
+    public synchronized SlidingWindowGraph slidingWindow(Duration window, Clock clock) {
+        return attach(() -> {
+            SlidingWindowGraph view = new SlidingWindowGraph(this, window, clock);
+            view.onInteractions(interactions);
+            return view;
+        }, null);
     }
 
     // Export
 
     public String toDOT() {
-        return toDOTFromAdjacency(this.adjacency);
+        return toDOTFromAdjacency(edges.asMap());
     }
 
     public String toDOTFiltered(Predicate<Interaction> filter) {
@@ -288,39 +927,67 @@ class ConnectionGraph {
         return toDOTFromAdjacency(adj);
     }
 
-    private String toDOTFromAdjacency(Map<String, Map<String, Integer>> adj) {
+    public String toDOTBetween(Instant from, Instant to) {
+        return toDOTFromAdjacency(buildAdjacencyBetween(from, to));
+    }
+
+    public String toDOT(InteractionFilter filter) {
         StringBuilder sb = new StringBuilder();
-        sb.append("graph EmployeeConnections {\n");
-        sb.append("  node [shape=circle, style=filled, fillcolor=lightyellow];\n");
-
-        // Emit nodes
-        for (Employee e : employees.values()) {
-            sb.append("  \"").append(e.id()).append("\"")
-              .append(" [label=\"").append(e.name()).append("\\n").append(e.department()).append("\"];\n");
-        }
-
-        // Emit undirected edges (u < v to avoid duplicates)
-        Set<String> done = new HashSet<>();
-        for (Map.Entry<String, Map<String, Integer>> uEntry : adj.entrySet()) {
-            String u = uEntry.getKey();
-            for (Map.Entry<String, Integer> vEntry : uEntry.getValue().entrySet()) {
-                String v = vEntry.getKey();
-                int w = vEntry.getValue();
-                String key = u.compareTo(v) < 0 ? u + "#" + v : v + "#" + u;
-                if (done.add(key)) {
-                    sb.append("  \"").append(u).append("\" -- \"").append(v).append("\" [label=\"")
-                      .append(w).append("\"];\n");
-                }
-            }
+        try {
+            writeDOT(sb, filter, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        sb.append("}\n");
         return sb.toString();
     }
 
+    String toDOTFromAdjacency(Map<String, Map<String, Integer>> adj) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            exporter.writeDot(sb, adj, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /** Streams the all-time DOT graph to {@code out}. */
+    public void writeDOT(Appendable out) throws IOException {
+        exporter.writeDot(out, edges.asMap(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams the DOT graph of the interactions matching {@code filter} to {@code out}, keeping only
+     * the {@code maxEdges} heaviest edges and the employees they connect ({@code Integer.MAX_VALUE}
+     * keeps everything). {@link InteractionFilter#all()} streams straight from the edge store; other
+     * filters use a cached view if there is one, and are not added to the view cache otherwise.
+     */
+    public void writeDOT(Appendable out, InteractionFilter filter, int maxEdges) throws IOException {
+        if (filter.equals(InteractionFilter.all())) {
+            exporter.writeDot(out, edges::forEachEdge, maxEdges);
+        } else {
+            exporter.writeDot(out, exportAdjacency(filter), maxEdges);
+        }
+    }
+
+    public void writeDOT(WritableByteChannel channel, InteractionFilter filter, int maxEdges) throws IOException {
+        Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+        writeDOT(out, filter, maxEdges);
+        out.flush();
+    }
+
+    /**
+     * Streams the DOT graph with time-decayed weights as of {@code asOf}, rounded, keeping the
+     * {@code maxEdges} heaviest edges; edges decayed below 0.5 are left out.
+     */
+    public void writeDOTDecayed(Appendable out, Instant asOf, int maxEdges) throws IOException {
+        exporter.writeDot(out, decayedWeights().roundedAdjacency(asOf), maxEdges);
+    }
+
     // Mermaid export
 
     public String toMermaid() {
-        return toMermaidFromAdjacency(this.adjacency);
+        return toMermaidFromAdjacency(edges.asMap());
     }
 
     public String toMermaidFiltered(Predicate<Interaction> filter) {
@@ -328,303 +995,268 @@ class ConnectionGraph {
         return toMermaidFromAdjacency(adj);
     }
 
-    private String toMermaidFromAdjacency(Map<String, Map<String, Integer>> adj) {
+    public String toMermaidBetween(Instant from, Instant to) {
+        return toMermaidFromAdjacency(buildAdjacencyBetween(from, to));
+    }
+
+    public String toMermaid(InteractionFilter filter) {
         StringBuilder sb = new StringBuilder();
-        sb.append("graph TD;\n");
-
-        // Emit nodes
-        for (Employee e : employees.values()) {
-            String id = mermaidSafeId(e.id());
-            sb.append("  ").append(id)
-              .append("[\"").append(escapeMermaid(e.name()))
-              .append("<br/>").append(escapeMermaid(e.department()))
-              .append("\"];\n");
-        }
-
-        // Emit undirected edges once
-        Set<String> done = new HashSet<>();
-        for (Map.Entry<String, Map<String, Integer>> uEntry : adj.entrySet()) {
-            String u = uEntry.getKey();
-            for (Map.Entry<String, Integer> vEntry : uEntry.getValue().entrySet()) {
-                String v = vEntry.getKey();
-                int w = vEntry.getValue();
-                String key = u.compareTo(v) < 0 ? u + "#" + v : v + "#" + u;
-                if (done.add(key)) {
-                    sb.append("  ").append(mermaidSafeId(u))
-                      .append(" ---|").append(w).append("| ")
-                      .append(mermaidSafeId(v)).append(";\n");
-                }
-            }
+        try {
+            writeMermaid(sb, filter, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
         return sb.toString();
     }
 
-    private static String mermaidSafeId(String s) {
-        if (s == null || s.isEmpty()) return "N_";
-        String base = s.replaceAll("[^A-Za-z0-9_]", "_");
-        if (!Character.isLetter(base.charAt(0))) {
-            base = "N_" + base;
+    String toMermaidFromAdjacency(Map<String, Map<String, Integer>> adj) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            exporter.writeMermaid(sb, adj, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return base;
+        return sb.toString();
+    }
+
+    /** Streams the all-time Mermaid graph to {@code out}. */
+    public void writeMermaid(Appendable out) throws IOException {
+        exporter.writeMermaid(out, edges.asMap(), Integer.MAX_VALUE);
     }
 
-    private static String escapeMermaid(String s) {
-        if (s == null) return "";
-        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    /** Mermaid counterpart of {@link #writeDOT(Appendable, InteractionFilter, int)}. */
+    public void writeMermaid(Appendable out, InteractionFilter filter, int maxEdges) throws IOException {
+        if (filter.equals(InteractionFilter.all())) {
+            exporter.writeMermaid(out, edges::forEachEdge, maxEdges);
+        } else {
+            exporter.writeMermaid(out, exportAdjacency(filter), maxEdges);
+        }
+    }
+
+    public void writeMermaid(WritableByteChannel channel, InteractionFilter filter, int maxEdges) throws IOException {
+        Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+        writeMermaid(out, filter, maxEdges);
+        out.flush();
+    }
+
+    /** Mermaid counterpart of {@link #writeDOTDecayed}. */
+    public void writeMermaidDecayed(Appendable out, Instant asOf, int maxEdges) throws IOException {
+        exporter.writeMermaid(out, decayedWeights().roundedAdjacency(asOf), maxEdges);
+    }
+
+    /** Adjacency for a one-off export: the cached view of {@code filter}, or one built without caching it. */
+    private Map<String, Map<String, Integer>> exportAdjacency(InteractionFilter filter) {
+        GraphMetrics m = metrics;
+        long start = m.start();
+        FilteredViewCache cache;
+        synchronized (this) {
+            cache = viewCache;
+        }
+        Map<String, Map<String, Integer>> adj = cache == null ? null : cache.getIfCached(filter);
+        if (adj == null) adj = FilteredViewCache.compute(this, filter);
+        m.stop(GraphMetrics.Operation.FILTERED_VIEW, start);
+        return adj;
     }
 
     // Persistence (JSON)
 
     public String toJson() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{\n");
-
-        // employees
-        sb.append("  \"employees\": [\n");
-        List<Employee> elist = new ArrayList<>(employees.values());
-        elist.sort(Comparator.comparing(Employee::id));
-        for (int i = 0; i < elist.size(); i++) {
-            Employee e = elist.get(i);
-            sb.append("    {")
-              .append("\"id\":\"").append(jsonEscape(e.id())).append("\",")
-              .append("\"name\":\"").append(jsonEscape(e.name())).append("\",")
-              .append("\"email\":\"").append(jsonEscape(e.email())).append("\",")
-              .append("\"department\":\"").append(jsonEscape(e.department())).append("\"")
-              .append("}");
-            if (i < elist.size() - 1) sb.append(",");
-            sb.append("\n");
-        }
-        sb.append("  ],\n");
-
-        // slack users
-        sb.append("  \"slackUsers\": [\n");
-        List<SlackUser> sulist = new ArrayList<>(slackUsers.values());
-        sulist.sort(Comparator.comparing(SlackUser::slackId));
-        for (int i = 0; i < sulist.size(); i++) {
-            SlackUser s = sulist.get(i);
-            sb.append("    {")
-              .append("\"slackId\":\"").append(jsonEscape(s.slackId())).append("\",")
-              .append("\"handle\":\"").append(jsonEscape(s.handle())).append("\",")
-              .append("\"employeeId\":\"").append(jsonEscape(s.employeeId())).append("\"")
-              .append("}");
-            if (i < sulist.size() - 1) sb.append(",");
-            sb.append("\n");
-        }
-        sb.append("  ],\n");
-
-        // interactions
-        sb.append("  \"interactions\": [\n");
-        for (int i = 0; i < interactions.size(); i++) {
-            Interaction in = interactions.get(i);
-            sb.append("    {")
-              .append("\"issueKey\":\"").append(jsonEscape(in.issueKey())).append("\",")
-              .append("\"employeeA\":\"").append(jsonEscape(in.employeeA())).append("\",")
-              .append("\"employeeB\":\"").append(jsonEscape(in.employeeB())).append("\",")
-              .append("\"type\":\"").append(in.type().name()).append("\",")
-              .append("\"timestamp\":\"").append(in.timestamp().toString()).append("\"")
-              .append("}");
-            if (i < interactions.size() - 1) sb.append(",");
-            sb.append("\n");
-        }
-        sb.append("  ]\n");
-
-        sb.append("}\n");
-        return sb.toString();
+        StringWriter out = new StringWriter();
+        try {
+            writeJson(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
     }
 
-    public void saveJson(Path path) throws IOException {
-        Files.writeString(path, toJson(), StandardCharsets.UTF_8);
+    /** Streams the JSON document to {@code out} through a bounded buffer; does not close it. */
+    public void writeJson(Writer out) throws IOException {
+        JsonGraphWriter.write(out, employees.values(), slackUsers.values(), interactions);
     }
 
-    public static ConnectionGraph loadJson(Path path) throws IOException {
-        String json = Files.readString(path, StandardCharsets.UTF_8);
-        return fromJson(json);
+    public void writeJson(WritableByteChannel channel) throws IOException {
+        writeJson(Channels.newWriter(channel, StandardCharsets.UTF_8));
     }
 
-    public static ConnectionGraph fromJson(String json) {
-        ConnectionGraph g = new ConnectionGraph();
+    /** Saves atomically: see {@link #saveJson(Path, boolean)}. */
+    public void saveJson(Path path) throws IOException {
+        saveJson(path, true);
+    }
+
+    /**
+     * Streams the JSON document to {@code path}. With {@code atomic}, the document is written to a
+     * temporary file in the same directory, forced to disk and renamed over {@code path}, so
+     * readers see either the previous file or the complete new one.
+     */
+    public void saveJson(Path path, boolean atomic) throws IOException {
+        GraphMetrics.JsonSaveEvent event = new GraphMetrics.JsonSaveEvent();
+        event.begin();
+        writeJsonFile(path, atomic);
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path.toString();
+            event.interactions = interactions.size();
+            event.bytes = Files.size(path);
+            event.commit();
+        }
+    }
 
-        // employees
-        String empArr = extractArray(json, "employees");
-        for (Map<String, String> m : parseFlatObjectsArray(empArr)) {
-            String id = m.get("id");
-            if (id == null || id.isEmpty()) continue;
-            g.addEmployee(new Employee(
-                    id,
-                    m.getOrDefault("name", ""),
-                    m.getOrDefault("email", ""),
-                    m.getOrDefault("department", "")
-            ));
-        }
-
-        // slack users
-        String suArr = extractArray(json, "slackUsers");
-        for (Map<String, String> m : parseFlatObjectsArray(suArr)) {
-            String sid = m.get("slackId");
-            String empId = m.get("employeeId");
-            if (sid != null && empId != null) {
-                g.addSlackUser(new SlackUser(
-                        sid,
-                        m.getOrDefault("handle", ""),
-                        empId
-                ));
+    private void writeJsonFile(Path path, boolean atomic) throws IOException {
+        if (!atomic) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeJson(channel);
             }
+            return;
         }
 
-        // interactions
-        String inArr = extractArray(json, "interactions");
-        for (Map<String, String> m : parseFlatObjectsArray(inArr)) {
-            String issueKey = m.get("issueKey");
-            String a = m.get("employeeA");
-            String b = m.get("employeeB");
-            String typeS = m.get("type");
-            String ts = m.get("timestamp");
-            if (issueKey != null && a != null && b != null && typeS != null && ts != null) {
-                InteractionType type = InteractionType.valueOf(typeS);
-                Instant t = Instant.parse(ts);
-                g.recordInteractionByEmployee(issueKey, a, b, type, t);
+        Path tmp = createTempSibling(path);
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                writeJson(channel);
+                channel.force(true);
             }
+            try {
+                Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
         }
+    }
 
-        return g;
+    public static ConnectionGraph loadJson(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return loadJson(Channels.newReader(channel, StandardCharsets.UTF_8), path.toString());
+        }
     }
 
-    private static String jsonEscape(String s) {
-        if (s == null) return "";
-        StringBuilder out = new StringBuilder(s.length() + 8);
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            switch (c) {
-                case '\\' -> out.append("\\\\");
-                case '"' -> out.append("\\\"");
-                case '\n' -> out.append("\\n");
-                case '\r' -> out.append("\\r");
-                case '\t' -> out.append("\\t");
-                default -> out.append(c);
-            }
+    public static ConnectionGraph loadJson(ReadableByteChannel channel) throws IOException {
+        return loadJson(Channels.newReader(channel, StandardCharsets.UTF_8));
+    }
+
+    /** Streams a {@link #toJson()} document into a new graph without materializing it. */
+    public static ConnectionGraph loadJson(Reader reader) throws IOException {
+        return loadJson(reader, null);
+    }
+
+    private static ConnectionGraph loadJson(Reader reader, String source) throws IOException {
+        GraphMetrics.JsonLoadEvent event = new GraphMetrics.JsonLoadEvent();
+        event.begin();
+        ConnectionGraph g = new ConnectionGraph();
+        JsonGraphReader.read(reader, g);
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.employees = g.employees.size();
+            event.interactions = g.interactions.size();
+            event.commit();
         }
-        return out.toString();
+        return g;
     }
 
-    private static String extractArray(String json, String key) {
-        String pattern = "\"" + key + "\"";
-        int k = json.indexOf(pattern);
-        if (k < 0) return "";
-        int lb = json.indexOf('[', k);
-        if (lb < 0) return "";
-        int depth = 0;
-        int i = lb;
-        for (; i < json.length(); i++) {
-            char c = json.charAt(i);
-            if (c == '[') depth++;
-            else if (c == ']') {
-                depth--;
-                if (depth == 0) { i++; break; }
-            }
+    public static ConnectionGraph fromJson(String json) {
+        try {
+            return loadJson(new StringReader(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        if (i <= lb) return "";
-        // return inside brackets
-        return json.substring(lb + 1, i - 1);
-    }
-
-    private static List<Map<String, String>> parseFlatObjectsArray(String arr) {
-        List<Map<String, String>> out = new ArrayList<>();
-        int i = 0, n = arr.length();
-        while (i < n) {
-            // skip whitespace and commas
-            while (i < n && (Character.isWhitespace(arr.charAt(i)) || arr.charAt(i) == ',')) i++;
-            if (i >= n) break;
-            if (arr.charAt(i) != '{') { i++; continue; }
-            int start = i;
-            int depth = 0;
-            boolean inString = false;
-            boolean escape = false;
-            for (; i < n; i++) {
-                char c = arr.charAt(i);
-                if (inString) {
-                    if (escape) { escape = false; }
-                    else if (c == '\\') { escape = true; }
-                    else if (c == '\"') { inString = false; }
-                    continue;
-                }
-                if (c == '\"') { inString = true; continue; }
-                if (c == '{') depth++;
-                else if (c == '}') {
-                    depth--;
-                    if (depth == 0) { i++; break; }
-                }
-            }
-            if (i <= start) break;
-            String obj = arr.substring(start, i);
-            out.add(parseFlatObject(obj));
+    }
+
+    // Persistence (binary snapshot)
+
+    /** Writes a binary snapshot (see {@link SnapshotFile}) via temp file and atomic rename. */
+    public void saveSnapshot(Path path) throws IOException {
+        SnapshotFile.write(this, path);
+    }
+
+    /** Maps a snapshot for read-only queries without deserializing it; close it when done. */
+    public static SnapshotFile openSnapshot(Path path) throws IOException {
+        return SnapshotFile.open(path);
+    }
+
+    /** Rebuilds a mutable graph from a binary snapshot. */
+    public static ConnectionGraph loadSnapshot(Path path) throws IOException {
+        try (SnapshotFile snapshot = SnapshotFile.open(path)) {
+            return snapshot.toConnectionGraph();
         }
-        return out;
     }
 
-    private static Map<String, String> parseFlatObject(String obj) {
-        Map<String, String> m = new HashMap<>();
-        int i = 0, n = obj.length();
-        while (i < n) {
-            char ch = obj.charAt(i);
-            if (ch == '\"') {
-                // parse key
-                i++;
-                StringBuilder key = new StringBuilder();
-                boolean esc = false;
-                while (i < n) {
-                    char c = obj.charAt(i);
-                    if (esc) { key.append(c); esc = false; i++; continue; }
-                    if (c == '\\') { esc = true; i++; continue; }
-                    if (c == '\"') break;
-                    key.append(c); i++;
-                }
-                i++; // skip closing quote
-
-                // skip spaces and colon
-                while (i < n && Character.isWhitespace(obj.charAt(i))) i++;
-                if (i < n && obj.charAt(i) == ':') i++;
-                while (i < n && Character.isWhitespace(obj.charAt(i))) i++;
-
-                // parse value (quoted string)
-                String valStr = "";
-                if (i < n && obj.charAt(i) == '\"') {
-                    i++;
-                    StringBuilder val = new StringBuilder();
-                    esc = false;
-                    while (i < n) {
-                        char c = obj.charAt(i);
-                        if (esc) {
-                            switch (c) {
-                                case '"' -> val.append('"');
-                                case '\\' -> val.append('\\');
-                                case 'n' -> val.append('\n');
-                                case 'r' -> val.append('\r');
-                                case 't' -> val.append('\t');
-                                default -> val.append(c);
-                            }
-                            esc = false;
-                            i++;
-                            continue;
-                        }
-                        if (c == '\\') { esc = true; i++; continue; }
-                        if (c == '\"') break;
-                        val.append(c); i++;
-                    }
-                    i++; // skip closing quote
-                    valStr = val.toString();
+    // Persistence (snapshot + write-ahead log)
+
+    /**
+     * Recovers the graph kept in {@code dir} (latest snapshot plus log replay) and logs every
+     * further mutation there; see {@link GraphJournal}. Close the journal to flush the log.
+     */
+    public static GraphJournal openJournal(Path dir) throws IOException {
+        return GraphJournal.open(dir, WriteAheadLog.Options.defaults(), ConnectionGraph::new);
+    }
+
+    public static GraphJournal openJournal(Path dir, WriteAheadLog.Options options,
+                                           Supplier<ConnectionGraph> newGraph) throws IOException {
+        return GraphJournal.open(dir, options, newGraph);
+    }
+
+    /** Forces edges to disk when they live in mapped files (see {@link #offHeap(Path)}); otherwise a no-op. */
+    public void flushEdges() throws IOException {
+        edges.flush();
+    }
+
+    /** Starts appending mutations to {@code wal}; called once recovery has replayed the existing log. */
+    void attachLog(WriteAheadLog wal) {
+        this.log = wal;
+    }
+
+    // Internal helpers
+
+    /**
+     * Creates an empty temporary file next to {@code target} to be renamed over it. Unlike
+     * {@link Files#createTempFile} (owner-only permissions) it gets the usual umask permissions,
+     * or the target's own permissions when the target exists, so the rename leaves them unchanged.
+     */
+    static Path createTempSibling(Path target) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        String prefix = target.getFileName() + ".";
+        while (true) {
+            Path tmp = dir.resolve(prefix + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                Files.newByteChannel(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+            if (view != null && Files.exists(target)) {
+                try {
+                    Files.setPosixFilePermissions(tmp, view.readAttributes().permissions());
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(tmp);
+                    throw e;
                 }
-                m.put(key.toString(), valStr);
-            } else {
-                i++;
             }
+            return tmp;
         }
-        return m;
     }
 
-    // Internal helpers
+    /** Appends {@code in} to the interaction log and returns its row. */
+    private int append(Interaction in) {
+        if (interactions instanceof ConcurrentAppendLog<Interaction> log) return log.append(in);
+        int row = interactions.size(); // the other logs have a single writer
+        interactions.add(in);
+        return row;
+    }
+
+    /** Appends {@code batch} to the interaction log and returns the row of its first interaction. */
+    private int appendAll(List<Interaction> batch) {
+        if (interactions instanceof ConcurrentAppendLog<Interaction> log) return log.appendAll(batch);
+        int first = interactions.size();
+        interactions.addAll(batch);
+        return first;
+    }
 
     private void incrementEdge(String a, String b, int delta) {
-        incrementEdge(this.adjacency, a, b, delta);
+        edges.increment(a, b, delta);
     }
 
     private static void incrementEdge(Map<String, Map<String, Integer>> adj, String a, String b, int delta) {
@@ -12,7 +12,7 @@ import java.nio.file.Path;
  * Reuses the ConnectionGraph/Employee/SlackUser/etc. types defined in SlackConnectionsDemo.java.
  *
  * How to compile/run (from repo root):
- *   javac slack-connections-demo/SlackConnectionsDemo.java slack-connections-demo/SlackEightEmployeesDemo.java
+ *   javac slack-connections-demo/*.java
  *   java -cp slack-connections-demo SlackEightEmployeesDemo
  */
 public class SlackEightEmployeesDemo {
@@ -105,9 +105,7 @@ public class SlackEightEmployeesDemo {
 
         // Time-window filtered view: last 14 days
         System.out.println("\nNeighbors for Alice (last 14 days):");
-        Map<String, Map<String, Integer>> last14Adj = graph.buildAdjacencyFiltered(
-                i -> i.timestamp().isAfter(now.minus(Duration.ofDays(14)))
-        );
+        Map<String, Map<String, Integer>> last14Adj = graph.buildAdjacencyBetween(now.minus(Duration.ofDays(14)), now);
         Map<String, Integer> aliceRecent = last14Adj.getOrDefault(e1.id(), Map.of());
         aliceRecent.forEach((neighborId, weight) ->
             System.out.println("  - " + graph.nameOf(neighborId) + " (weight=" + weight + ")")
@@ -123,7 +121,7 @@ public class SlackEightEmployeesDemo {
             System.err.println("Failed to write graph-all.mmd: " + __ex.getMessage());
         }
 
-        String m14 = graph.toMermaidFiltered(i -> i.timestamp().isAfter(now.minus(Duration.ofDays(14))));
+        String m14 = graph.toMermaidBetween(now.minus(Duration.ofDays(14)), now);
         System.out.println("\nMermaid (last 14 days):\n```mermaid\n" + m14 + "```");
         try {
             java.nio.file.Files.writeString(java.nio.file.Path.of("slack-connections-demo/graph-14d.mmd"), m14);
@@ -0,0 +1,142 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of {@link SlackExportImporter} on a synthetic Slack export: {@code users.json} plus
+ * channel directories of day files, with threads, replies, mentions, review requests and issue keys
+ * in most threads. Prints generation time, then import time, messages/s and MB/s, and the resulting
+ * graph size. The export is written to a temporary directory and deleted afterwards.
+ *
+ * How to compile/run (from repo root):
+ *   javac slack-connections-demo/*.java
+ *   java -Xmx4g -cp slack-connections-demo SlackExportBenchmark [messages=10000000] [parallelism]
+ */
+public class SlackExportBenchmark {
+    private static final int USERS = 5_000;
+    private static final int CHANNELS = 100;
+    private static final int MESSAGES_PER_DAY = 2_000;
+    private static final String[] PROJECTS = {"JIRA", "BUG", "OPS", "DATA"};
+
+    public static void main(String[] args) throws IOException {
+        long messages = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        Path dir = Files.createTempDirectory("slack-export");
+        try {
+            long t0 = System.nanoTime();
+            long written = writeExport(dir, messages);
+            long t1 = System.nanoTime();
+            System.out.printf("Generated %d messages (%.0f MB) in %.1f s%n", written, bytes(dir) / 1e6, (t1 - t0) / 1e9);
+
+            ConnectionGraph graph = ConnectionGraph.columnar();
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            long t2 = System.nanoTime();
+            SlackExportImporter.Result r = new SlackExportImporter(graph, pool).importExport(dir);
+            double seconds = (System.nanoTime() - t2) / 1e9;
+            pool.shutdown();
+
+            System.out.printf("Imported %d day files with %d threads in %.1f s: %.0f messages/s, %.1f MB/s%n",
+                    r.files(), parallelism, seconds, r.messages() / seconds, r.bytes() / 1e6 / seconds);
+            System.out.printf("%d users registered, %d interactions, %d messages without issue key,"
+                    + " %d unresolved user links%n", r.usersRegistered(), r.interactions(), r.withoutIssueKey(),
+                    r.unresolvedUsers());
+            System.out.printf("Skipped: %d unreadable day files, %d messages with a bad ts%n",
+                    r.skippedFiles(), r.skippedMessages());
+            System.out.printf("Graph: %d employees, %d edges, %d interactions%n",
+                    graph.getEmployees().size(), graph.edgeCount(), graph.interactionCount());
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+            }
+        }
+    }
+
+    /** Writes users.json and day files round-robin over the channels; returns the number of messages. */
+    private static long writeExport(Path dir, long messages) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve("users.json"))) {
+            w.write("[\n");
+            for (int u = 0; u < USERS; u++) {
+                w.write("    {\"id\": \"" + userId(u) + "\", \"name\": \"user" + u + "\", \"deleted\": false,"
+                        + " \"is_bot\": false, \"profile\": {\"real_name\": \"User " + u + "\", \"email\": \"user"
+                        + u + "@acme.com\", \"title\": \"Team-" + u / 25 + "\"}}" + (u + 1 < USERS ? ",\n" : "\n"));
+            }
+            w.write("]\n");
+        }
+        for (int c = 0; c < CHANNELS; c++) Files.createDirectory(dir.resolve("channel-" + c));
+
+        Random rnd = new Random(42);
+        long written = 0, second = 1_767_225_600L; // 2026-01-01T00:00:00Z
+        for (int file = 0; written < messages; file++) {
+            Path day = dir.resolve("channel-" + file % CHANNELS)
+                    .resolve(java.time.LocalDate.of(2026, 1, 1).plusDays(file / CHANNELS) + ".json");
+            int count = (int) Math.min(MESSAGES_PER_DAY, messages - written);
+            try (BufferedWriter w = Files.newBufferedWriter(day)) {
+                w.write("[\n");
+                int inFile = 0;
+                while (inFile < count) {
+                    int replies = Math.min(rnd.nextInt(6), count - inFile - 1);
+                    int starter = rnd.nextInt(USERS);
+                    int team = starter / 25;
+                    String key = rnd.nextInt(10) < 7
+                            ? PROJECTS[rnd.nextInt(PROJECTS.length)] + "-" + rnd.nextInt(100_000) : null;
+                    String threadTs = (second++) + ".000100";
+                    List<String> replyUsers = new ArrayList<>();
+                    List<String> lines = new ArrayList<>();
+                    for (int r = 0; r < replies; r++) {
+                        // Mostly teammates, sometimes anyone
+                        int user = rnd.nextInt(4) > 0 ? Math.min(USERS - 1, team * 25 + rnd.nextInt(25)) : rnd.nextInt(USERS);
+                        if (!replyUsers.contains(userId(user))) replyUsers.add(userId(user));
+                        String text = rnd.nextInt(5) == 0 ? "pushed a fix, please review PR #" + rnd.nextInt(5000)
+                                : "looks good to me, <@" + userId(rnd.nextInt(USERS)) + "> can you confirm?";
+                        lines.add(message(userId(user), text, (second++) + ".000200", threadTs, userId(starter), null));
+                    }
+                    String text = key != null ? "Investigating " + key + " reported by customer" : "lunch anyone?";
+                    lines.add(0, message(userId(starter), text, threadTs, replies > 0 ? threadTs : null, null,
+                            replies > 0 ? replyUsers : null));
+                    for (String line : lines) {
+                        w.write(inFile++ == 0 ? "    " : ",\n    ");
+                        w.write(line);
+                    }
+                }
+                w.write("\n]\n");
+            }
+            written += count;
+        }
+        return written;
+    }
+
+    private static String message(String user, String text, String ts, String threadTs, String parentUser,
+                                  List<String> replyUsers) {
+        StringBuilder sb = new StringBuilder(200);
+        sb.append("{\"type\": \"message\", \"user\": \"").append(user).append("\", \"text\": \"").append(text)
+          .append("\", \"ts\": \"").append(ts).append('"');
+        if (threadTs != null) sb.append(", \"thread_ts\": \"").append(threadTs).append('"');
+        if (parentUser != null) sb.append(", \"parent_user_id\": \"").append(parentUser).append('"');
+        if (replyUsers != null) {
+            sb.append(", \"reply_count\": ").append(replyUsers.size()).append(", \"reply_users\": [");
+            for (int i = 0; i < replyUsers.size(); i++) {
+                sb.append(i == 0 ? "\"" : ", \"").append(replyUsers.get(i)).append('"');
+            }
+            sb.append(']');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String userId(int u) {
+        return "U" + (100_000 + u);
+    }
+
+    private static long bytes(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+}
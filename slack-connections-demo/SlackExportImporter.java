@@ -0,0 +1,433 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Imports a Slack workspace export directory straight into a {@link ConnectionGraph}.
+ *
+ * Layout: {@code users.json} at the root, and one directory per channel holding one
+ * {@code YYYY-MM-DD.json} file per day. Each day file is an array of messages. Day files are parsed
+ * in parallel, one fork/join task per file: the file is decoded straight from its channel as
+ * {@link JsonScanner} reads it, with no copy of the whole file. Each channel then links its days in
+ * date order, and each file's interactions are recorded as one batch. A day file that cannot be read
+ * or parsed, and a message whose {@code ts} is not a Slack timestamp, are skipped and counted.
+ *
+ * Interactions come from threads. Messages are grouped by {@code thread_ts} (a message without one is
+ * its own thread), and the thread's issue keys ({@code JIRA-123}, {@code BUG-77}, ...) are collected
+ * from all of its messages in the file. For every issue key, each reply links its author to the thread
+ * starter, once, on the reply's own day. Every message also links its author to the users it mentions
+ * ({@code <@U123>}). A thread whose replies continue on later days carries its issue keys to them, so a
+ * late reply gets the keys named on earlier days too. Threads without an issue key produce nothing.
+ * Types are {@code BUG} for BUG-* keys, {@code CODE_REVIEW} for messages about reviews or pull
+ * requests, {@code DISCUSSION} for other replies, and {@code JIRA} otherwise.
+ *
+ * Slack users are resolved through the graph's Slack user table. Users from {@code users.json} that
+ * are not mapped yet (bots excepted) are first registered as employees whose ID is their Slack ID.
+ */
+final class SlackExportImporter {
+
+    /** Totals of one import. */
+    record Result(int files, long bytes, long messages, long interactions, long withoutIssueKey,
+                  long unresolvedUsers, int usersRegistered, int skippedFiles, long skippedMessages) {}
+
+    private record Message(String user, String text, String ts, Instant when, String threadTs, String parentUser,
+                           List<String> replyUsers, int replyCount) {}
+
+    private record Day(long bytes, List<Message> messages, long badTimestamps) {}
+
+    private record FileResult(long bytes, long messages, long interactions, long withoutIssueKey,
+                              long unresolvedUsers, int skippedFiles, long skippedMessages) {
+        static final FileResult NONE = new FileResult(0, 0, 0, 0, 0, 0, 0);
+        static final FileResult SKIPPED_FILE = new FileResult(0, 0, 0, 0, 0, 1, 0);
+
+        FileResult plus(FileResult o) {
+            return new FileResult(bytes + o.bytes, messages + o.messages, interactions + o.interactions,
+                    withoutIssueKey + o.withoutIssueKey, unresolvedUsers + o.unresolvedUsers,
+                    skippedFiles + o.skippedFiles, skippedMessages + o.skippedMessages);
+        }
+    }
+
+    private static final Pattern DAY_FILE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}\\.json");
+    private static final Pattern PULL_REQUEST_NUMBER = Pattern.compile("\\bPR\\s*#?\\d|/pull/\\d");
+
+    private static final String[] MESSAGE_FIELDS = {"user", "text", "ts", "thread_ts", "parent_user_id", "reply_users",
+            "reply_count"};
+    private static final String[] USER_FIELDS = {"id", "name", "real_name", "is_bot", "deleted", "profile"};
+    private static final String[] PROFILE_FIELDS = {"email", "real_name", "title"};
+
+    private final ConnectionGraph graph;
+    private final ForkJoinPool pool;
+    private final Object writeLock = new Object();
+
+    SlackExportImporter(ConnectionGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    Result importExport(Path exportDir) throws IOException {
+        int registered = 0;
+        Path users = exportDir.resolve("users.json");
+        if (Files.exists(users)) registered = registerUsers(users);
+
+        List<List<Path>> channelDays = new ArrayList<>();
+        int files = 0;
+        try (Stream<Path> channels = Files.list(exportDir)) {
+            for (Path channel : channels.filter(Files::isDirectory).sorted().toList()) {
+                try (Stream<Path> days = Files.list(channel)) {
+                    List<Path> dayFiles = days.filter(p -> DAY_FILE.matcher(p.getFileName().toString()).matches())
+                                              .sorted()
+                                              .toList();
+                    if (dayFiles.isEmpty()) continue;
+                    channelDays.add(dayFiles);
+                    files += dayFiles.size();
+                }
+            }
+        }
+
+        List<ForkJoinTask<FileResult>> tasks = new ArrayList<>(channelDays.size());
+        for (List<Path> days : channelDays) tasks.add(pool.submit(() -> importChannel(days)));
+        FileResult total = FileResult.NONE;
+        try {
+            for (ForkJoinTask<FileResult> task : tasks) total = total.plus(task.join());
+        } catch (UncheckedIOException e) {
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof IOException io) throw io;
+            }
+            throw e;
+        }
+        return new Result(files, total.bytes(), total.messages(), total.interactions(), total.withoutIssueKey(),
+                total.unresolvedUsers(), registered, total.skippedFiles(), total.skippedMessages());
+    }
+
+    // Internal helpers
+
+    /**
+     * Links one channel's day files in date order, carrying the issue keys of threads that continue on
+     * later days. Parsing runs ahead on the pool, at most one file per worker beyond the current one.
+     */
+    private FileResult importChannel(List<Path> days) {
+        Map<String, Set<String>> openThreads = new HashMap<>(); // thread_ts -> issue keys so far
+        ArrayDeque<ForkJoinTask<Day>> ahead = new ArrayDeque<>();
+        FileResult total = FileResult.NONE;
+        int next = 0;
+        for (int i = 0; i < days.size(); i++) {
+            while (next < days.size() && ahead.size() <= pool.getParallelism()) {
+                Path file = days.get(next++);
+                ahead.add(ForkJoinTask.adapt(() -> readDay(file)).fork());
+            }
+            Day day = ahead.poll().join();
+            total = total.plus(day == null ? FileResult.SKIPPED_FILE : importDay(day, openThreads));
+        }
+        return total;
+    }
+
+    /** The messages of one day file, or null if it cannot be read or is not a JSON array of messages. */
+    private static Day readDay(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes == 0) return new Day(0, List.of(), 0);
+            // Malformed UTF-8 becomes U+FFFD, as when decoding to a String, rather than failing the file
+            CharsetDecoder utf8 = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            try (JsonScanner in = new JsonScanner(Channels.newReader(channel, utf8, -1), 1 << 13)) {
+                return readMessages(in, bytes);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Links and records one day file; {@code openThreads} holds the keys of threads from earlier days. */
+    private FileResult importDay(Day day, Map<String, Set<String>> openThreads) {
+        List<Message> messages = day.messages();
+
+        // Threads in order of first appearance; a message without thread_ts starts its own
+        Map<String, List<Message>> threads = new LinkedHashMap<>();
+        for (Message m : messages) {
+            threads.computeIfAbsent(m.threadTs() != null ? m.threadTs() : m.ts(), k -> new ArrayList<>()).add(m);
+        }
+
+        List<Interaction> batch = new ArrayList<>();
+        long withoutKey = 0, unresolved = 0;
+        for (Map.Entry<String, List<Message>> thread : threads.entrySet()) {
+            Set<String> keys = new LinkedHashSet<>();
+            Set<String> earlier = openThreads.get(thread.getKey());
+            if (earlier != null) keys.addAll(earlier);
+            for (Message m : thread.getValue()) issueKeys(m.text(), keys);
+
+            Message starter = null;
+            Set<String> repliedHere = new HashSet<>();
+            int replies = 0;
+            for (Message m : thread.getValue()) {
+                if (m.ts().equals(thread.getKey())) {
+                    starter = m;
+                } else {
+                    repliedHere.add(m.user());
+                    replies++;
+                }
+            }
+            // Remember threads with replies still to come, and update those remembered before
+            if (earlier != null) {
+                earlier.addAll(keys);
+            } else if (starter != null
+                    && (starter.replyCount() > replies || !repliedHere.containsAll(starter.replyUsers()))) {
+                openThreads.put(thread.getKey(), new HashSet<>(keys));
+            }
+            if (keys.isEmpty()) {
+                withoutKey += thread.getValue().size();
+                continue;
+            }
+
+            for (Message m : thread.getValue()) {
+                boolean reply = !m.ts().equals(thread.getKey());
+                Set<String> partners = new LinkedHashSet<>();
+                if (reply) {
+                    String parent = m.parentUser() != null ? m.parentUser() : starter != null ? starter.user() : null;
+                    if (parent != null) partners.add(parent);
+                }
+                mentions(m.text(), partners);
+                partners.remove(m.user());
+                if (partners.isEmpty()) continue;
+
+                String author = graph.employeeForSlack(m.user());
+                if (author == null) {
+                    unresolved += partners.size() * keys.size();
+                    continue;
+                }
+                Instant when = m.when();
+                boolean review = isReview(m.text());
+                for (String partner : partners) {
+                    String other = graph.employeeForSlack(partner);
+                    if (other == null) {
+                        unresolved += keys.size();
+                        continue;
+                    }
+                    if (other.equals(author)) continue;
+                    for (String key : keys) {
+                        InteractionType type = key.startsWith("BUG-") ? InteractionType.BUG
+                                : review ? InteractionType.CODE_REVIEW
+                                : reply ? InteractionType.DISCUSSION
+                                : InteractionType.JIRA;
+                        batch.add(new Interaction(key, author, other, type, when));
+                    }
+                }
+            }
+        }
+
+        synchronized (writeLock) {
+            graph.recordInteractions(batch);
+        }
+        return new FileResult(day.bytes(), messages.size(), batch.size(), withoutKey, unresolved, 0,
+                day.badTimestamps());
+    }
+
+    /**
+     * Messages with an author and a timestamp; joins, bot posts without a user and the like are skipped,
+     * and so are messages whose timestamp does not parse, which are counted.
+     */
+    private static Day readMessages(JsonScanner in, long bytes) throws IOException {
+        List<Message> out = new ArrayList<>();
+        long badTimestamps = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            String user = null, text = "", ts = null, threadTs = null, parentUser = null;
+            List<String> replyUsers = List.of();
+            int replyCount = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName(MESSAGE_FIELDS)) {
+                    case 0 -> user = stringOrNull(in);
+                    case 1 -> text = in.peek() == JsonScanner.Kind.STRING ? in.nextString() : skip(in, "");
+                    case 2 -> ts = stringOrNull(in);
+                    case 3 -> threadTs = stringOrNull(in);
+                    case 4 -> parentUser = stringOrNull(in);
+                    case 5 -> replyUsers = stringArray(in);
+                    case 6 -> replyCount = in.peek() == JsonScanner.Kind.NUMBER ? parseCount(in.nextLiteral()) : skip(in, 0);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            if (user == null || ts == null) continue;
+            Instant when;
+            try {
+                when = slackInstant(ts);
+            } catch (NumberFormatException | DateTimeException e) {
+                badTimestamps++;
+                continue;
+            }
+            out.add(new Message(user, text, ts, when, threadTs, parentUser, replyUsers, replyCount));
+        }
+        in.endArray();
+        return new Day(bytes, out, badTimestamps);
+    }
+
+    private int registerUsers(Path usersFile) throws IOException {
+        int registered = 0;
+        try (JsonScanner in = new JsonScanner(Files.newBufferedReader(usersFile))) {
+            in.beginArray();
+            while (in.hasNext()) {
+                String id = null, name = null, realName = null, email = "", title = "";
+                boolean skip = false;
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName(USER_FIELDS)) {
+                        case 0 -> id = stringOrNull(in);
+                        case 1 -> name = stringOrNull(in);
+                        case 2 -> realName = stringOrNull(in);
+                        case 3, 4 -> skip |= in.peek() == JsonScanner.Kind.LITERAL && in.nextLiteral().equals("true");
+                        case 5 -> {
+                            in.beginObject();
+                            while (in.hasNext()) {
+                                switch (in.nextName(PROFILE_FIELDS)) {
+                                    case 0 -> email = Objects.requireNonNullElse(stringOrNull(in), "");
+                                    case 1 -> realName = realName != null ? realName : stringOrNull(in);
+                                    case 2 -> title = Objects.requireNonNullElse(stringOrNull(in), "");
+                                    default -> in.skipValue();
+                                }
+                            }
+                            in.endObject();
+                        }
+                        default -> in.skipValue();
+                    }
+                }
+                in.endObject();
+                if (skip || id == null || graph.employeeForSlack(id) != null || graph.getEmployees().containsKey(id)) {
+                    continue;
+                }
+                String display = realName != null && !realName.isEmpty() ? realName : name != null ? name : id;
+                graph.addEmployee(new Employee(id, display, email, title));
+                graph.addSlackUser(new SlackUser(id, name != null ? name : id, id));
+                registered++;
+            }
+            in.endArray();
+        }
+        return registered;
+    }
+
+    /**
+     * Adds the issue keys in {@code text} to {@code out}: a capital letter, 1-9 more capitals or digits,
+     * '-' and digits, as a whole word. Same matches as {@code \b[A-Z][A-Z0-9]{1,9}-\d+\b}, but
+     * scanned by hand; the regex engine dominated import time.
+     */
+    static void issueKeys(String text, Set<String> out) {
+        int n = text.length();
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            if (!isUpper(c) || (i > 0 && isWordChar(text.charAt(i - 1)))) continue;
+            int j = i + 1;
+            while (j < n && j - i < 10 && (isUpper(text.charAt(j)) || isDigit(text.charAt(j)))) j++;
+            if (j - i >= 2 && j + 1 < n && text.charAt(j) == '-' && isDigit(text.charAt(j + 1))) {
+                int k = j + 2;
+                while (k < n && isDigit(text.charAt(k))) k++;
+                if (k == n || !isWordChar(text.charAt(k))) out.add(text.substring(i, k));
+                j = k;
+            }
+            i = j - 1; // the rest of this word cannot start a key
+        }
+    }
+
+    /** Adds the user IDs of {@code <@U123>} and {@code <@U123|name>} mentions in {@code text} to {@code out}. */
+    static void mentions(String text, Set<String> out) {
+        for (int at = text.indexOf("<@"); at >= 0; at = text.indexOf("<@", at + 2)) {
+            int end = at + 2;
+            while (end < text.length() && (isUpper(text.charAt(end)) || isDigit(text.charAt(end)))) end++;
+            if (end > at + 2 && end < text.length() && (text.charAt(end) == '>'
+                    || (text.charAt(end) == '|' && text.indexOf('>', end) > 0))) {
+                out.add(text.substring(at + 2, end));
+            }
+        }
+    }
+
+    /**
+     * True if {@code text} talks about a code review: "review", "pull request" or "merge request" in
+     * any case, a PR number ({@code PR #12}) or a pull request URL.
+     */
+    static boolean isReview(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            switch (text.charAt(i) | 0x20) {
+                case 'r' -> { if (text.regionMatches(true, i, "review", 0, 6)) return true; }
+                case 'p' -> { if (text.regionMatches(true, i, "pull request", 0, 12)) return true; }
+                case 'm' -> { if (text.regionMatches(true, i, "merge request", 0, 13)) return true; }
+                default -> { }
+            }
+        }
+        return (text.contains("PR") || text.contains("/pull/")) && PULL_REQUEST_NUMBER.matcher(text).find();
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordChar(char c) {
+        return isUpper(c) || isDigit(c) || (c >= 'a' && c <= 'z') || c == '_';
+    }
+
+    private static String stringOrNull(JsonScanner in) throws IOException {
+        return in.peek() == JsonScanner.Kind.STRING ? in.nextString() : skip(in, null);
+    }
+
+    private static List<String> stringArray(JsonScanner in) throws IOException {
+        if (in.peek() != JsonScanner.Kind.BEGIN_ARRAY) return skip(in, List.of());
+        List<String> out = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            String s = stringOrNull(in);
+            if (s != null) out.add(s);
+        }
+        in.endArray();
+        return out;
+    }
+
+    private static int parseCount(String number) {
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static <T> T skip(JsonScanner in, T result) throws IOException {
+        in.skipValue();
+        return result;
+    }
+
+    /**
+     * Slack timestamps are "seconds.micros" strings, e.g. "1767225600.000200". Throws
+     * {@link NumberFormatException} or {@link DateTimeException} for anything else.
+     */
+    static Instant slackInstant(String ts) {
+        int dot = ts.indexOf('.');
+        if (dot < 0) return Instant.ofEpochSecond(Long.parseLong(ts));
+        long seconds = Long.parseLong(ts, 0, dot, 10);
+        String fraction = (ts.substring(dot + 1) + "000000000").substring(0, 9);
+        return Instant.ofEpochSecond(seconds, Long.parseLong(fraction));
+    }
+}
@@ -0,0 +1,115 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Replays a synthetic Slack event log through {@link SlackIngestPipeline} and prints the pipeline's
+ * queue depth while it runs, then the final counters, batch sizes and end-to-end lag.
+ *
+ * The log has one file per channel. It includes some malformed lines and some events from Slack users
+ * the graph does not know. The queue is deliberately small, so the replay outruns the parsers and
+ * backpressure throttles it. The run checks that every submitted event was committed or counted as
+ * dropped, and that the graph holds exactly the committed interactions.
+ *
+ * How to compile/run (from repo root):
+ *   javac slack-connections-demo/*.java
+ *   java -cp slack-connections-demo SlackIngestDemo [events] [queueCapacity]
+ */
+public class SlackIngestDemo {
+    private static final int EMPLOYEES = 10_000;
+    private static final int CHANNELS = 8;
+    private static final InteractionType[] TYPES = InteractionType.values();
+
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queueCapacity = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+
+        ConnectionGraph graph = new ConnectionGraph();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            graph.addEmployee(new Employee("E-" + i, "Emp" + i, "emp" + i + "@acme.com", "Team-" + i / 20));
+            graph.addSlackUser(new SlackUser("U" + i, "emp" + i, "E-" + i));
+        }
+        Path dir = Files.createTempDirectory("slack-events");
+        try {
+            writeEvents(dir, events);
+            SlackIngestPipeline.Options options = new SlackIngestPipeline.Options(queueCapacity, 4, 4096, 20);
+            System.out.println("Replaying " + events + " events from " + CHANNELS + " files, queue capacity "
+                    + queueCapacity + ", " + options.parsers() + " parser threads");
+
+            long start = System.nanoTime();
+            SlackIngestPipeline pipeline = new SlackIngestPipeline(graph, options);
+            Thread reporter = Thread.ofPlatform().daemon().start(() -> report(pipeline));
+            try {
+                pipeline.replay(dir);
+            } finally {
+                pipeline.close(); // drains what is still queued
+                reporter.interrupt();
+            }
+            SlackIngestPipeline.Stats stats = pipeline.stats();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%nSubmitted %d (%d submits waited for space), committed %d in %d batches"
+                            + " (mean %.0f, max %d)%n", stats.submitted(), stats.blockedSubmits(), stats.committed(),
+                    stats.batches(), stats.meanBatchSize(), stats.maxBatchSize());
+            System.out.printf("Dropped: %d malformed, %d unknown Slack users, %d in failed batches%n",
+                    stats.malformed(), stats.unresolved(), stats.failed());
+            System.out.printf("Lag: p50 %.1f ms, p99 %.1f ms, max %.1f ms; %.0f events/s%n",
+                    stats.lag().p50Nanos() / 1e6, stats.lag().p99Nanos() / 1e6, stats.lag().maxNanos() / 1e6,
+                    stats.submitted() / seconds);
+
+            boolean accounted = stats.committed() + stats.malformed() + stats.unresolved() + stats.failed()
+                    == stats.submitted();
+            boolean recorded = graph.interactionCount() == stats.committed();
+            System.out.println(accounted && recorded ? "OK: every event accounted for"
+                    : "MISMATCH: accounted=" + accounted + " recorded=" + recorded);
+            if (!accounted || !recorded) System.exit(1);
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+            }
+        }
+    }
+
+    /** One file per channel; about 0.1% malformed lines and 0.5% events from unknown Slack users. */
+    private static void writeEvents(Path dir, int events) throws IOException {
+        Random rnd = new Random(42);
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        BufferedWriter[] out = new BufferedWriter[CHANNELS];
+        for (int c = 0; c < CHANNELS; c++) out[c] = Files.newBufferedWriter(dir.resolve("channel-" + c + ".jsonl"));
+        try {
+            for (int i = 0; i < events; i++) {
+                BufferedWriter w = out[i % CHANNELS];
+                int roll = rnd.nextInt(1000);
+                if (roll == 0) {
+                    w.write("{\"issueKey\":\"JIRA-" + i + "\",\"slackA\":");
+                } else {
+                    int a = rnd.nextInt(EMPLOYEES), b = (a + 1 + rnd.nextInt(EMPLOYEES - 1)) % EMPLOYEES;
+                    String slackB = roll <= 5 ? "U-unknown-" + b : "U" + b;
+                    w.write(SlackIngestPipeline.eventLine("JIRA-" + rnd.nextInt(50_000), "U" + a, slackB,
+                            TYPES[rnd.nextInt(TYPES.length)], base.plusSeconds(i)));
+                }
+                w.newLine();
+            }
+        } finally {
+            for (BufferedWriter w : out) w.close();
+        }
+    }
+
+    private static void report(SlackIngestPipeline pipeline) {
+        try {
+            while (true) {
+                Thread.sleep(250);
+                SlackIngestPipeline.Stats s = pipeline.stats();
+                System.out.printf("  queue %5d  submitted %8d  committed %8d%n",
+                        s.queueDepth(), s.submitted(), s.committed());
+            }
+        } catch (InterruptedException e) {
+            // Replay finished
+        }
+    }
+}
@@ -0,0 +1,291 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Buffered ingestion stage between a Slack event firehose and a {@link ConnectionGraph}.
+ *
+ * Events are JSON lines with the arguments of {@link ConnectionGraph#recordInteractionBySlack}:
+ *   {"issueKey":"JIRA-123","slackA":"U01","slackB":"U02","type":"DISCUSSION","timestamp":"2026-01-05T09:30:00Z"}
+ *
+ * Stages:
+ * - a bounded queue of raw lines. {@link #submit} blocks while it is full, so a spike slows the
+ *   source down instead of losing events; {@link #offer} gives up after a timeout instead;
+ * - a fixed pool of virtual-thread parsers. Each decodes a line and maps both Slack IDs to employees
+ *   via the graph's Slack user table; malformed lines and unknown Slack users are counted and dropped;
+ * - one committer, which collects parsed interactions into micro-batches (up to {@code maxBatch}, or
+ *   whatever arrived within {@code maxBatchDelayMillis}) and records each through
+ *   {@link ConnectionGraph#recordInteractions}. It is the graph's only writer. If the graph rejects
+ *   an event of a batch ({@link IllegalArgumentException}, or {@link DateTimeException} for a timestamp a
+ *   columnar graph cannot hold), its events are recorded one at a time, and only those rejected are
+ *   counted as failed. Any other exception (e.g. a failed write-ahead log) fails the rest of the batch,
+ *   which is counted as failed too.
+ *
+ * {@link #stats()} reports queue depth, batch sizes and end-to-end lag (submit to commit).
+ * {@link #replay} feeds files of recorded events, for local testing. Slack users must be registered
+ * before the pipeline starts, and sources must stop submitting before {@link #close()}, which drains
+ * everything already accepted.
+ */
+final class SlackIngestPipeline implements AutoCloseable {
+
+    record Options(int queueCapacity, int parsers, int maxBatch, long maxBatchDelayMillis) {
+        static Options defaults() {
+            return new Options(1 << 16, 4, 4096, 20);
+        }
+    }
+
+    /**
+     * Counters since start; {@code queueDepth} counts raw and parsed events waiting, batch sizes count
+     * every event a batch attempted, and {@code lag} is in nanoseconds.
+     */
+    record Stats(long submitted, long blockedSubmits, long malformed, long unresolved, long committed,
+                 long failed, long batches, int queueDepth, double meanBatchSize, long maxBatchSize,
+                 GraphMetrics.Latency lag) {}
+
+    private static final String[] FIELDS = {"issueKey", "slackA", "slackB", "type", "timestamp"};
+    private static final InteractionType[] TYPES = InteractionType.values();
+    private static final String[] TYPE_NAMES = new String[TYPES.length];
+    static {
+        for (int i = 0; i < TYPES.length; i++) TYPE_NAMES[i] = TYPES[i].name();
+    }
+
+    private record RawEvent(String line, long receivedNanos) {}
+
+    private record ParsedEvent(Interaction interaction, long receivedNanos) {}
+
+    private final ConnectionGraph graph;
+    private final Options options;
+    private final BlockingQueue<RawEvent> raw;
+    private final BlockingQueue<ParsedEvent> parsed;
+    private final List<Thread> parsers = new ArrayList<>();
+    private final Thread committer;
+    private volatile boolean closed;
+    private volatile boolean parsersDone;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder blockedSubmits = new LongAdder();
+    private final LongAdder malformed = new LongAdder();
+    private final LongAdder unresolved = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedEvents = new LongAdder();
+    private final GraphMetrics.Histogram batchSizes = new GraphMetrics.Histogram();
+    private final GraphMetrics.Histogram lag = new GraphMetrics.Histogram();
+
+    SlackIngestPipeline(ConnectionGraph graph, Options options) {
+        if (options.queueCapacity() < 1 || options.parsers() < 1 || options.maxBatch() < 1) {
+            throw new IllegalArgumentException("Queue capacity, parsers and batch size must be positive: " + options);
+        }
+        this.graph = graph;
+        this.options = options;
+        this.raw = new ArrayBlockingQueue<>(options.queueCapacity());
+        this.parsed = new ArrayBlockingQueue<>(Math.max(options.queueCapacity(), options.maxBatch()));
+        Thread.Builder parserThreads = Thread.ofVirtual().name("slack-ingest-parser-", 0);
+        for (int i = 0; i < options.parsers(); i++) parsers.add(parserThreads.start(this::parse));
+        this.committer = Thread.ofVirtual().name("slack-ingest-committer").start(this::commit);
+    }
+
+    /** Queues one event line, blocking while the queue is full. */
+    void submit(String line) throws InterruptedException {
+        if (closed) throw new IllegalStateException("Pipeline is closed");
+        RawEvent event = new RawEvent(line, System.nanoTime());
+        if (!raw.offer(event)) {
+            blockedSubmits.increment();
+            raw.put(event);
+        }
+        submitted.increment();
+    }
+
+    /** Queues one event line, waiting at most {@code timeout} for space; false if it was not queued. */
+    boolean offer(String line, long timeout, TimeUnit unit) throws InterruptedException {
+        if (closed) throw new IllegalStateException("Pipeline is closed");
+        if (!raw.offer(new RawEvent(line, System.nanoTime()), timeout, unit)) return false;
+        submitted.increment();
+        return true;
+    }
+
+    /**
+     * Submits every non-blank line of {@code path}: a file, or a directory whose {@code *.jsonl} files
+     * are replayed in name order. Returns the number of lines submitted.
+     */
+    long replay(Path path) throws IOException, InterruptedException {
+        List<Path> files;
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> list = Files.list(path)) {
+                files = list.filter(p -> p.getFileName().toString().endsWith(".jsonl")).sorted().toList();
+            }
+        } else {
+            files = List.of(path);
+        }
+        long count = 0;
+        for (Path file : files) {
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (line.isBlank()) continue;
+                    submit(line);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    Stats stats() {
+        long n = batches.sum();
+        return new Stats(submitted.sum(), blockedSubmits.sum(), malformed.sum(), unresolved.sum(), committed.sum(),
+                failed.sum(), n, raw.size() + parsed.size(), n == 0 ? 0 : (double) batchedEvents.sum() / n,
+                batchSizes.max(), lag.latency());
+    }
+
+    /**
+     * Stops accepting events, waits until everything queued is committed, then stops the threads.
+     * If the caller is interrupted while waiting, it returns early with its interrupt flag set.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            for (Thread parser : parsers) parser.join();
+            parsersDone = true;
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Encodes one event in the line format {@link #submit} accepts. */
+    static String eventLine(String issueKey, String slackA, String slackB, InteractionType type, Instant timestamp) {
+        return "{\"issueKey\":\"" + issueKey + "\",\"slackA\":\"" + slackA + "\",\"slackB\":\"" + slackB
+                + "\",\"type\":\"" + type.name() + "\",\"timestamp\":\"" + timestamp + "\"}";
+    }
+
+    // Internal helpers
+
+    private void parse() {
+        JsonScanner.StringPool pool = new JsonScanner.StringPool(1 << 12);
+        try {
+            while (true) {
+                RawEvent event = raw.poll(10, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    if (closed && raw.isEmpty()) return;
+                    continue;
+                }
+                Interaction in = decode(event.line(), pool);
+                if (in != null) parsed.put(new ParsedEvent(in, event.receivedNanos()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** The interaction in {@code line}, or null (and counted) if it is malformed or names unknown users. */
+    private Interaction decode(String line, JsonScanner.StringPool pool) {
+        String issueKey = null, slackA = null, slackB = null;
+        InteractionType type = null;
+        Instant timestamp = null;
+        try (JsonScanner in = new JsonScanner(new StringReader(line), 256)) {
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName(FIELDS)) {
+                    case 0 -> issueKey = in.nextString(pool);
+                    case 1 -> slackA = in.nextString(pool);
+                    case 2 -> slackB = in.nextString(pool);
+                    case 3 -> {
+                        int t = in.nextStringIndex(TYPE_NAMES);
+                        type = t < 0 ? null : TYPES[t];
+                    }
+                    case 4 -> timestamp = in.nextInstant();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+        } catch (IOException e) {
+            malformed.increment();
+            return null;
+        }
+        if (issueKey == null || slackA == null || slackB == null || type == null || timestamp == null) {
+            malformed.increment();
+            return null;
+        }
+        String employeeA = graph.employeeForSlack(slackA), employeeB = graph.employeeForSlack(slackB);
+        if (employeeA == null || employeeB == null) {
+            unresolved.increment();
+            return null;
+        }
+        return new Interaction(issueKey, employeeA, employeeB, type, timestamp);
+    }
+
+    private void commit() {
+        List<ParsedEvent> batch = new ArrayList<>(options.maxBatch());
+        List<Interaction> interactions = new ArrayList<>(options.maxBatch());
+        long maxDelay = TimeUnit.MILLISECONDS.toNanos(options.maxBatchDelayMillis());
+        try {
+            while (true) {
+                ParsedEvent first = parsed.poll(10, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (parsersDone && parsed.isEmpty()) return;
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelay;
+                while (batch.size() < options.maxBatch()) {
+                    if (parsed.drainTo(batch, options.maxBatch() - batch.size()) > 0) continue;
+                    long left = deadline - System.nanoTime();
+                    ParsedEvent next = left > 0 ? parsed.poll(left, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                for (ParsedEvent e : batch) interactions.add(e.interaction());
+                try {
+                    graph.recordInteractions(interactions);
+                    long now = System.nanoTime();
+                    for (ParsedEvent e : batch) lag.record(now - e.receivedNanos());
+                    committed.add(batch.size());
+                } catch (IllegalArgumentException | DateTimeException rejected) {
+                    // The graph rejected an event; record the events one at a time so only the bad ones are lost
+                    commitEach(batch);
+                } catch (RuntimeException e) {
+                    failed.add(batch.size());
+                }
+                batches.increment();
+                batchedEvents.add(batch.size());
+                batchSizes.record(batch.size());
+                batch.clear();
+                interactions.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commitEach(List<ParsedEvent> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            ParsedEvent e = batch.get(i);
+            Interaction in = e.interaction();
+            try {
+                graph.recordInteractionByEmployee(in.issueKey(), in.employeeA(), in.employeeB(), in.type(),
+                        in.timestamp());
+                lag.record(System.nanoTime() - e.receivedNanos());
+                committed.increment();
+            } catch (IllegalArgumentException | DateTimeException rejected) {
+                failed.increment();
+            } catch (RuntimeException broken) {
+                failed.add(batch.size() - i); // this event and the rest of the batch
+                return;
+            }
+        }
+    }
+}
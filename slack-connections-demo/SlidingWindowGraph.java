@@ -0,0 +1,139 @@
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Live view of the interactions recorded in the last {@code window} (e.g. 14 days), kept as its
+ * own weighted adjacency.
+ *
+ * Recorded interactions increment the view's edge weights as they arrive (via
+ * {@link InteractionListener}); an expiry queue ordered by timestamp decrements them again once
+ * they are {@code window} old, and edges whose weight drops to zero are removed. Expiry is done
+ * lazily on each read and write against the injected {@link Clock}, so reads cost the same
+ * whatever the size of the history: {@link #weight} is O(1), {@link #getNeighbors} O(degree).
+ *
+ * An interaction is in the window while {@code timestamp > now - window}, the same bound as the
+ * {@code isAfter(now.minus(window))} filters. Methods are synchronized.
+ *
+ * The graph keeps calling a view until it is closed, so use one in try-with-resources (or call
+ * {@link #detach}) once it is no longer read.
+ */
+final class SlidingWindowGraph implements InteractionListener, AutoCloseable {
+    private final ConnectionGraph graph;
+    private final Duration window;
+    private final Clock clock;
+
+    private final Map<String, Map<String, Integer>> adj = new HashMap<>();
+    private final PriorityQueue<Interaction> expiry = new PriorityQueue<>(Comparator.comparing(Interaction::timestamp));
+
+    SlidingWindowGraph(ConnectionGraph graph, Duration window, Clock clock) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.graph = graph;
+        this.window = window;
+        this.clock = clock;
+    }
+
+    Duration window() {
+        return window;
+    }
+
+    @Override
+    public synchronized void onInteraction(Interaction in) {
+        Instant cutoff = expireAndGetCutoff();
+        if (!in.timestamp().isAfter(cutoff)) return; // already outside the window
+        increment(in.employeeA(), in.employeeB(), 1);
+        expiry.add(in);
+    }
+
+    @Override
+    public synchronized void onInteractions(List<Interaction> batch) {
+        for (Interaction in : batch) onInteraction(in);
+    }
+
+    /** Weight of edge (a, b) within the window, or 0. */
+    synchronized int weight(String a, String b) {
+        expireAndGetCutoff();
+        Map<String, Integer> row = adj.get(a);
+        return row == null ? 0 : row.getOrDefault(b, 0);
+    }
+
+    synchronized Map<String, Integer> getNeighbors(String employeeId) {
+        expireAndGetCutoff();
+        Map<String, Integer> row = adj.get(employeeId);
+        return row == null ? Map.of() : Collections.unmodifiableMap(new HashMap<>(row));
+    }
+
+    List<Map.Entry<String, Integer>> getTopCollaborators(String employeeId, int limit) {
+        return getNeighbors(employeeId).entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
+                .limit(limit)
+                .toList();
+    }
+
+    /** Interactions currently inside the window. */
+    synchronized int interactionCount() {
+        expireAndGetCutoff();
+        return expiry.size();
+    }
+
+    /** Read-only copy of the window adjacency, same shape as {@link ConnectionGraph#buildAdjacencyFiltered}. */
+    synchronized Map<String, Map<String, Integer>> adjacency() {
+        expireAndGetCutoff();
+        Map<String, Map<String, Integer>> out = new HashMap<>();
+        for (var e : adj.entrySet()) {
+            out.put(e.getKey(), Collections.unmodifiableMap(new HashMap<>(e.getValue())));
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    String toDOT() {
+        return graph.toDOTFromAdjacency(adjacency());
+    }
+
+    String toMermaid() {
+        return graph.toMermaidFromAdjacency(adjacency());
+    }
+
+    /** Stops following the graph; the view keeps its last state. */
+    void detach() {
+        graph.removeInteractionListener(this);
+    }
+
+    /** Same as {@link #detach}. */
+    @Override
+    public void close() {
+        detach();
+    }
+
+    // Internal helpers
+
+    private Instant expireAndGetCutoff() {
+        Instant cutoff = clock.instant().minus(window);
+        Interaction oldest;
+        while ((oldest = expiry.peek()) != null && !oldest.timestamp().isAfter(cutoff)) {
+            expiry.poll();
+            increment(oldest.employeeA(), oldest.employeeB(), -1);
+        }
+        return cutoff;
+    }
+
+    private void increment(String a, String b, int delta) {
+        adjust(a, b, delta);
+        adjust(b, a, delta);
+    }
+
+    private void adjust(String from, String to, int delta) {
+        Map<String, Integer> row = adj.computeIfAbsent(from, k -> new HashMap<>());
+        // merge() drops the entry when the sum becomes null, i.e. when the weight reaches zero
+        row.merge(to, delta, (w, d) -> w + d == 0 ? null : w + d);
+        if (row.isEmpty()) adj.remove(from);
+    }
+}
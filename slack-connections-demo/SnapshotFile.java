@@ -0,0 +1,507 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary snapshot of a {@link ConnectionGraph}, queried in place through a memory map.
+ *
+ * File layout (little-endian, every section 8-byte aligned):
+ * <pre>
+ *   header      magic, version, counts, absolute section offsets
+ *   strings     int[stringCount + 1] byte offsets, then UTF-8 bytes of every distinct string
+ *   employees   int[employeeCount * 4]   (id, name, email, department) string ids, sorted by id
+ *   idTable     int[idTableSize]         open-addressed employee ordinal by String.hashCode of the id
+ *   slackUsers  int[slackUserCount * 3]  (slackId, handle) string ids + employee ordinal
+ *   interactions columns: int issueKey, int employeeA, int employeeB, byte type, long epochSecond, int nano
+ *   adjacency   CSR over employee ordinals: int[employeeCount + 1] offsets, int[] targets, int[] weights
+ * </pre>
+ *
+ * {@link #open(Path)} maps the file and reads only the header, so opening costs the same for any
+ * graph size; neighbor, top-collaborator and path queries read the mapped arrays directly.
+ * {@link #toConnectionGraph()} hydrates a mutable graph when one is needed.
+ *
+ * Mapped files are limited to 2 GB ({@link MappedByteBuffer} indexes with int).
+ */
+final class SnapshotFile implements Closeable {
+    static final int MAGIC = 0x50534743; // "CGSP" little-endian
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 256;
+    private static final long MAX_FILE_BYTES = Integer.MAX_VALUE; // what one MappedByteBuffer can map
+    private static final int NONE = -1;
+    private static final InteractionType[] TYPES = InteractionType.values();
+
+    private final FileChannel channel;
+    private final ByteBuffer buf;
+
+    private final int stringCount;
+    private final int employeeCount;
+    private final int slackUserCount;
+    private final int interactionCount;
+    private final int idTableSize;
+    private final long edgeCount;
+
+    private final int stringOffsetsPos;
+    private final int stringBytesPos;
+    private final int employeesPos;
+    private final int idTablePos;
+    private final int slackUsersPos;
+    private final int issueColPos;
+    private final int aColPos;
+    private final int bColPos;
+    private final int typeColPos;
+    private final int secondsColPos;
+    private final int nanosColPos;
+    private final int csrOffsetsPos;
+    private final int csrTargetsPos;
+    private final int csrWeightsPos;
+
+    private SnapshotFile(FileChannel channel, ByteBuffer buf) throws IOException {
+        this.channel = channel;
+        this.buf = buf;
+        if (buf.limit() < HEADER_BYTES || buf.getInt(0) != MAGIC) {
+            throw new IOException("Not a connection graph snapshot");
+        }
+        int version = buf.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + " (expected " + VERSION + ")");
+        }
+        stringCount = buf.getInt(8);
+        employeeCount = buf.getInt(12);
+        slackUserCount = buf.getInt(16);
+        interactionCount = buf.getInt(20);
+        idTableSize = buf.getInt(24);
+        edgeCount = buf.getLong(32);
+
+        int p = 40;
+        stringOffsetsPos = section(p); p += 8;
+        stringBytesPos = section(p); p += 8;
+        employeesPos = section(p); p += 8;
+        idTablePos = section(p); p += 8;
+        slackUsersPos = section(p); p += 8;
+        issueColPos = section(p); p += 8;
+        aColPos = section(p); p += 8;
+        bColPos = section(p); p += 8;
+        typeColPos = section(p); p += 8;
+        secondsColPos = section(p); p += 8;
+        nanosColPos = section(p); p += 8;
+        csrOffsetsPos = section(p); p += 8;
+        csrTargetsPos = section(p); p += 8;
+        csrWeightsPos = section(p);
+    }
+
+    // Opening and writing
+
+    /** Maps {@code path} read-only; only the header is read. */
+    static SnapshotFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > MAX_FILE_BYTES) {
+                throw new IOException("Snapshot larger than 2 GB cannot be mapped: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            return new SnapshotFile(channel, mapped);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Writes a snapshot of {@code graph} to a temporary file and atomically renames it to {@code path}. */
+    static void write(ConnectionGraph graph, Path path) throws IOException {
+        Path tmp = ConnectionGraph.createTempSibling(path);
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                new Writer(out).write(graph);
+                out.force(true);
+            }
+            try {
+                Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Queries over the mapped file
+
+    int employeeCount() {
+        return employeeCount;
+    }
+
+    int interactionCount() {
+        return interactionCount;
+    }
+
+    long edgeCount() {
+        return edgeCount;
+    }
+
+    Employee employee(int ordinal) {
+        int base = employeesPos + ordinal * 16;
+        return new Employee(string(buf.getInt(base)), string(buf.getInt(base + 4)),
+                string(buf.getInt(base + 8)), string(buf.getInt(base + 12)));
+    }
+
+    String employeeId(int ordinal) {
+        return string(buf.getInt(employeesPos + ordinal * 16));
+    }
+
+    /** Employee ordinal for {@code id}, or -1; probes the mapped ID table without decoding strings. */
+    int ordinalOf(String id) {
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int mask = idTableSize - 1;
+        for (int slot = mix(id.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int ordinal = buf.getInt(idTablePos + slot * 4);
+            if (ordinal == NONE) return NONE;
+            if (stringEquals(buf.getInt(employeesPos + ordinal * 16), key)) return ordinal;
+        }
+    }
+
+    String nameOf(String employeeId) {
+        int u = ordinalOf(employeeId);
+        return u < 0 ? employeeId : string(buf.getInt(employeesPos + u * 16 + 4));
+    }
+
+    Map<String, Integer> getNeighbors(String employeeId) {
+        int u = ordinalOf(employeeId);
+        if (u < 0) return Map.of();
+        Map<String, Integer> out = new HashMap<>();
+        for (int i = rowStart(u), end = rowStart(u + 1); i < end; i++) {
+            out.put(employeeId(buf.getInt(csrTargetsPos + i * 4)), buf.getInt(csrWeightsPos + i * 4));
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    List<Map.Entry<String, Integer>> getTopCollaborators(String employeeId, int limit) {
+        int u = ordinalOf(employeeId);
+        if (u < 0 || limit <= 0) return List.of();
+        int start = rowStart(u), degree = rowStart(u + 1) - start;
+        // Sort (weight, position) pairs packed in longs; only the winners are decoded
+        long[] order = new long[degree];
+        for (int i = 0; i < degree; i++) {
+            order[i] = ((long) buf.getInt(csrWeightsPos + (start + i) * 4) << 32) | i;
+        }
+        Arrays.sort(order);
+        List<Map.Entry<String, Integer>> out = new ArrayList<>(Math.min(limit, degree));
+        for (int k = degree - 1; k >= 0 && out.size() < limit; k--) {
+            int i = start + (int) order[k];
+            out.add(Map.entry(employeeId(buf.getInt(csrTargetsPos + i * 4)), buf.getInt(csrWeightsPos + i * 4)));
+        }
+        return out;
+    }
+
+    List<String> shortestPath(String fromEmployeeId, String toEmployeeId) {
+        if (fromEmployeeId.equals(toEmployeeId)) return List.of(fromEmployeeId);
+        int from = ordinalOf(fromEmployeeId), to = ordinalOf(toEmployeeId);
+        if (from < 0 || to < 0) return List.of();
+
+        int[] prev = new int[employeeCount];
+        Arrays.fill(prev, NONE);
+        prev[from] = from;
+        int[] queue = new int[employeeCount];
+        int head = 0, tail = 0;
+        queue[tail++] = from;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = rowStart(u), end = rowStart(u + 1); i < end; i++) {
+                int v = buf.getInt(csrTargetsPos + i * 4);
+                if (prev[v] != NONE) continue;
+                prev[v] = u;
+                if (v == to) {
+                    List<String> path = new ArrayList<>();
+                    for (int curr = to; curr != from; curr = prev[curr]) path.add(employeeId(curr));
+                    path.add(employeeId(from));
+                    Collections.reverse(path);
+                    return path;
+                }
+                queue[tail++] = v;
+            }
+        }
+        return List.of();
+    }
+
+    Interaction interaction(int i) {
+        return new Interaction(
+                string(buf.getInt(issueColPos + i * 4)),
+                employeeId(buf.getInt(aColPos + i * 4)),
+                employeeId(buf.getInt(bColPos + i * 4)),
+                TYPES[buf.get(typeColPos + i)],
+                Instant.ofEpochSecond(buf.getLong(secondsColPos + i * 8), buf.getInt(nanosColPos + i * 4)));
+    }
+
+    /** Builds a mutable graph with the same employees, Slack users and interactions. */
+    ConnectionGraph toConnectionGraph() {
+        return loadInto(new ConnectionGraph());
+    }
+
+    /** Adds the snapshot's employees, Slack users and interactions to {@code g} and returns it. */
+    ConnectionGraph loadInto(ConnectionGraph g) {
+        for (int e = 0; e < employeeCount; e++) {
+            g.addEmployee(employee(e));
+        }
+        for (int s = 0; s < slackUserCount; s++) {
+            int base = slackUsersPos + s * 12;
+            g.addSlackUser(new SlackUser(string(buf.getInt(base)), string(buf.getInt(base + 4)),
+                    employeeId(buf.getInt(base + 8))));
+        }
+        List<Interaction> batch = new ArrayList<>(interactionCount);
+        for (int i = 0; i < interactionCount; i++) {
+            batch.add(interaction(i));
+        }
+        g.recordInteractions(batch);
+        return g;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Internal helpers
+
+    private int section(int headerPos) throws IOException {
+        long pos = buf.getLong(headerPos);
+        if (pos < HEADER_BYTES || pos > buf.limit()) {
+            throw new IOException("Corrupt snapshot: section offset " + pos + " out of range");
+        }
+        return (int) pos;
+    }
+
+    private int rowStart(int u) {
+        return buf.getInt(csrOffsetsPos + u * 4);
+    }
+
+    private String string(int id) {
+        int from = buf.getInt(stringOffsetsPos + id * 4);
+        int to = buf.getInt(stringOffsetsPos + (id + 1) * 4);
+        byte[] bytes = new byte[to - from];
+        buf.get(stringBytesPos + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int id, byte[] key) {
+        int from = buf.getInt(stringOffsetsPos + id * 4);
+        int to = buf.getInt(stringOffsetsPos + (id + 1) * 4);
+        if (to - from != key.length) return false;
+        for (int i = 0; i < key.length; i++) {
+            if (buf.get(stringBytesPos + from + i) != key[i]) return false;
+        }
+        return true;
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Sequential section writer; the header is filled in last, once all offsets are known. Fails as
+     * soon as the file would outgrow what {@link #open} can map, rather than leaving one it rejects.
+     */
+    private static final class Writer {
+        private final FileChannel out;
+        private final ByteBuffer chunk = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Writer(FileChannel out) {
+            this.out = out;
+        }
+
+        void write(ConnectionGraph graph) throws IOException {
+            // Employees sorted by ID; ordinal = position in this array
+            Employee[] employees = graph.getEmployees().values().toArray(new Employee[0]);
+            Arrays.sort(employees, Comparator.comparing(Employee::id));
+            Map<String, Integer> ordinals = new HashMap<>(employees.length * 2);
+            for (int i = 0; i < employees.length; i++) ordinals.put(employees[i].id(), i);
+
+            SlackUser[] slackUsers = graph.getSlackUsers().values().toArray(new SlackUser[0]);
+            Arrays.sort(slackUsers, Comparator.comparing(SlackUser::slackId));
+            List<Interaction> interactions = graph.getInteractions();
+            int interactionCount = interactions.size();
+
+            // String dictionary
+            Map<String, Integer> dict = new HashMap<>();
+            List<byte[]> strings = new ArrayList<>();
+            int[] employeeStrings = new int[employees.length * 4];
+            for (int i = 0; i < employees.length; i++) {
+                Employee e = employees[i];
+                employeeStrings[i * 4] = intern(dict, strings, e.id());
+                employeeStrings[i * 4 + 1] = intern(dict, strings, e.name());
+                employeeStrings[i * 4 + 2] = intern(dict, strings, e.email());
+                employeeStrings[i * 4 + 3] = intern(dict, strings, e.department());
+            }
+            int[] slackStrings = new int[slackUsers.length * 3];
+            for (int i = 0; i < slackUsers.length; i++) {
+                slackStrings[i * 3] = intern(dict, strings, slackUsers[i].slackId());
+                slackStrings[i * 3 + 1] = intern(dict, strings, slackUsers[i].handle());
+                slackStrings[i * 3 + 2] = ordinals.get(slackUsers[i].employeeId());
+            }
+            int[] issueCol = new int[interactionCount];
+            for (int i = 0; i < interactionCount; i++) {
+                issueCol[i] = intern(dict, strings, interactions.get(i).issueKey());
+            }
+
+            // Adjacency in CSR form over ordinals, rows sorted by target
+            int n = employees.length;
+            int[] offsets = new int[n + 1];
+            long[] edgeCount = {0};
+            graph.forEachEdge((a, b, w) -> {
+                offsets[ordinals.get(a) + 1]++;
+                offsets[ordinals.get(b) + 1]++;
+                edgeCount[0]++;
+            });
+            for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+            long[] packed = new long[offsets[n]]; // (target << 32 | weight) per row
+            int[] fill = Arrays.copyOf(offsets, n);
+            graph.forEachEdge((a, b, w) -> {
+                int u = ordinals.get(a), v = ordinals.get(b);
+                packed[fill[u]++] = LongIntHashMap.edgeKey(v, w);
+                packed[fill[v]++] = LongIntHashMap.edgeKey(u, w);
+            });
+            for (int u = 0; u < n; u++) Arrays.sort(packed, offsets[u], offsets[u + 1]);
+
+            // Sections
+            position = HEADER_BYTES;
+            out.position(HEADER_BYTES);
+            long[] sections = new long[14];
+
+            sections[0] = align();
+            int total = 0;
+            putInt(0);
+            for (byte[] s : strings) putInt(total += s.length);
+            sections[1] = align();
+            for (byte[] s : strings) putBytes(s);
+
+            sections[2] = align();
+            for (int v : employeeStrings) putInt(v);
+
+            sections[3] = align();
+            int idTableSize = Integer.highestOneBit(Math.max(4, n) * 2 - 1) << 1;
+            int[] idTable = new int[idTableSize];
+            Arrays.fill(idTable, NONE);
+            for (int i = 0; i < n; i++) {
+                int slot = mix(employees[i].id().hashCode()) & (idTableSize - 1);
+                while (idTable[slot] != NONE) slot = (slot + 1) & (idTableSize - 1);
+                idTable[slot] = i;
+            }
+            for (int v : idTable) putInt(v);
+
+            sections[4] = align();
+            for (int v : slackStrings) putInt(v);
+
+            sections[5] = align();
+            for (int v : issueCol) putInt(v);
+            sections[6] = align();
+            for (int i = 0; i < interactionCount; i++) putInt(ordinals.get(interactions.get(i).employeeA()));
+            sections[7] = align();
+            for (int i = 0; i < interactionCount; i++) putInt(ordinals.get(interactions.get(i).employeeB()));
+            sections[8] = align();
+            for (int i = 0; i < interactionCount; i++) putByte((byte) interactions.get(i).type().ordinal());
+            sections[9] = align();
+            for (int i = 0; i < interactionCount; i++) putLong(interactions.get(i).timestamp().getEpochSecond());
+            sections[10] = align();
+            for (int i = 0; i < interactionCount; i++) putInt(interactions.get(i).timestamp().getNano());
+
+            sections[11] = align();
+            for (int v : offsets) putInt(v);
+            sections[12] = align();
+            for (long p : packed) putInt(LongIntHashMap.keyHigh(p));
+            sections[13] = align();
+            for (long p : packed) putInt(LongIntHashMap.keyLow(p));
+            align();
+            drain();
+
+            // Header
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION)
+                  .putInt(strings.size()).putInt(n).putInt(slackUsers.length).putInt(interactionCount)
+                  .putInt(idTableSize).putInt(0)
+                  .putLong(edgeCount[0]);
+            for (long s : sections) header.putLong(s);
+            header.flip();
+            out.position(0);
+            while (header.hasRemaining()) out.write(header);
+        }
+
+        private static int intern(Map<String, Integer> dict, List<byte[]> strings, String s) {
+            Integer id = dict.get(s);
+            if (id != null) return id;
+            dict.put(s, strings.size());
+            strings.add(s.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        }
+
+        private long align() throws IOException {
+            while ((position & 7) != 0) putByte((byte) 0);
+            return position;
+        }
+
+        private void putInt(int v) throws IOException {
+            ensure(4);
+            chunk.putInt(v);
+            position += 4;
+        }
+
+        private void putLong(long v) throws IOException {
+            ensure(8);
+            chunk.putLong(v);
+            position += 8;
+        }
+
+        private void putByte(byte v) throws IOException {
+            ensure(1);
+            chunk.put(v);
+            position++;
+        }
+
+        private void putBytes(byte[] bytes) throws IOException {
+            checkSize(bytes.length);
+            for (int off = 0; off < bytes.length; ) {
+                ensure(1);
+                int n = Math.min(chunk.remaining(), bytes.length - off);
+                chunk.put(bytes, off, n);
+                off += n;
+                position += n;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            checkSize(bytes);
+            if (chunk.remaining() < bytes) drain();
+        }
+
+        private void checkSize(int bytes) throws IOException {
+            if (position + bytes > MAX_FILE_BYTES) {
+                throw new IOException("Snapshot would exceed the 2 GB a mapped file can hold");
+            }
+        }
+
+        private void drain() throws IOException {
+            chunk.flip();
+            while (chunk.hasRemaining()) out.write(chunk);
+            chunk.clear();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Round-trip compatibility check for the binary snapshot format ({@link SnapshotFile}).
+ *
+ * For each JSON sample: load it, write a snapshot, then verify that the mapped snapshot answers
+ * neighbor/top-collaborator/path queries exactly like the source graph and that a hydrated graph
+ * serializes back to the identical JSON document. Exits with status 1 on any mismatch.
+ * With {@code --synthetic N} it also compares JSON load time with snapshot open time for N interactions.
+ *
+ * How to compile/run (from repo root):
+ *   javac slack-connections-demo/*.java
+ *   java -cp slack-connections-demo SnapshotRoundTripCheck [--synthetic 1000000]
+ */
+public class SnapshotRoundTripCheck {
+
+    public static void main(String[] args) throws IOException {
+        boolean ok = true;
+        for (String sample : List.of("slack-connections-demo/sample-data.json", "slack-connections-demo/sample-data-8.json")) {
+            ok &= check(Path.of(sample));
+        }
+        if (args.length == 2 && args[0].equals("--synthetic")) {
+            ok &= timeSynthetic(Integer.parseInt(args[1]));
+        }
+        if (!ok) System.exit(1);
+    }
+
+    private static boolean check(Path jsonPath) throws IOException {
+        String json = Files.readString(jsonPath);
+        ConnectionGraph graph = ConnectionGraph.fromJson(json);
+        Path snapPath = Files.createTempFile("graph", ".snap");
+        try {
+            graph.saveSnapshot(snapPath);
+            List<String> failures = new ArrayList<>();
+            try (SnapshotFile snap = ConnectionGraph.openSnapshot(snapPath)) {
+                compare(graph, snap, failures);
+            }
+            String rehydrated = ConnectionGraph.loadSnapshot(snapPath).toJson();
+            if (!rehydrated.equals(json)) failures.add("hydrated graph does not serialize to the same JSON");
+
+            System.out.println(jsonPath + ": " + (failures.isEmpty() ? "OK" : "FAILED"));
+            failures.forEach(f -> System.out.println("  - " + f));
+            return failures.isEmpty();
+        } finally {
+            Files.deleteIfExists(snapPath);
+        }
+    }
+
+    private static void compare(ConnectionGraph graph, SnapshotFile snap, List<String> failures) {
+        if (snap.employeeCount() != graph.getEmployees().size()) failures.add("employee count");
+        if (snap.interactionCount() != graph.interactionCount()) failures.add("interaction count");
+        if (snap.edgeCount() != graph.edgeCount()) failures.add("edge count");
+        for (int i = 0; i < graph.interactionCount(); i++) {
+            if (!snap.interaction(i).equals(graph.getInteractions().get(i))) failures.add("interaction " + i);
+        }
+        for (String id : graph.getEmployees().keySet()) {
+            if (!snap.nameOf(id).equals(graph.nameOf(id))) failures.add("name of " + id);
+            if (!snap.getNeighbors(id).equals(graph.getNeighbors(id))) failures.add("neighbors of " + id);
+            var expectedTop = graph.getTopCollaborators(id, Integer.MAX_VALUE).stream().map(e -> e.getValue()).toList();
+            var actualTop = snap.getTopCollaborators(id, Integer.MAX_VALUE).stream().map(e -> e.getValue()).toList();
+            if (!actualTop.equals(expectedTop)) failures.add("top collaborators of " + id);
+            for (String other : graph.getEmployees().keySet()) {
+                if (snap.shortestPath(id, other).size() != graph.shortestPath(id, other).size()) {
+                    failures.add("path length " + id + " -> " + other);
+                }
+            }
+        }
+        if (snap.ordinalOf("no-such-employee") != -1) failures.add("lookup of unknown employee");
+    }
+
+    private static boolean timeSynthetic(int interactions) throws IOException {
+        Random rnd = new Random(42);
+        int employees = Math.max(100, interactions / 100);
+        ConnectionGraph graph = new ConnectionGraph();
+        for (int i = 0; i < employees; i++) {
+            graph.addEmployee(new Employee("E-" + i, "Emp" + i, "emp" + i + "@acme.com", "Dept" + (i % 25)));
+        }
+        InteractionType[] types = InteractionType.values();
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        List<Interaction> batch = new ArrayList<>(interactions);
+        for (int i = 0; i < interactions; i++) {
+            int a = rnd.nextInt(employees), b = rnd.nextInt(employees);
+            batch.add(new Interaction("JIRA-" + rnd.nextInt(interactions / 4 + 1), "E-" + a, "E-" + b,
+                    types[i % types.length], base.minusSeconds(rnd.nextInt(90 * 86_400))));
+        }
+        graph.recordInteractions(batch);
+
+        Path jsonPath = Files.createTempFile("graph", ".json");
+        Path snapPath = Files.createTempFile("graph", ".snap");
+        try {
+            graph.saveJson(jsonPath);
+            graph.saveSnapshot(snapPath);
+
+            long t0 = System.nanoTime();
+            ConnectionGraph.loadJson(jsonPath);
+            long t1 = System.nanoTime();
+            String probe = "E-" + rnd.nextInt(employees);
+            int top;
+            try (SnapshotFile snap = ConnectionGraph.openSnapshot(snapPath)) {
+                top = snap.getTopCollaborators(probe, 5).size();
+            }
+            long t2 = System.nanoTime();
+            ConnectionGraph.loadSnapshot(snapPath);
+            long t3 = System.nanoTime();
+
+            System.out.printf("Synthetic graph: %d employees, %d interactions (JSON %d MB, snapshot %d MB)%n",
+                    employees, graph.interactionCount(), Files.size(jsonPath) >> 20, Files.size(snapPath) >> 20);
+            System.out.printf("  loadJson:                   %8.1f ms%n", (t1 - t0) / 1e6);
+            System.out.printf("  openSnapshot + first query: %8.1f ms (%d collaborators)%n", (t2 - t1) / 1e6, top);
+            System.out.printf("  loadSnapshot (hydrate):     %8.1f ms%n", (t3 - t2) / 1e6);
+            return true;
+        } finally {
+            Files.deleteIfExists(jsonPath);
+            Files.deleteIfExists(snapPath);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible synthetic org graphs for benchmarks and scaling checks.
+ *
+ * {@link #clustered} plants teams: employees are grouped into consecutive teams of {@code teamSize}
+ * (one department per team), most interactions stay inside a team and the rest go to a random
+ * employee elsewhere. Every tenth team never talks outside itself, so the graph also contains
+ * isolated teams. {@link #powerLaw} has no teams but a heavy-tailed degree distribution: a few hubs
+ * collaborate with a large share of the org, as in real chat graphs. Graphs are
+ * {@link ConnectionGraph#columnar()} to keep a million employees cheap, unless another of the
+ * {@link #STORAGE} modes is asked for.
+ */
+final class SyntheticGraphs {
+    private static final int BATCH = 1 << 20;
+    private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+    private static final InteractionType[] TYPES = InteractionType.values();
+
+    /** Storage modes accepted by {@link #emptyGraph}: the default map-backed graph, CSR edges, columnar, concurrent. */
+    static final List<String> STORAGE = List.of("default", "csr", "columnar", "concurrent");
+
+    private SyntheticGraphs() {}
+
+    static String employeeId(int i) {
+        return "E-" + i;
+    }
+
+    /** An empty graph with the given {@link #STORAGE} mode. */
+    static ConnectionGraph emptyGraph(String storage) {
+        return switch (storage) {
+            case "default" -> new ConnectionGraph();
+            case "csr" -> new ConnectionGraph(CsrEdgeStore::new);
+            case "columnar" -> ConnectionGraph.columnar();
+            case "concurrent" -> ConnectionGraph.concurrent();
+            default -> throw new IllegalArgumentException("Unknown storage " + storage + ", expected one of "
+                    + STORAGE);
+        };
+    }
+
+    /** Team of employee {@code i} in a {@link #clustered} graph. */
+    static int teamOf(int i, int teamSize) {
+        return i / teamSize;
+    }
+
+    /** Whether a {@link #clustered} team has no interactions with other teams. */
+    static boolean isIsolatedTeam(int team) {
+        return team % 10 == 9;
+    }
+
+    /**
+     * {@code employees} employees with about {@code avgDegree} interactions each; a fraction
+     * {@code crossTeam} of the interactions of non-isolated teams crosses team boundaries.
+     */
+    static ConnectionGraph clustered(int employees, int avgDegree, int teamSize, double crossTeam, long seed) {
+        return clustered(employees, avgDegree, teamSize, crossTeam, seed, "columnar");
+    }
+
+    static ConnectionGraph clustered(int employees, int avgDegree, int teamSize, double crossTeam, long seed,
+                                     String storage) {
+        if (teamSize < 2 || employees < teamSize * 10) {
+            throw new IllegalArgumentException("Need teamSize >= 2 and at least 10 teams");
+        }
+        ConnectionGraph graph = emptyGraph(storage);
+        for (int i = 0; i < employees; i++) {
+            graph.addEmployee(new Employee(employeeId(i), "Emp" + i, "emp" + i + "@acme.com",
+                    "Team-" + teamOf(i, teamSize)));
+        }
+        Random rnd = new Random(seed);
+        long total = (long) employees * avgDegree / 2;
+        List<Interaction> batch = new ArrayList<>(BATCH);
+        for (long k = 0; k < total; k++) {
+            int a = rnd.nextInt(employees);
+            int team = teamOf(a, teamSize);
+            int b;
+            if (isIsolatedTeam(team) || rnd.nextDouble() >= crossTeam) {
+                int first = team * teamSize, size = Math.min(teamSize, employees - first);
+                b = first + rnd.nextInt(size);
+            } else {
+                do {
+                    b = rnd.nextInt(employees);
+                } while (isIsolatedTeam(teamOf(b, teamSize)));
+            }
+            if (a == b) continue;
+            add(graph, batch, k, a, b, rnd);
+        }
+        graph.recordInteractions(batch);
+        return graph;
+    }
+
+    /**
+     * {@code employees} employees with about {@code avgDegree} interactions each and a power-law degree
+     * distribution: one end of every interaction is uniform, the other is, half of the time, an endpoint
+     * of an earlier interaction (preferential attachment), so busy employees keep getting busier.
+     */
+    static ConnectionGraph powerLaw(int employees, int avgDegree, long seed) {
+        return powerLaw(employees, avgDegree, seed, "columnar");
+    }
+
+    static ConnectionGraph powerLaw(int employees, int avgDegree, long seed, String storage) {
+        if (employees < 2) throw new IllegalArgumentException("Need at least 2 employees");
+        ConnectionGraph graph = emptyGraph(storage);
+        for (int i = 0; i < employees; i++) {
+            graph.addEmployee(new Employee(employeeId(i), "Emp" + i, "emp" + i + "@acme.com", "Dept-" + (i % 32)));
+        }
+        Random rnd = new Random(seed);
+        long total = (long) employees * avgDegree / 2;
+        int[] endpoints = new int[(int) Math.min(2 * total, Integer.MAX_VALUE - 8)];
+        int filled = 0;
+        List<Interaction> batch = new ArrayList<>(BATCH);
+        for (long k = 0; k < total; k++) {
+            int a = rnd.nextInt(employees);
+            int b = filled == 0 || rnd.nextBoolean() ? rnd.nextInt(employees) : endpoints[rnd.nextInt(filled)];
+            if (a == b) continue;
+            if (filled + 2 <= endpoints.length) {
+                endpoints[filled++] = a;
+                endpoints[filled++] = b;
+            }
+            add(graph, batch, k, a, b, rnd);
+        }
+        graph.recordInteractions(batch);
+        return graph;
+    }
+
+    // Internal helpers
+
+    private static void add(ConnectionGraph graph, List<Interaction> batch, long k, int a, int b, Random rnd) {
+        batch.add(new Interaction("JIRA-" + (k % 100_000), employeeId(a), employeeId(b),
+                TYPES[(int) (k % TYPES.length)], BASE.minusSeconds(rnd.nextInt(90 * 86_400))));
+        if (batch.size() == BATCH) {
+            graph.recordInteractions(batch);
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Interactions grouped into fixed-width time buckets (e.g. one per day), each holding its
+ * per-edge interaction counts and the rows of its interactions in the graph's interaction log.
+ *
+ * A window {@code [from, to)} adjacency adds up the counts of the buckets that lie entirely inside
+ * the window and scans only the rows of the (at most two) buckets cut by its boundaries, so the
+ * cost is O(buckets in window x edges per bucket) instead of O(all interactions). Counts are also
+ * summed per block of {@value #BLOCK_BUCKETS} buckets, so a long window adds one map per block it
+ * covers rather than one per bucket.
+ *
+ * No interaction is copied: rows are run-length encoded (interactions recorded in time order fill
+ * one run per bucket) and read back from the log, without allocating on a columnar graph. Edges
+ * are keyed by the graph's employee indexes.
+ */
+final class TimeBucketIndex implements InteractionListener {
+    static final int BLOCK_BUCKETS = 32;
+
+    /** Edge counts of one bucket, and its rows: {@code r} for a single row, {@code -start - 1, end} for a run. */
+    private static final class Bucket {
+        final LongIntHashMap edgeCounts = new LongIntHashMap();
+        int[] rows = new int[2];
+        int length;
+
+        void addRow(int row) {
+            if (length > 0) {
+                int last = rows[length - 1];
+                if (length > 1 && rows[length - 2] < 0 && last == row) { // extends the run [start, last)
+                    rows[length - 1] = row + 1;
+                    return;
+                }
+                if (last + 1 == row && (length == 1 || rows[length - 2] >= 0)) { // single row -> run
+                    rows[length - 1] = -last - 1;
+                    append(row + 1);
+                    return;
+                }
+            }
+            append(row);
+        }
+
+        void forEachRow(IntConsumer action) {
+            for (int i = 0; i < length; i++) {
+                int r = rows[i];
+                if (r >= 0) {
+                    action.accept(r);
+                } else {
+                    for (int row = -r - 1, end = rows[++i]; row < end; row++) action.accept(row);
+                }
+            }
+        }
+
+        private void append(int value) {
+            if (length == rows.length) rows = Arrays.copyOf(rows, length * 2);
+            rows[length++] = value;
+        }
+    }
+
+    private final long bucketSeconds;
+    private final List<Interaction> log;
+    private final InteractionColumns columns; // the log, when it is columnar
+    private final IdInterner employeeIds; // the graph's; locked while read, as the graph adds employees
+    private final NavigableMap<Long, Bucket> buckets = new TreeMap<>();
+    private final NavigableMap<Long, LongIntHashMap> blocks = new TreeMap<>();
+
+    /** Indexes every interaction already in {@code log}, the graph's interaction log. */
+    TimeBucketIndex(Duration bucketSize, List<Interaction> log, IdInterner employeeIds) {
+        if (bucketSize.isNegative() || bucketSize.isZero() || bucketSize.getNano() != 0) {
+            throw new IllegalArgumentException("Bucket size must be a positive whole number of seconds: " + bucketSize);
+        }
+        this.bucketSeconds = bucketSize.getSeconds();
+        this.log = log;
+        this.columns = log instanceof InteractionColumns c ? c : null;
+        this.employeeIds = employeeIds;
+        if (columns != null) {
+            columns.forEachRow((row, a, b, type, nanos, issue) ->
+                    add(row, Math.floorDiv(nanos, 1_000_000_000L), edgeKey(a, b)));
+        } else {
+            for (int row = 0, n = log.size(); row < n; row++) onInteraction(log.get(row), row);
+        }
+    }
+
+    Duration bucketSize() {
+        return Duration.ofSeconds(bucketSeconds);
+    }
+
+    synchronized int bucketCount() {
+        return buckets.size();
+    }
+
+    /** Not used: the graph reports each interaction with its row, which the index keeps instead of the record. */
+    @Override
+    public void onInteraction(Interaction in) {
+        throw new UnsupportedOperationException("TimeBucketIndex needs the interaction's row in the graph's log");
+    }
+
+    @Override
+    public synchronized void onInteraction(Interaction in, int row) {
+        add(row, in.timestamp().getEpochSecond(), edgeKey(in.employeeA(), in.employeeB()));
+    }
+
+    @Override
+    public synchronized void onInteractions(List<Interaction> batch, int firstRow) {
+        for (int i = 0; i < batch.size(); i++) onInteraction(batch.get(i), firstRow + i);
+    }
+
+    /** Edge counts of the interactions with {@code from <= timestamp < to}. */
+    synchronized LongIntHashMap edgeCounts(Instant from, Instant to) {
+        LongIntHashMap out = new LongIntHashMap();
+        if (!from.isBefore(to)) return out;
+
+        long first = bucketOf(from), last = bucketOf(to.minusNanos(1));
+        boolean firstCut = !startsAtOrAfter(first, from), lastCut = !endsAtOrBefore(last, to);
+        if (firstCut || first == last && lastCut) scanCut(buckets.get(first), from, to, out);
+        if (lastCut && last != first) scanCut(buckets.get(last), from, to, out);
+
+        // Buckets entirely inside: whole blocks come from the block sums, the buckets around them one by one
+        long full = firstCut ? first + 1 : first, fullEnd = lastCut ? last - 1 : last;
+        if (full > fullEnd) return out;
+        long firstBlock = Math.floorDiv(full + BLOCK_BUCKETS - 1, BLOCK_BUCKETS);
+        long endBlock = Math.floorDiv(fullEnd + 1, BLOCK_BUCKETS); // exclusive
+        if (firstBlock < endBlock) {
+            addBuckets(full, firstBlock * BLOCK_BUCKETS - 1, out);
+            for (LongIntHashMap block : blocks.subMap(firstBlock, true, endBlock, false).values()) {
+                block.forEach(out::addTo);
+            }
+            addBuckets(endBlock * BLOCK_BUCKETS, fullEnd, out);
+        } else {
+            addBuckets(full, fullEnd, out);
+        }
+        return out;
+    }
+
+    /** Visits the interactions with {@code from <= timestamp < to}, bucket by bucket (not in recording order). */
+    synchronized void forEachBetween(Instant from, Instant to, Consumer<Interaction> action) {
+        if (!from.isBefore(to)) return;
+        long first = bucketOf(from), last = bucketOf(to.minusNanos(1));
+        for (var entry : buckets.subMap(first, true, last, true).entrySet()) {
+            long b = entry.getKey();
+            if (b == first && !startsAtOrAfter(b, from) || b == last && !endsAtOrBefore(b, to)) {
+                entry.getValue().forEachRow(row -> {
+                    Interaction in = log.get(row);
+                    Instant t = in.timestamp();
+                    if (!t.isBefore(from) && t.isBefore(to)) action.accept(in);
+                });
+            } else {
+                entry.getValue().forEachRow(row -> action.accept(log.get(row)));
+            }
+        }
+    }
+
+    /** Same shape as {@link ConnectionGraph#buildAdjacencyFiltered}: both directions, read-only. */
+    synchronized Map<String, Map<String, Integer>> adjacency(Instant from, Instant to) {
+        Map<String, Map<String, Integer>> adj = new HashMap<>();
+        LongIntHashMap counts = edgeCounts(from, to);
+        synchronized (employeeIds) {
+            counts.forEach((key, weight) -> {
+                String a = employeeIds.idAt(LongIntHashMap.keyHigh(key));
+                String b = employeeIds.idAt(LongIntHashMap.keyLow(key));
+                adj.computeIfAbsent(a, k -> new HashMap<>()).put(b, weight);
+                adj.computeIfAbsent(b, k -> new HashMap<>()).put(a, weight);
+            });
+        }
+        // Copy rows like buildAdjacencyFiltered does, so both yield maps with the same iteration order
+        for (var e : adj.entrySet()) e.setValue(Collections.unmodifiableMap(new HashMap<>(e.getValue())));
+        return Collections.unmodifiableMap(adj);
+    }
+
+    // Internal helpers
+
+    private void add(int row, long epochSecond, long edgeKey) {
+        long b = Math.floorDiv(epochSecond, bucketSeconds);
+        Bucket bucket = buckets.computeIfAbsent(b, k -> new Bucket());
+        bucket.edgeCounts.addTo(edgeKey, 1);
+        bucket.addRow(row);
+        blocks.computeIfAbsent(Math.floorDiv(b, BLOCK_BUCKETS), k -> new LongIntHashMap()).addTo(edgeKey, 1);
+    }
+
+    private void addBuckets(long from, long to, LongIntHashMap out) {
+        if (from > to) return;
+        for (Bucket bucket : buckets.subMap(from, true, to, true).values()) bucket.edgeCounts.forEach(out::addTo);
+    }
+
+    /** Counts the rows of a bucket cut by the window that fall inside it. */
+    private void scanCut(Bucket bucket, Instant from, Instant to, LongIntHashMap out) {
+        if (bucket == null) return;
+        if (columns != null) {
+            long lo = InteractionColumns.clampToNanos(from), hi = InteractionColumns.clampToNanos(to);
+            bucket.forEachRow(row -> {
+                long t = columns.epochNanos(row);
+                if (t >= lo && t < hi) out.addTo(edgeKey(columns.employeeA(row), columns.employeeB(row)), 1);
+            });
+        } else {
+            bucket.forEachRow(row -> {
+                Interaction in = log.get(row);
+                Instant t = in.timestamp();
+                if (!t.isBefore(from) && t.isBefore(to)) out.addTo(edgeKey(in.employeeA(), in.employeeB()), 1);
+            });
+        }
+    }
+
+    private long bucketOf(Instant t) {
+        return Math.floorDiv(t.getEpochSecond(), bucketSeconds);
+    }
+
+    private boolean startsAtOrAfter(long b, Instant t) {
+        long start = b * bucketSeconds;
+        return start > t.getEpochSecond() || start == t.getEpochSecond() && t.getNano() == 0;
+    }
+
+    private boolean endsAtOrBefore(long b, Instant t) {
+        return (b + 1) * bucketSeconds <= t.getEpochSecond();
+    }
+
+    private long edgeKey(String employeeA, String employeeB) {
+        int a, b;
+        synchronized (employeeIds) {
+            a = employeeIds.indexOf(employeeA);
+            b = employeeIds.indexOf(employeeB);
+        }
+        return edgeKey(a, b);
+    }
+
+    private static long edgeKey(int a, int b) {
+        return a < b ? LongIntHashMap.edgeKey(a, b) : LongIntHashMap.edgeKey(b, a);
+    }
+}
@@ -0,0 +1,127 @@
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps every employee's K strongest collaborators, and the K strongest edges overall, current
+ * as interactions are recorded, so both queries read a ready-made list in O(K).
+ *
+ * Each list is a small array sorted by weight (descending). Recording an interaction offers the
+ * edge's new weight to the lists of both employees and to the global list: a member moves up, a
+ * newcomer enters if it beats the weakest member, and anything not above a full list's minimum
+ * is rejected in O(1). Because edge weights only grow, this is exact - an edge outside a list can
+ * only get in by exceeding its minimum, at which point it is offered. Ties keep the incumbent.
+ */
+final class TopCollaboratorIndex implements InteractionListener {
+
+    /** Canonical (lower, higher) key of an undirected edge in the global list. */
+    private record Pair(String lo, String hi) {}
+
+    /** Up to {@code k} keys sorted by weight, heaviest first. */
+    private static final class TopList {
+        final Object[] keys;
+        final int[] weights;
+        int size;
+
+        TopList(int k) {
+            keys = new Object[k];
+            weights = new int[k];
+        }
+
+        /** False when {@code weight} can neither enter the list nor move a member up. */
+        boolean admits(int weight) {
+            return size < keys.length || weight > weights[size - 1];
+        }
+
+        void offer(Object key, int weight) {
+            if (!admits(weight)) return;
+            int pos = indexOf(key);
+            if (pos < 0) {
+                pos = size < keys.length ? size++ : size - 1; // take a free slot or replace the weakest
+                keys[pos] = key;
+            } else if (weight <= weights[pos]) {
+                return; // stale offer from a concurrent writer
+            }
+            weights[pos] = weight;
+            while (pos > 0 && weights[pos - 1] < weight) { // bubble up, keeping ties in place
+                keys[pos] = keys[pos - 1];
+                weights[pos] = weights[pos - 1];
+                pos--;
+            }
+            keys[pos] = key;
+            weights[pos] = weight;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) return i;
+            }
+            return -1;
+        }
+    }
+
+    private final int k;
+    private final EdgeStore edges;
+    private final Map<String, TopList> perEmployee = new HashMap<>();
+    private final TopList strongest;
+
+    /** Index over {@code edges}, seeded with the edges it already holds. */
+    TopCollaboratorIndex(int k, EdgeStore edges) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive: " + k);
+        this.k = k;
+        this.edges = edges;
+        this.strongest = new TopList(k);
+        edges.forEachEdge(this::offer);
+    }
+
+    int k() {
+        return k;
+    }
+
+    @Override
+    public synchronized void onInteraction(Interaction in) {
+        String a = in.employeeA(), b = in.employeeB();
+        offer(a, b, edges.weight(a, b));
+    }
+
+    @Override
+    public synchronized void onInteractions(List<Interaction> batch) {
+        for (Interaction in : batch) onInteraction(in);
+    }
+
+    /** Up to {@code min(limit, k)} strongest collaborators of {@code employeeId}, heaviest first. */
+    synchronized List<Map.Entry<String, Integer>> top(String employeeId, int limit) {
+        TopList list = perEmployee.get(employeeId);
+        if (list == null) return List.of();
+        int n = Math.min(limit, list.size);
+        List<Map.Entry<String, Integer>> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            out.add(new AbstractMap.SimpleImmutableEntry<>((String) list.keys[i], list.weights[i]));
+        }
+        return List.copyOf(out);
+    }
+
+    /** Up to {@code min(limit, k)} strongest edges of the whole graph, heaviest first. */
+    synchronized List<WeightedEdge> strongestEdges(int limit) {
+        int n = Math.min(limit, strongest.size);
+        List<WeightedEdge> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Pair p = (Pair) strongest.keys[i];
+            out.add(new WeightedEdge(p.lo(), p.hi(), strongest.weights[i]));
+        }
+        return List.copyOf(out);
+    }
+
+    // Internal helpers
+
+    private void offer(String a, String b, int weight) {
+        if (weight <= 0) return;
+        perEmployee.computeIfAbsent(a, id -> new TopList(k)).offer(b, weight);
+        perEmployee.computeIfAbsent(b, id -> new TopList(k)).offer(a, weight);
+        if (strongest.admits(weight)) {
+            strongest.offer(a.compareTo(b) < 0 ? new Pair(a, b) : new Pair(b, a), weight);
+        }
+    }
+}
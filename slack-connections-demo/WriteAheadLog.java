@@ -0,0 +1,418 @@
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of graph mutations (employees, Slack users, interactions), one file per segment.
+ *
+ * Segment layout (little-endian): an 8-byte header (magic, version), then records of
+ * <pre>
+ *   int payloadLength, int crc32c(payload), payload = byte kind + fields
+ * </pre>
+ * Strings are an int UTF-8 length (-1 for null) followed by the bytes; timestamps are epoch second + nano.
+ *
+ * Appends are encoded into an in-memory buffer and written in groups: whoever commits first writes
+ * everything buffered so far with one {@code write} (and one {@code force}, depending on the
+ * {@link SyncPolicy}), so concurrent writers share the cost of each system call.
+ *
+ * {@link #replay} reads a segment back into a graph. A record cut short by a crash, or one whose
+ * checksum does not match, ends the segment; the caller decides whether to truncate it there.
+ */
+final class WriteAheadLog implements Closeable {
+    static final int MAGIC = 0x4C574743; // "CGWL" little-endian
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_BYTES = 8;
+
+    private static final byte EMPLOYEE = 1;
+    private static final byte SLACK_USER = 2;
+    private static final byte INTERACTION = 3;
+    private static final int MAX_RECORD_BYTES = 1 << 24;
+    private static final InteractionType[] TYPES = InteractionType.values();
+
+    /** When appended records are forced to stable storage. */
+    enum SyncPolicy {
+        /**
+         * Never forced. Records stay in the log's own buffer until the background flusher or
+         * {@code groupCommitBytes} writes them, so a process crash can lose the last
+         * {@code flushIntervalMillis} of commits, and a power loss whatever the OS had not written back.
+         */
+        NEVER,
+        /**
+         * Written and forced by a background flusher every {@code flushIntervalMillis}: a process crash
+         * or a power loss can lose the commits of the last interval.
+         */
+        INTERVAL,
+        /** Every committed record is forced before {@link #commit} returns; concurrent commits share one force. */
+        ALWAYS
+    }
+
+    /**
+     * @param sync                when records are forced
+     * @param groupCommitBytes    buffered bytes that trigger a write without waiting for the flusher
+     * @param flushIntervalMillis period of the background flusher ({@code NEVER} and {@code INTERVAL})
+     */
+    record Options(SyncPolicy sync, int groupCommitBytes, long flushIntervalMillis) {
+        static Options defaults() {
+            return new Options(SyncPolicy.INTERVAL, 1 << 20, 50);
+        }
+    }
+
+    private final Path dir;
+    private final Options options;
+    private final ScheduledExecutorService flusher;
+
+    // Guarded by this: the buffer new records are encoded into, and the sequence of the last one
+    private ByteBuffer pending = newBuffer(1 << 16);
+    private long appendedSeq;
+    private final CRC32C crc = new CRC32C();
+
+    // Guarded by commitLock: the open segment and the buffer that is not being filled
+    private final Object commitLock = new Object();
+    private FileChannel channel;
+    private long segment;
+    private ByteBuffer spare = newBuffer(1 << 16);
+    private volatile long writtenSeq;
+    private volatile long durableSeq;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /** Starts a new segment {@code wal-<segment>.log} in {@code dir}; the file must not exist yet. */
+    WriteAheadLog(Path dir, long segment, Options options) throws IOException {
+        this.dir = dir;
+        this.options = options;
+        this.segment = segment;
+        this.channel = createSegment(segmentPath(dir, segment));
+        if (options.sync() == SyncPolicy.ALWAYS) {
+            this.flusher = null;
+        } else {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "wal-flusher");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(this::backgroundFlush,
+                    options.flushIntervalMillis(), options.flushIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    static Path segmentPath(Path dir, long segment) {
+        return dir.resolve(String.format("wal-%08d.log", segment));
+    }
+
+    /** Segment number encoded in a file name produced by {@link #segmentPath}, or -1. */
+    static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith("wal-") || !name.endsWith(".log")) return -1;
+        try {
+            return Long.parseLong(name.substring(4, name.length() - 4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Appending (each returns the record's sequence number for commit)
+
+    long appendEmployee(Employee e) {
+        synchronized (this) {
+            int start = beginRecord(EMPLOYEE);
+            putString(e.id());
+            putString(e.name());
+            putString(e.email());
+            putString(e.department());
+            return endRecord(start);
+        }
+    }
+
+    long appendSlackUser(SlackUser s) {
+        synchronized (this) {
+            int start = beginRecord(SLACK_USER);
+            putString(s.slackId());
+            putString(s.handle());
+            putString(s.employeeId());
+            return endRecord(start);
+        }
+    }
+
+    long appendInteraction(Interaction in) {
+        synchronized (this) {
+            return putInteraction(in);
+        }
+    }
+
+    /** Appends a batch contiguously; returns the sequence number of its last record. */
+    long appendInteractions(Collection<Interaction> batch) {
+        synchronized (this) {
+            long seq = appendedSeq;
+            for (Interaction in : batch) seq = putInteraction(in);
+            return seq;
+        }
+    }
+
+    /**
+     * Makes record {@code seq} (and everything before it) as durable as the sync policy promises.
+     * Under {@code ALWAYS} this writes and forces unless another thread's commit already covered
+     * {@code seq}; otherwise it only writes early when the buffer has outgrown {@code groupCommitBytes}.
+     */
+    void commit(long seq) {
+        try {
+            if (options.sync() == SyncPolicy.ALWAYS) {
+                flush(seq, true);
+            } else if (pendingBytes() >= options.groupCommitBytes()) {
+                flush(seq, false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Writes and forces everything appended so far, whatever the policy. */
+    void sync() throws IOException {
+        long seq;
+        synchronized (this) {
+            seq = appendedSeq;
+        }
+        flush(seq, true);
+    }
+
+    /**
+     * Syncs and closes the current segment and continues in segment {@code current + 1}.
+     * Returns the number of the closed segment, which is complete and will not change again.
+     */
+    long rotate() throws IOException {
+        synchronized (commitLock) {
+            sync();
+            long closedSegment = segment;
+            FileChannel next = createSegment(segmentPath(dir, closedSegment + 1));
+            channel.close();
+            channel = next;
+            segment = closedSegment + 1;
+            return closedSegment;
+        }
+    }
+
+    /** Number of the segment currently appended to. */
+    long currentSegment() {
+        synchronized (commitLock) {
+            return segment;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        if (flusher != null) flusher.shutdownNow();
+        synchronized (commitLock) {
+            try {
+                sync();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // Replay
+
+    /**
+     * Applies the records of {@code segment} to {@code graph} and returns the byte offset just past
+     * the last intact record. Reading stops at end of file, at a truncated record or at a checksum
+     * mismatch; compare the result with the file size to tell these apart.
+     */
+    static long replay(Path segment, ConnectionGraph graph) throws IOException {
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch), 1 << 16))) {
+            long size = ch.size();
+            if (size < SEGMENT_HEADER_BYTES) return 0;
+            ByteBuffer header = ByteBuffer.wrap(in.readNBytes(SEGMENT_HEADER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) throw new IOException("Not a write-ahead log segment: " + segment);
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported log version " + version + " (expected " + VERSION + ")");
+            }
+
+            List<Interaction> batch = new ArrayList<>();
+            CRC32C check = new CRC32C();
+            byte[] payload = new byte[256];
+            long offset = SEGMENT_HEADER_BYTES;
+            while (offset + 8 <= size) {
+                int length = Integer.reverseBytes(in.readInt());
+                int expectedCrc = Integer.reverseBytes(in.readInt());
+                if (length <= 0 || length > MAX_RECORD_BYTES || offset + 8 + length > size) break;
+                if (payload.length < length) payload = new byte[Math.max(length, payload.length * 2)];
+                if (readFully(in, payload, length) < length) break;
+                check.reset();
+                check.update(payload, 0, length);
+                if ((int) check.getValue() != expectedCrc) break;
+
+                apply(ByteBuffer.wrap(payload, 0, length).order(ByteOrder.LITTLE_ENDIAN), graph, batch);
+                offset += 8 + length;
+            }
+            if (!batch.isEmpty()) graph.recordInteractions(batch);
+            return offset;
+        }
+    }
+
+    private static void apply(ByteBuffer r, ConnectionGraph graph, List<Interaction> batch) throws IOException {
+        byte kind = r.get();
+        switch (kind) {
+            case EMPLOYEE -> graph.addEmployee(new Employee(getString(r), getString(r), getString(r), getString(r)));
+            case SLACK_USER -> graph.addSlackUser(new SlackUser(getString(r), getString(r), getString(r)));
+            case INTERACTION -> {
+                String issueKey = getString(r), a = getString(r), b = getString(r);
+                InteractionType type = TYPES[r.get()];
+                Instant timestamp = Instant.ofEpochSecond(r.getLong(), r.getInt());
+                batch.add(new Interaction(issueKey, a, b, type, timestamp));
+                if (batch.size() >= JsonGraphReader.BATCH_SIZE) {
+                    graph.recordInteractions(batch);
+                    batch.clear();
+                }
+            }
+            default -> throw new IOException("Unknown log record kind " + kind);
+        }
+    }
+
+    private static int readFully(InputStream in, byte[] into, int length) throws IOException {
+        int n = 0;
+        while (n < length) {
+            int r = in.read(into, n, length - n);
+            if (r < 0) break;
+            n += r;
+        }
+        return n;
+    }
+
+    private static String getString(ByteBuffer r) {
+        int len = r.getInt();
+        if (len < 0) return null;
+        String s = new String(r.array(), r.arrayOffset() + r.position(), len, StandardCharsets.UTF_8);
+        r.position(r.position() + len);
+        return s;
+    }
+
+    // Internal helpers
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static FileChannel createSegment(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = newBuffer(SEGMENT_HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) ch.write(header);
+        return ch;
+    }
+
+    private synchronized int pendingBytes() {
+        return pending.position();
+    }
+
+    private void backgroundFlush() {
+        try {
+            long seq;
+            synchronized (this) {
+                seq = appendedSeq;
+            }
+            flush(seq, options.sync() == SyncPolicy.INTERVAL);
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /** Writes all buffered records if {@code seq} is not yet written (and forced, if {@code force}). */
+    private void flush(long seq, boolean force) throws IOException {
+        synchronized (commitLock) {
+            if (failure != null) throw new IOException("Write-ahead log failed earlier", failure);
+            if ((force ? durableSeq : writtenSeq) >= seq) return;
+
+            ByteBuffer batch;
+            long upTo;
+            synchronized (this) {
+                batch = pending;
+                pending = spare;
+                upTo = appendedSeq;
+            }
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) channel.write(batch);
+                writtenSeq = upTo;
+                if (force) {
+                    channel.force(false);
+                    durableSeq = upTo;
+                }
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            } finally {
+                spare = batch.clear();
+            }
+        }
+    }
+
+    private int beginRecord(byte kind) {
+        if (closed) throw new IllegalStateException("Write-ahead log is closed");
+        if (failure != null) throw new UncheckedIOException("Write-ahead log failed earlier", failure);
+        ensure(9);
+        int start = pending.position();
+        pending.position(start + 8);
+        pending.put(kind);
+        return start;
+    }
+
+    private long endRecord(int start) {
+        int length = pending.position() - start - 8;
+        crc.reset();
+        crc.update(pending.array(), start + 8, length);
+        pending.putInt(start, length);
+        pending.putInt(start + 4, (int) crc.getValue());
+        return ++appendedSeq;
+    }
+
+    private long putInteraction(Interaction in) {
+        int start = beginRecord(INTERACTION);
+        putString(in.issueKey());
+        putString(in.employeeA());
+        putString(in.employeeB());
+        ensure(13);
+        pending.put((byte) in.type().ordinal());
+        pending.putLong(in.timestamp().getEpochSecond());
+        pending.putInt(in.timestamp().getNano());
+        return endRecord(start);
+    }
+
+    private void putString(String s) {
+        if (s == null) {
+            ensure(4);
+            pending.putInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + bytes.length);
+        pending.putInt(bytes.length);
+        pending.put(bytes);
+    }
+
+    private void ensure(int bytes) {
+        if (pending.remaining() >= bytes) return;
+        ByteBuffer grown = newBuffer(Math.max(pending.capacity() * 2, pending.position() + bytes));
+        pending.flip();
+        pending = grown.put(pending);
+    }
+}
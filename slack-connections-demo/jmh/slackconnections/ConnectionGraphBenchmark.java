@@ -0,0 +1,148 @@
+package slackconnections;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the {@link ConnectionGraph} hot paths, on {@link SyntheticGraphs} of each size,
+ * degree distribution (planted teams and power law) and storage mode (the default map-backed graph,
+ * CSR edges, columnar, concurrent); the same operations as {@code GraphBenchmark}.
+ *
+ * Fixtures are {@code @State} objects built once per trial from fixed seeds, so runs are comparable.
+ * Read benchmarks share one graph per size and distribution; the write benchmark gets a fresh graph
+ * every iteration, so its graph does not keep growing across the measurement.
+ *
+ * How to run (from slack-connections-demo, Gradle 8+ and JDK 21):
+ *   gradle jmh                                     all benchmarks, with -prof gc
+ *   gradle jmh --args='getNeighbors -p employees=10000 -p storage=default -rf csv -rff results.csv'
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ConnectionGraphBenchmark {
+    private static final int AVG_DEGREE = 10;
+    private static final int TEAM_SIZE = 20;
+    private static final int INPUTS = 4096;
+    private static final Instant WHEN = Instant.parse("2026-02-01T00:00:00Z");
+    private static final Predicate<Interaction> CODE_REVIEWS = in -> in.type() == InteractionType.CODE_REVIEW;
+
+    /** A synthetic graph of one size and distribution, plus query inputs drawn from a fixed seed. */
+    @State(Scope.Benchmark)
+    public static class GraphState {
+        @Param({"1000", "10000", "100000"})
+        int employees;
+
+        @Param({"clustered", "power-law"})
+        String shape;
+
+        @Param({"default", "csr", "columnar", "concurrent"})
+        String storage;
+
+        ConnectionGraph graph;
+        String json;
+        final String[] from = new String[INPUTS];
+        final String[] to = new String[INPUTS];
+        final String[] issues = new String[INPUTS];
+
+        @Setup(Level.Trial)
+        public void build() {
+            graph = newGraph();
+            json = graph.toJson();
+            Random rnd = new Random(7);
+            for (int i = 0; i < INPUTS; i++) {
+                issues[i] = "BENCH-" + i;
+                from[i] = SyntheticGraphs.employeeId(rnd.nextInt(employees));
+                to[i] = SyntheticGraphs.employeeId(rnd.nextInt(employees));
+            }
+        }
+
+        ConnectionGraph newGraph() {
+            return shape.equals("clustered")
+                    ? SyntheticGraphs.clustered(employees, AVG_DEGREE, TEAM_SIZE, 0.1, 42, storage)
+                    : SyntheticGraphs.powerLaw(employees, AVG_DEGREE, 42, storage);
+        }
+    }
+
+    /** A graph rebuilt before every iteration, for the benchmarks that record into it. */
+    @State(Scope.Benchmark)
+    public static class WritableGraphState {
+        ConnectionGraph graph;
+
+        @Setup(Level.Iteration)
+        public void rebuild(GraphState fixture) {
+            graph = fixture.newGraph();
+        }
+    }
+
+    /** Walks the inputs, so consecutive calls see different arguments. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int i;
+
+        int next() {
+            return i++ & (INPUTS - 1);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Integer> getNeighbors(GraphState s, Cursor c) {
+        return s.graph.getNeighbors(s.from[c.next()]);
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Integer>> getTopCollaborators(GraphState s, Cursor c) {
+        return s.graph.getTopCollaborators(s.from[c.next()], 10);
+    }
+
+    @Benchmark
+    public List<String> shortestPath(GraphState s, Cursor c) {
+        int i = c.next();
+        return s.graph.shortestPath(s.from[i], s.to[i]);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Integer>> buildAdjacencyFiltered(GraphState s) {
+        return s.graph.buildAdjacencyFiltered(CODE_REVIEWS);
+    }
+
+    @Benchmark
+    public String toMermaid(GraphState s) {
+        return s.graph.toMermaid();
+    }
+
+    @Benchmark
+    public String toJson(GraphState s) {
+        return s.graph.toJson();
+    }
+
+    @Benchmark
+    public ConnectionGraph fromJson(GraphState s) {
+        return ConnectionGraph.fromJson(s.json);
+    }
+
+    @Benchmark
+    public ConnectionGraph recordInteractionByEmployee(GraphState s, WritableGraphState w, Cursor c) {
+        int i = c.next();
+        w.graph.recordInteractionByEmployee(s.issues[i], s.from[i], s.to[(i + 1) & (INPUTS - 1)],
+                InteractionType.DISCUSSION, WHEN);
+        return w.graph;
+    }
+}